@@ -0,0 +1,123 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 15:35
+ */
+package com.marcnuri.yakd.watch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcnuri.yakd.JacksonConfiguration;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.Watcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput of the {@link WatchCache} fan-out: a MODIFIED Pod event received from the upstream watch
+ * delivered (and encoded as JSON, like the SSE write does) to N subscribers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WatchCacheFanOutBenchmark {
+
+  @Param({"1", "10", "100"})
+  public int subscribers;
+
+  private ScheduledExecutorService scheduler;
+  private ExecutorService subscribeExecutor;
+  private WatchCache watchCache;
+  private List<Cancellable> subscriptions;
+  private LongAdder delivered;
+  private MultiEmitter<? super WatchEvent<Pod>> upstream;
+  private Pod pod;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException, InterruptedException {
+    final var objectMapper = new ObjectMapper();
+    new JacksonConfiguration().customize(objectMapper);
+    try (var is = WatchCacheFanOutBenchmark.class.getResourceAsStream("/watch/pod.json")) {
+      pod = objectMapper.readValue(is, Pod.class);
+    }
+    scheduler = Executors.newSingleThreadScheduledExecutor();
+    subscribeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    final var emitterRef = new AtomicReference<MultiEmitter<? super WatchEvent<Pod>>>();
+    final Watchable<Pod> watchable = () -> (close, emitter) -> {
+      emitterRef.set(emitter);
+      return () -> {};
+    };
+    watchCache = new WatchCache(scheduler, subscribeExecutor, List.of(watchable), 10_000, 10_000,
+      ResourceProjection.none(), new ResourceIndex(Set.of()), objectMapper, new SimpleMeterRegistry());
+    delivered = new LongAdder();
+    subscriptions = new ArrayList<>();
+    for (int it = 0; it < subscribers; it++) {
+      subscriptions.add(watchCache.newWatch(null).subscribe().with(event -> {
+        if (!event.isResync()) {
+          // Same work as the SSE write: retrieve the (shared) JSON
+          event.payload().event();
+        }
+        delivered.increment();
+      }));
+    }
+    while (emitterRef.get() == null) {
+      TimeUnit.MILLISECONDS.sleep(10);
+    }
+    upstream = emitterRef.get();
+    upstream.emit(new WatchEvent<>(Watcher.Action.ADDED, pod, System.nanoTime()));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    subscriptions.forEach(Cancellable::cancel);
+    watchCache.close();
+    scheduler.shutdownNow();
+    subscribeExecutor.shutdownNow();
+  }
+
+  @Benchmark
+  public long fanOut() {
+    // No subscriber accepts patches, the same instance can be reused
+    upstream.emit(new WatchEvent<>(Watcher.Action.MODIFIED, pod, System.nanoTime()));
+    return delivered.sum();
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 15:20
+ */
+package com.marcnuri.yakd.watch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcnuri.yakd.JacksonConfiguration;
+import io.fabric8.kubernetes.api.model.Event;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Node;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.Watcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of serializing a single {@link WatchEvent} with the application's {@link ObjectMapper}
+ * ({@link JacksonConfiguration}) for realistic resources of different shapes.
+ *
+ * <ul>
+ *   <li>{@code pod}: large spec and status, last-applied-configuration annotation and managed fields.</li>
+ *   <li>{@code node}: large status (images, conditions, capacity).</li>
+ *   <li>{@code event}: small, the most frequent kind in a busy cluster.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WatchEventSerializationBenchmark {
+
+  private static final Map<String, Class<? extends HasMetadata>> FIXTURES = Map.of(
+    "pod", Pod.class,
+    "node", Node.class,
+    "event", Event.class
+  );
+
+  @Param({"pod", "node", "event"})
+  public String fixture;
+
+  private ObjectMapper objectMapper;
+  private WatchEvent<HasMetadata> event;
+
+  @Setup
+  public void setUp() throws IOException {
+    objectMapper = new ObjectMapper();
+    new JacksonConfiguration().customize(objectMapper);
+    try (var is = WatchEventSerializationBenchmark.class.getResourceAsStream("/watch/" + fixture + ".json")) {
+      event = new WatchEvent<>(Watcher.Action.MODIFIED, objectMapper.readValue(is, FIXTURES.get(fixture)));
+    }
+  }
+
+  @Benchmark
+  public String writeValueAsString() throws JsonProcessingException {
+    return objectMapper.writeValueAsString(event);
+  }
+
+  @Benchmark
+  public byte[] writeValueAsBytes() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(event);
+  }
+}
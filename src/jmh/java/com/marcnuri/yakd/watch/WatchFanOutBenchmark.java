@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 12:45
+ */
+package com.marcnuri.yakd.watch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcnuri.yakd.JacksonConfiguration;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.Watcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of delivering a single MODIFIED Pod event to N subscribers.
+ *
+ * <ul>
+ *   <li>{@code serializePerSubscriber}: the event is serialized for each connection.</li>
+ *   <li>{@code serializeOnce}: the event is serialized once ({@link EncodedPayload}) and the JSON is shared.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WatchFanOutBenchmark {
+
+  @Param({"1", "10", "100"})
+  public int subscribers;
+
+  private ObjectMapper objectMapper;
+  private WatchEvent<Pod> event;
+
+  @Setup
+  public void setUp() throws IOException {
+    objectMapper = new ObjectMapper();
+    new JacksonConfiguration().customize(objectMapper);
+    try (var is = WatchFanOutBenchmark.class.getResourceAsStream("/watch/pod.json")) {
+      event = new WatchEvent<>(Watcher.Action.MODIFIED, objectMapper.readValue(is, Pod.class));
+    }
+  }
+
+  @Benchmark
+  public void serializePerSubscriber(Blackhole blackhole) throws JsonProcessingException {
+    for (int it = 0; it < subscribers; it++) {
+      blackhole.consume(objectMapper.writeValueAsString(event));
+    }
+  }
+
+  @Benchmark
+  public void serializeOnce(Blackhole blackhole) {
+    final var payload = new EncodedPayload(objectMapper, event, null);
+    for (int it = 0; it < subscribers; it++) {
+      blackhole.consume(payload.event());
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 15:50
+ */
+package com.marcnuri.yakd.watch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.client.Watcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Overhead of the {@link io.smallrye.mutiny.Multi} pipeline created for each new watch subscription
+ * ({@code WatchService.newWatch()} delegates to {@link WatchCache#newWatch(String, String, WatchFilter, boolean)}).
+ *
+ * <ul>
+ *   <li>{@code snapshot}: baseline, copy of the cache store.</li>
+ *   <li>{@code newWatch}: subscribe, receive the snapshot through the subscription queue and cancel.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WatchSubscriptionBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  public int resources;
+
+  private ScheduledExecutorService scheduler;
+  private ExecutorService subscribeExecutor;
+  private WatchCache watchCache;
+
+  @Setup(Level.Trial)
+  public void setUp() throws InterruptedException {
+    scheduler = Executors.newSingleThreadScheduledExecutor();
+    subscribeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    final var emitterRef = new AtomicReference<MultiEmitter<? super WatchEvent<ConfigMap>>>();
+    final Watchable<ConfigMap> watchable = () -> (close, emitter) -> {
+      emitterRef.set(emitter);
+      return () -> {};
+    };
+    watchCache = new WatchCache(scheduler, subscribeExecutor, List.of(watchable), 10_000, resources + 1,
+      ResourceProjection.none(), new ResourceIndex(Set.of()), new ObjectMapper(), new SimpleMeterRegistry());
+    // Starts the shared upstream watch
+    watchCache.newWatch(null).subscribe().with(event -> {});
+    while (emitterRef.get() == null) {
+      TimeUnit.MILLISECONDS.sleep(10);
+    }
+    for (int it = 0; it < resources; it++) {
+      emitterRef.get().emit(new WatchEvent<>(Watcher.Action.ADDED, new ConfigMapBuilder()
+        .withNewMetadata().withUid(UUID.randomUUID().toString()).withName("config-map-" + it)
+        .withNamespace("default").endMetadata()
+        .addToData("key", "value")
+        .build()));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    watchCache.close();
+    scheduler.shutdownNow();
+    subscribeExecutor.shutdownNow();
+  }
+
+  @Benchmark
+  public int snapshot() {
+    return watchCache.snapshot().size();
+  }
+
+  @Benchmark
+  public long newWatch() {
+    final var received = new LongAdder();
+    watchCache.newWatch(UUID.randomUUID().toString(), null, WatchFilter.ALL, false)
+      .select().first(resources + 1L)
+      .subscribe().with(event -> received.increment())
+      .cancel();
+    return received.sum();
+  }
+}
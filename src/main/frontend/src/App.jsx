@@ -15,7 +15,7 @@
  *
  */
 import React, {useEffect} from 'react';
-import {useDispatch} from 'react-redux';
+import {useDispatch, useStore} from 'react-redux';
 import {BrowserRouter as Router, Route, Routes} from 'react-router-dom';
 import * as apis from './apis';
 import {
@@ -90,7 +90,12 @@ import {
   ReplicationControllersDetailPage,
   ReplicationControllersEditPage
 } from './replicationcontrollers';
-import {apiGroupsSet, setOffline} from './redux';
+import {
+  apiGroupsSet,
+  setOffline,
+  useUiCustomResources,
+  useUiNamespace
+} from './redux';
 import {RolesPage, RolesDetailPage, RolesEditPage} from './roles';
 import {RoutesPage, RoutesDetailPage, RoutesEditPage} from './routes';
 import {SearchPage} from './search';
@@ -106,7 +111,7 @@ import {
   StatefulSetsDetailPage,
   StatefulSetsEditPage
 } from './statefulsets';
-import {startEventSource} from './watch';
+import {startEventSource, updateScope} from './watch';
 import {Home} from './Home';
 import {
   RoleBindingsDetailPage,
@@ -117,7 +122,7 @@ import {
 let eventSource;
 let pollResourcesTimeout;
 
-const pollResources = dispatch => {
+const pollResources = ({dispatch, getState}) => {
   const dispatchedPoll = async () => {
     try {
       await Promise.all([
@@ -134,16 +139,21 @@ const pollResources = dispatch => {
       console.error('EventSource connection was lost, reconnecting');
       dispatch(setOffline(true));
       eventSource.close();
-      eventSource = startEventSource({dispatch});
+      eventSource = startEventSource({
+        dispatch,
+        getState,
+        lastEventId: eventSource.lastEventId,
+        scope: eventSource.scope
+      });
     }
     pollResourcesTimeout = setTimeout(dispatchedPoll, 3000);
   };
   return dispatchedPoll;
 };
 
-const onMount = ({dispatch}) => {
-  eventSource = startEventSource({dispatch});
-  pollResources(dispatch)();
+const onMount = ({dispatch, getState}) => {
+  eventSource = startEventSource({dispatch, getState});
+  pollResources({dispatch, getState})();
 };
 
 const onUnmount = () => {
@@ -155,10 +165,20 @@ const onUnmount = () => {
 
 export const App = () => {
   const dispatch = useDispatch();
+  const {getState} = useStore();
+  const {selectedNamespace} = useUiNamespace();
+  const {watchedCustomResources} = useUiCustomResources();
   useEffect(() => {
-    onMount({dispatch});
+    onMount({dispatch, getState});
     return onUnmount;
   }, []); // eslint-disable-line react-hooks/exhaustive-deps
+  useEffect(() => {
+    // Only stream the selected namespace (cluster-scoped resources are always included)
+    updateScope(eventSource, {
+      namespaces: selectedNamespace ? [selectedNamespace] : [],
+      customResources: watchedCustomResources
+    });
+  }, [selectedNamespace, watchedCustomResources]);
   return (
     <Router>
       <Routes>
@@ -15,8 +15,8 @@
  *
  */
 /* global Response */
-import {describe, test, expect} from 'vitest';
-import {processResponse, toJson, fixKind} from '../fetch';
+import {afterEach, beforeEach, describe, test, expect, vi} from 'vitest';
+import {processResponse, toJson, fixKind, getResource} from '../fetch';
 
 describe('Fetch wrapper tests', () => {
   describe('processResponse', () => {
@@ -314,4 +314,55 @@ describe('Fetch wrapper tests', () => {
       expect(original[0].kind).toBeUndefined();
     });
   });
+
+  describe('getResource', () => {
+    let fetchSpy;
+    beforeEach(() => {
+      fetchSpy = vi
+        .spyOn(global, 'fetch')
+        .mockResolvedValue(
+          new Response(JSON.stringify({kind: 'Pod'}), {status: 200})
+        );
+    });
+
+    afterEach(() => {
+      fetchSpy.mockRestore();
+    });
+
+    test('should request namespaced resource by apiVersion, kind, namespace and name', async () => {
+      await getResource({
+        apiVersion: 'v1',
+        kind: 'Pod',
+        metadata: {name: 'my-pod', namespace: 'default'}
+      });
+
+      expect(fetchSpy).toHaveBeenCalledWith(
+        expect.stringMatching(
+          /\?apiVersion=v1&kind=Pod&name=my-pod&namespace=default$/
+        )
+      );
+    });
+
+    test('should request cluster-scoped resource without namespace', async () => {
+      await getResource({
+        apiVersion: 'v1',
+        kind: 'Node',
+        metadata: {name: 'my-node'}
+      });
+
+      expect(fetchSpy).toHaveBeenCalledWith(
+        expect.stringMatching(/\?apiVersion=v1&kind=Node&name=my-node$/)
+      );
+    });
+
+    test('should return parsed resource', async () => {
+      const result = await getResource({
+        apiVersion: 'v1',
+        kind: 'Pod',
+        metadata: {name: 'my-pod', namespace: 'default'}
+      });
+
+      expect(result).toEqual({kind: 'Pod'});
+    });
+  });
 });
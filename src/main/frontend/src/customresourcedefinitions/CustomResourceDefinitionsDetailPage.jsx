@@ -15,53 +15,85 @@
  *
  */
 import React, {useEffect, useState} from 'react';
-import {connect} from 'react-redux';
+import {connect, shallowEqual, useDispatch, useSelector} from 'react-redux';
 import {withParams} from '../router';
 import {Details} from '../metadata';
 import {api as crApi, CustomResourceList} from '../customresources';
 import {api, selectors, DashboardPageTitle, GroupLink} from './';
 import {Card, Form, Link} from '../components';
 import {ResourceDetailPage} from '../dashboard';
+import {
+  builtInKinds,
+  crudAddOrReplace,
+  crudBatch,
+  crudClear,
+  crudDelete,
+  useUiCustomResources
+} from '../redux';
 
-const useCustomResourceList = customResourceDefinition => {
-  const [customResourceList, setCustomResourceList] = useState([]);
-  const [version, setVersion] = useState(undefined);
-  const [timeoutHandle, setTimeoutHandle] = useState(null);
-  const changeVersion = newVersion => {
-    clearTimeout(timeoutHandle);
-    setTimeoutHandle(null);
-    setVersion(newVersion);
+// Custom resources are kept up to date by the watch (demanded while shown),
+// kinds colliding with a built-in kind aren't watched and are only listed
+const useCustomResourceList = (customResourceDefinition, version) => {
+  const dispatch = useDispatch();
+  const {watchCustomResource, unwatchCustomResource} = useUiCustomResources();
+  const [listedResources, setListedResources] = useState([]);
+  const [continueToken, setContinueToken] = useState(undefined);
+  const group = selectors.specGroup(customResourceDefinition);
+  const plural = selectors.specNamesPlural(customResourceDefinition);
+  const kind = selectors.specNamesKind(customResourceDefinition);
+  const watched = Boolean(kind) && !builtInKinds.has(kind);
+  const watchedResources = useSelector(
+    ({customResources}) =>
+      Object.values(customResources).filter(
+        cr => cr.kind === kind && cr.apiVersion === `${group}/${version}`
+      ),
+    shallowEqual
+  );
+  const addPage = page => {
+    if (watched) {
+      dispatch(crudBatch(page.items.map(crudAddOrReplace)));
+    } else {
+      setListedResources(list => [...(list ?? []), ...page.items]);
+    }
+    setContinueToken(page.continueToken);
   };
   useEffect(() => {
-    if (!timeoutHandle && customResourceDefinition) {
-      const updateCustomResources = async () => {
-        try {
-          const customResources = await crApi.list(
-            customResourceDefinition,
-            version
-          )();
-          setCustomResourceList(customResources);
-        } catch (e) {
-          setCustomResourceList(null);
-        }
-        setTimeoutHandle(setTimeout(updateCustomResources, 5000));
-      };
-      updateCustomResources().then(() => {});
+    if (!customResourceDefinition || !version) {
+      return;
     }
-  }, [
-    timeoutHandle,
-    setTimeoutHandle,
-    setCustomResourceList,
-    customResourceDefinition,
-    version
-  ]);
-  useEffect(
-    () => () => {
-      clearTimeout(timeoutHandle);
-    },
-    [timeoutHandle, version]
-  );
-  return [customResourceList, setCustomResourceList, version, changeVersion];
+    const customResource = `${group}/${version}/${plural}`;
+    if (watched) {
+      watchCustomResource(customResource);
+    }
+    setListedResources([]);
+    crApi
+      .listPage(customResourceDefinition, version)()
+      .then(addPage)
+      .catch(() => setListedResources(null));
+    return () => {
+      if (watched) {
+        unwatchCustomResource(customResource);
+        // No more events are received, listed again when shown
+        dispatch(crudClear(kind));
+      }
+    };
+  }, [group, version, plural, watched]); // eslint-disable-line react-hooks/exhaustive-deps
+  const loadMore = async () =>
+    addPage(
+      await crApi.listPage(customResourceDefinition, version)({continueToken})
+    );
+  const deleteResource = customResource => {
+    if (watched) {
+      dispatch(crudDelete(customResource));
+    } else {
+      setListedResources(list => list.filter(c => c !== customResource));
+    }
+  };
+  return [
+    watched ? watchedResources : listedResources,
+    deleteResource,
+    continueToken && loadMore
+  ];
 };
 
 const mapStateToProps = ({customResourceDefinitions}) => ({
@@ -82,13 +114,14 @@ export const CustomResourceDefinitionsDetailPage = withParams(
     null,
     mergeProps
   )(({customResourceDefinition}) => {
-    const [customResourceList, setCustomResourceList, version, changeVersion] =
-      useCustomResourceList(customResourceDefinition);
+    const [version, changeVersion] = useState(undefined);
     const kind = 'CustomResourceDefinitions';
     const path = 'customresourcedefinitions';
     const applicableVersion = version
       ? version
       : selectors.specVersionsLatest(customResourceDefinition);
+    const [customResourceList, deleteResource, loadMore] =
+      useCustomResourceList(customResourceDefinition, applicableVersion);
     return (
       <ResourceDetailPage
         kind={kind}
@@ -130,15 +163,16 @@ export const CustomResourceDefinitionsDetailPage = withParams(
           customResourceDefinition={customResourceDefinition}
           version={applicableVersion}
           customResources={customResourceList}
-          deleteResourceCallback={customResource => {
-            setCustomResourceList(
-              customResourceList.filter(c => c !== customResource)
-            );
-          }}
+          deleteResourceCallback={deleteResource}
           title={applicableVersion}
           titleVariant={Card.titleVariants.small}
           className='mt-2'
         />
+        {loadMore && (
+          <div className='mt-2 text-center'>
+            <Link onClick={loadMore}>Load more</Link>
+          </div>
+        )}
       </ResourceDetailPage>
     );
   })
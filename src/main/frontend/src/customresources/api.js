@@ -14,8 +14,11 @@
  * limitations under the License.
  *
  */
+import {getApiURL} from '../env';
 import {
+  fixKind,
   listResource,
+  toJson,
   deleteResource,
   deleteNamespacedResource,
   updateNamespacedResource,
@@ -23,6 +26,8 @@ import {
 } from '../fetch';
 import {selectors as crdSelectors} from '../customresourcedefinitions';
 
+export const PAGE_SIZE = 500;
+
 const basePath = (crd, version = crdSelectors.specVersionsLatest(crd)) =>
   `customresources/${crdSelectors.specGroup(
     crd
@@ -35,6 +40,23 @@ export const list = (crd, version) =>
     }/${crdSelectors.specNamesPlural(crd)}`,
     crdSelectors.specNamesKind(crd)
   );
+// Lists a single chunk, continue with the returned token to retrieve the next one
+export const listPage =
+  (crd, version) =>
+  async ({limit = PAGE_SIZE, continueToken} = {}) => {
+    const params = new URLSearchParams({limit});
+    if (continueToken) {
+      params.set('continue', continueToken);
+    }
+    const response = await fetch(
+      `${getApiURL()}/${basePath(crd, version)}?${params}`
+    );
+    const page = await toJson(response);
+    return {
+      items: fixKind(crdSelectors.specNamesKind(crd))(page.items),
+      continueToken: page.continue
+    };
+  };
 export const deleteCr = (crd, version) => {
   const path = basePath(crd, version);
   if (crdSelectors.isNamespaced(crd)) {
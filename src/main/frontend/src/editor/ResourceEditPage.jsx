@@ -22,6 +22,7 @@ import {
   name as metadataName,
   namespace as metadataNamespace
 } from '../metadata';
+import {getResource} from '../fetch';
 import {Alert, Card, Icon, Link, Spinner} from '../components';
 import {DashboardPage} from '../dashboard';
 import {YamlEditor} from './YamlEditor';
@@ -50,7 +51,10 @@ export const ResourceEditPage = ({
     const stateResource = cloneDeep(resourceFromState(store.getState()));
     if (stateResource !== undefined) {
       setResource(stateResource);
-      setResourceYaml(YAML.stringify(stateResource));
+      // The state holds a slimmed down version (no managedFields, last-applied-configuration...)
+      getResource(stateResource)
+        .then(fullResource => setResourceYaml(YAML.stringify(fullResource)))
+        .catch(() => setResourceYaml(YAML.stringify(stateResource)));
     } else {
       setTimeout(() => setForceReload(currentAttempt + 1), 100);
     }
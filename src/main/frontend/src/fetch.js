@@ -50,6 +50,20 @@ export const listResource = (path, kind) => async () => {
   return fixKind(kind)(rawList);
 };
 
+// Watched resources are slimmed down server-side, editors need the complete resource
+export const getResource = async resource => {
+  const params = new URLSearchParams({
+    apiVersion: resource.apiVersion,
+    kind: resource.kind,
+    name: name(resource)
+  });
+  if (namespace(resource)) {
+    params.set('namespace', namespace(resource));
+  }
+  const response = await fetch(`${getApiURL()}?${params}`);
+  return await toJson(response);
+};
+
 const deleteRequest = async url => await fetch(url, {method: 'DELETE'});
 
 export const deleteResource = path => async resource => {
@@ -22,9 +22,9 @@ import dompurify from 'dompurify';
 import {withParams} from '../router';
 import {name, namespace} from '../metadata';
 import {ContainerDropdown} from '../containers';
-import {Card, Icon, Link, Switch} from '../components';
+import {Card, Icon, Link, Switch, Textfield} from '../components';
 import {DashboardPage} from '../dashboard';
-import {selectors, useLogs} from './';
+import {api, selectors, useLogs} from './';
 
 import './PodsLogsPage.css';
 
@@ -40,21 +40,6 @@ export const LogRow = ({logLine, style}) => (
   />
 );
 
-const downloadLogs = (log, name, selectedContainer) => {
-  const mimeType = 'text/plain';
-  const blob = new Blob([log.join('\n')], {type: mimeType});
-  const url = URL.createObjectURL(blob);
-  const tempLink = document.createElement('a');
-  tempLink.href = url;
-  tempLink.download = `${name}-${selectedContainer.name}.log`;
-  document.body.appendChild(tempLink);
-  tempLink.dispatchEvent(
-    new MouseEvent('click', {bubbles: true, cancelable: true, view: window})
-  );
-  document.body.removeChild(tempLink);
-  URL.revokeObjectURL(url);
-};
-
 const mapStateToProps = ({pods}) => ({pods});
 
 const mergeProps = ({pods}, dispatchProps, {params: {uid}}) => ({
@@ -76,6 +61,8 @@ export const PodsLogsPage = withParams(
       log,
       follow,
       setFollow,
+      filter,
+      setFilter,
       selectedContainer,
       setSelectedContainer
     } = useLogs(namespace, name, containers);
@@ -113,13 +100,29 @@ export const PodsLogsPage = withParams(
                 />
               </div>
               <div className='justify-self-end text-sm font-normal flex items-center'>
+                <Textfield
+                  data-testid='pod-logs__filter'
+                  className='mr-2'
+                  icon='fa-filter'
+                  placeholder='Filter'
+                  value={filter}
+                  onChange={({target: {value}}) => setFilter(value)}
+                />
                 <Switch
                   label='Follow'
                   checked={follow}
                   onChange={() => setFollow(!follow)}
                 />
                 <Link
-                  onClick={() => downloadLogs(log, name, selectedContainer)}
+                  href={
+                    selectedContainer &&
+                    api.logsDownloadUrl(
+                      namespace,
+                      name,
+                      selectedContainer.name
+                    )
+                  }
+                  download
                   className='ml-2'
                   variant={Link.variants.outline}
                   title='Download logs'
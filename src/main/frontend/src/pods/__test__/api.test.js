@@ -86,4 +86,44 @@ describe('API test suite', () => {
       ws.close();
     });
   });
+
+  describe('logs', () => {
+    let EventSource;
+    beforeEach(() => {
+      EventSource = vi.fn();
+      vi.stubGlobal('EventSource', EventSource);
+    });
+    afterAll(() => {
+      vi.unstubAllGlobals();
+    });
+    test('should stream the log with the provided options', () => {
+      // When
+      api.logs('ns', 'name', 'container-name', {tailLines: 1000});
+
+      // Then
+      expect(EventSource).toHaveBeenCalledWith(
+        expect.stringMatching(
+          /\/pods\/ns\/name\/logs\/container-name\?tailLines=1000$/
+        )
+      );
+    });
+    test('should omit undefined options', () => {
+      // When
+      api.logs('ns', 'name', 'container-name', {sinceSeconds: undefined});
+
+      // Then
+      expect(EventSource).toHaveBeenCalledWith(
+        expect.stringMatching(/\/logs\/container-name\?$/)
+      );
+    });
+  });
+  describe('logsDownloadUrl', () => {
+    test('should point to the container log download endpoint', () => {
+      // When
+      const url = api.logsDownloadUrl('ns', 'name', 'container-name');
+
+      // Then
+      expect(url).toMatch(/\/pods\/ns\/name\/logs\/container-name\/download$/);
+    });
+  });
 });
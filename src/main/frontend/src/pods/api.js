@@ -22,8 +22,19 @@ import {
 } from '../fetch';
 import {name, namespace} from '../metadata';
 
-export const logs = (namespace, name, container) =>
-  new EventSource(`${getApiURL()}/pods/${namespace}/${name}/logs/${container}`);
+// Options (tailLines, sinceSeconds, limitBytes) bound the log the backend reads
+export const logs = (namespace, name, container, options = {}) => {
+  const params = new URLSearchParams(
+    Object.entries(options).filter(([, value]) => value !== undefined)
+  );
+  return new EventSource(
+    `${getApiURL()}/pods/${namespace}/${name}/logs/${container}?${params}`
+  );
+};
+
+// Complete container log, streamed (gzip encoded) by the backend as a download
+export const logsDownloadUrl = (namespace, name, container) =>
+  `${getApiURL()}/pods/${namespace}/${name}/logs/${container}/download`;
 
 export const metrics = async pod => {
   const response = await fetch(
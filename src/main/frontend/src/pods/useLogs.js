@@ -19,26 +19,36 @@ import throttle from 'lodash/throttle';
 import {api, useContainers} from './';
 
 const LOADING_MESSAGE = 'Loading logs...';
+// Large (or long running) container logs are only streamed from their tail
+const TAIL_LINES = 1000;
+// Filters are applied server-side, reopened once the user stops typing
+const FILTER_DEBOUNCE = 500;
 
 const initEventSource = (
   namespace,
   name,
   selectedContainer,
+  filter,
   throttledSetLog
 ) => {
-  const es = api.logs(namespace, name, selectedContainer.name);
+  const es = api.logs(namespace, name, selectedContainer.name, {
+    tailLines: TAIL_LINES,
+    include: filter || undefined
+  });
   es.onopen = () => {
     es.currentLog = [];
     throttledSetLog(['Waiting for container to log messages...']);
   };
+  // Each frame carries a batch of newline-separated lines
   es.onmessage = ({data}) => {
-    es.currentLog.push(data);
+    es.currentLog.push(...data.split('\n'));
     throttledSetLog([...es.currentLog]);
   };
   es.addEventListener('log-complete', () => {
     es.close();
   });
   es.selectedContainer = selectedContainer;
+  es.filter = filter;
   return es;
 };
 
@@ -47,24 +57,50 @@ export const useLogs = (namespace, name, containers) => {
   const {selectedContainer, setSelectedContainer} = useContainers(containers);
   const [log, setLog] = useState([LOADING_MESSAGE]);
   const [follow, setFollow] = useState(true);
+  const [filter, setFilter] = useState('');
+  const [appliedFilter, setAppliedFilter] = useState('');
+  useEffect(() => {
+    const timeout = setTimeout(() => setAppliedFilter(filter), FILTER_DEBOUNCE);
+    return () => clearTimeout(timeout);
+  }, [filter]);
   const throttledSetLog = throttle(setLog, 100, {trailing: true});
   const [eventSource, setEventSource] = useState();
   useEffect(() => {
     if (!eventSource && namespace && name && selectedContainer) {
       setEventSource(
-        initEventSource(namespace, name, selectedContainer, throttledSetLog)
+        initEventSource(
+          namespace,
+          name,
+          selectedContainer,
+          appliedFilter,
+          throttledSetLog
+        )
       );
     } else if (
       eventSource &&
-      eventSource.selectedContainer !== selectedContainer
+      (eventSource.selectedContainer !== selectedContainer ||
+        eventSource.filter !== appliedFilter)
     ) {
       eventSource.close();
       throttledSetLog([LOADING_MESSAGE]);
       setEventSource(
-        initEventSource(namespace, name, selectedContainer, throttledSetLog)
+        initEventSource(
+          namespace,
+          name,
+          selectedContainer,
+          appliedFilter,
+          throttledSetLog
+        )
       );
     }
-  }, [eventSource, namespace, name, throttledSetLog, selectedContainer]);
+  }, [
+    eventSource,
+    namespace,
+    name,
+    throttledSetLog,
+    selectedContainer,
+    appliedFilter
+  ]);
   useEffect(() => {
     if (follow) {
       const {current} = listRef;
@@ -77,6 +113,8 @@ export const useLogs = (namespace, name, containers) => {
     log,
     follow,
     setFollow,
+    filter,
+    setFilter,
     selectedContainer,
     setSelectedContainer
   };
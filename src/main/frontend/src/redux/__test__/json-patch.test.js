@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+import {describe, test, expect} from 'vitest';
+import {applyPatch} from '../json-patch';
+
+describe('JSON Patch tests', () => {
+  const pod = {
+    metadata: {uid: 'pod-1', resourceVersion: '1', labels: {'app/name': 'a'}},
+    status: {
+      phase: 'Pending',
+      conditions: [{type: 'Ready', status: 'False'}]
+    }
+  };
+
+  test('should replace nested values', () => {
+    const result = applyPatch(pod, [
+      {op: 'replace', path: '/metadata/resourceVersion', value: '2'},
+      {op: 'replace', path: '/status/conditions/0/status', value: 'True'}
+    ]);
+    expect(result.metadata.resourceVersion).toBe('2');
+    expect(result.status.conditions[0].status).toBe('True');
+  });
+
+  test('should add and remove fields', () => {
+    const result = applyPatch(pod, [
+      {op: 'remove', path: '/status/phase'},
+      {op: 'add', path: '/status/podIP', value: '10.0.0.1'}
+    ]);
+    expect(result.status).not.toHaveProperty('phase');
+    expect(result.status.podIP).toBe('10.0.0.1');
+  });
+
+  test('should add and remove array elements', () => {
+    const result = applyPatch(pod, [
+      {op: 'add', path: '/status/conditions/-', value: {type: 'Scheduled'}},
+      {op: 'remove', path: '/status/conditions/0'}
+    ]);
+    expect(result.status.conditions).toEqual([{type: 'Scheduled'}]);
+  });
+
+  test('should unescape path tokens', () => {
+    const result = applyPatch(pod, [
+      {op: 'replace', path: '/metadata/labels/app~1name', value: 'b'}
+    ]);
+    expect(result.metadata.labels['app/name']).toBe('b');
+  });
+
+  test('should not mutate the original document and share unchanged branches', () => {
+    const result = applyPatch(pod, [
+      {op: 'replace', path: '/status/phase', value: 'Running'}
+    ]);
+    expect(pod.status.phase).toBe('Pending');
+    expect(result.metadata).toBe(pod.metadata);
+  });
+});
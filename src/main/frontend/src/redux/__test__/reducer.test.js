@@ -18,7 +18,9 @@ import {describe, test, expect, beforeEach} from 'vitest';
 import {reducer} from '../reducer';
 import {
   crudAddOrReplace,
+  crudBatch,
   crudDelete,
+  crudPatch,
   crudSetAll,
   crudClear,
   clear
@@ -45,6 +47,72 @@ describe('Redux reducer tests', () => {
     });
   });
 
+  describe('CRUD_BATCH', () => {
+    test('should apply batched actions in order', () => {
+      const state = {'pod-1': {kind: 'Pod', metadata: {uid: 'pod-1'}}};
+      const result = podReducer(
+        state,
+        crudBatch([
+          crudAddOrReplace({kind: 'Pod', metadata: {uid: 'pod-2'}}),
+          crudDelete({kind: 'Pod', metadata: {uid: 'pod-1'}}),
+          crudAddOrReplace({
+            kind: 'Pod',
+            metadata: {uid: 'pod-2', resourceVersion: '2'}
+          })
+        ])
+      );
+      expect(result).toEqual({
+        'pod-2': {kind: 'Pod', metadata: {uid: 'pod-2', resourceVersion: '2'}}
+      });
+    });
+
+    test('should ignore batched actions for other kinds', () => {
+      const state = {'pod-1': {kind: 'Pod', metadata: {uid: 'pod-1'}}};
+      const result = podReducer(
+        state,
+        crudBatch([crudAddOrReplace({kind: 'Node', metadata: {uid: 'n-1'}})])
+      );
+      expect(result).toBe(state);
+    });
+  });
+
+  describe('CRUD_PATCH', () => {
+    test('should apply patch to existing resource', () => {
+      const state = {
+        'pod-1': {kind: 'Pod', metadata: {uid: 'pod-1', resourceVersion: '1'}}
+      };
+      const result = podReducer(
+        state,
+        crudPatch({
+          kind: 'Pod',
+          uid: 'pod-1',
+          patch: [
+            {op: 'replace', path: '/metadata/resourceVersion', value: '2'}
+          ]
+        })
+      );
+      expect(result['pod-1'].metadata.resourceVersion).toBe('2');
+    });
+
+    test('should ignore patch for unknown resource', () => {
+      const state = {};
+      const result = podReducer(
+        state,
+        crudPatch({kind: 'Pod', uid: 'pod-1', patch: []})
+      );
+      expect(result).toBe(state);
+    });
+
+    test('should ignore patch for other kinds', () => {
+      const state = {'pod-1': {kind: 'Pod', metadata: {uid: 'pod-1'}}};
+      const result = podReducer(
+        state,
+        crudPatch({kind: 'Node', uid: 'pod-1', patch: []})
+      );
+      expect(result).toBe(state);
+    });
+  });
+
   describe('CRUD_ADD_OR_REPLACE', () => {
     test('should add resource to empty state', () => {
       const resource = {
@@ -314,4 +382,47 @@ describe('Redux reducer tests', () => {
       expect(result['pod-123']).toBeUndefined();
     });
   });
+
+  describe('predicate reducer', () => {
+    let customResourceReducer;
+    const gizmo = {kind: 'Gizmo', metadata: {uid: 'gizmo-1'}};
+    const widget = {kind: 'Widget', metadata: {uid: 'widget-1'}};
+
+    beforeEach(() => {
+      customResourceReducer = reducer(kind => kind && kind !== 'Pod');
+    });
+
+    test('should accept resources of any kind matching the predicate', () => {
+      const result = customResourceReducer(
+        {},
+        crudBatch([
+          crudAddOrReplace(gizmo),
+          crudAddOrReplace(widget),
+          crudAddOrReplace({kind: 'Pod', metadata: {uid: 'pod-1'}})
+        ])
+      );
+
+      expect(result).toEqual({'gizmo-1': gizmo, 'widget-1': widget});
+    });
+
+    test('should only replace resources of the set kind', () => {
+      const updatedGizmo = {kind: 'Gizmo', metadata: {uid: 'gizmo-2'}};
+
+      const result = customResourceReducer(
+        {'gizmo-1': gizmo, 'widget-1': widget},
+        crudSetAll({kind: 'Gizmo', resources: [updatedGizmo]})
+      );
+
+      expect(result).toEqual({'gizmo-2': updatedGizmo, 'widget-1': widget});
+    });
+
+    test('should only clear resources of the cleared kind', () => {
+      const result = customResourceReducer(
+        {'gizmo-1': gizmo, 'widget-1': widget},
+        crudClear('Gizmo')
+      );
+
+      expect(result).toEqual({'widget-1': widget});
+    });
+  });
 });
@@ -19,7 +19,9 @@ export const Types = {
   CLEAR: 'CLEAR',
   CRUD_CLEAR: 'CRUD_CLEAR',
   CRUD_ADD_OR_REPLACE: 'CRUD_ADD_OR_REPLACE',
+  CRUD_BATCH: 'CRUD_BATCH',
   CRUD_DELETE: 'CRUD_DELETE',
+  CRUD_PATCH: 'CRUD_PATCH',
   CRUD_SET_ALL: 'CRUD_SET_ALL',
   API_GROUPS_SET: 'API_GROUPS_SET',
   UI_SIDEBAR_SCROLL: 'UI_SIDEBAR_SCROLL',
@@ -30,7 +32,9 @@ export const Types = {
   UI_SET_RESOURCE_LOADED: 'UI_SET_RESOURCE_LOADED',
   UI_SELECT_NAMESPACE: 'SELECT_NAMESPACE',
   UI_SET_QUERY: 'UI_SET_QUERY',
-  UI_SET_CREATING_NEW_RESOURCE: 'UI_SET_CREATING_NEW_RESOURCE'
+  UI_SET_CREATING_NEW_RESOURCE: 'UI_SET_CREATING_NEW_RESOURCE',
+  UI_WATCH_CUSTOM_RESOURCE: 'UI_WATCH_CUSTOM_RESOURCE',
+  UI_UNWATCH_CUSTOM_RESOURCE: 'UI_UNWATCH_CUSTOM_RESOURCE'
 };
 
 export const clear = () => ({
@@ -47,11 +51,22 @@ export const crudAddOrReplace = object => ({
   payload: object
 });
 
+// Several CRUD actions applied in a single dispatch
+export const crudBatch = actions => ({
+  type: Types.CRUD_BATCH,
+  payload: actions
+});
+
 export const crudDelete = object => ({
   type: Types.CRUD_DELETE,
   payload: object
 });
 
+export const crudPatch = ({kind, uid, patch}) => ({
+  type: Types.CRUD_PATCH,
+  payload: {kind, uid, patch}
+});
+
 export const crudSetAll = ({kind, resources}) => ({
   type: Types.CRUD_SET_ALL,
   payload: {kind, resources}
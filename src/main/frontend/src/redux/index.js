@@ -20,8 +20,9 @@ export {reducer} from './reducer';
 export {toObjectReducer, resourcesBy} from './selectors';
 export {
   uiReducer,
+  useUiCustomResources,
   useUiLoadedResources,
   useUiNamespace,
   useUiSidebar
 } from './ui-reducer';
-export {store} from './store';
+export {builtInKinds, store} from './store';
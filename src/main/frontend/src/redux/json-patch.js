@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+// Immutable RFC 6902 JSON Patch (add, remove, replace) application, unchanged branches are shared
+
+const parsePath = path =>
+  path
+    .split('/')
+    .slice(1)
+    .map(token => token.replace(/~1/g, '/').replace(/~0/g, '~'));
+
+const applyOperation = (node, [token, ...rest], operation) => {
+  if (token === undefined) {
+    return operation.op === 'remove' ? undefined : operation.value;
+  }
+  if (Array.isArray(node)) {
+    const ret = [...node];
+    const index = token === '-' ? ret.length : Number(token);
+    if (rest.length > 0) {
+      ret[index] = applyOperation(ret[index], rest, operation);
+    } else if (operation.op === 'add') {
+      ret.splice(index, 0, operation.value);
+    } else if (operation.op === 'remove') {
+      ret.splice(index, 1);
+    } else {
+      ret[index] = operation.value;
+    }
+    return ret;
+  }
+  const ret = {...node};
+  if (rest.length === 0 && operation.op === 'remove') {
+    delete ret[token];
+  } else {
+    ret[token] = applyOperation(ret[token], rest, operation);
+  }
+  return ret;
+};
+
+export const applyPatch = (document, operations) =>
+  operations.reduce(
+    (acc, operation) =>
+      applyOperation(acc, parsePath(operation.path), operation),
+    document
+  );
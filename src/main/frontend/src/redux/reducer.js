@@ -15,13 +15,23 @@
  *
  */
 import {Types} from './actions';
+import {applyPatch} from './json-patch';
+
+// kind is either the kind name or a predicate (e.g. to accept custom resources)
+const matchesKind = (kind, candidate) =>
+  typeof kind === 'function' ? kind(candidate) : candidate === kind;
 
 const belongsToThisReducer = (kind, action) =>
-  (action.payload.kind ?? undefined) === kind;
+  matchesKind(kind, action.payload.kind ?? undefined);
+
+// Resources of the other kinds accepted by a predicate reducer
+const withoutKind = (state, kind) =>
+  Object.fromEntries(
+    Object.entries(state).filter(([, resource]) => resource.kind !== kind)
+  );
 
-export const reducer =
-  kind =>
-  (state = {}, action = {}) => {
+export const reducer = kind => {
+  const kindReducer = (state = {}, action = {}) => {
     switch (action.type) {
       case Types.CRUD_ADD_OR_REPLACE: {
         if (!belongsToThisReducer(kind, action)) {
@@ -39,18 +49,44 @@ export const reducer =
         delete newState[action.payload.metadata.uid];
         return newState;
       }
+      case Types.CRUD_PATCH: {
+        if (
+          !belongsToThisReducer(kind, action) ||
+          !state[action.payload.uid]
+        ) {
+          break;
+        }
+        const newState = {...state};
+        newState[action.payload.uid] = applyPatch(
+          state[action.payload.uid],
+          action.payload.patch
+        );
+        return newState;
+      }
+      case Types.CRUD_BATCH: {
+        return action.payload.reduce(
+          (acc, batchedAction) => kindReducer(acc, batchedAction),
+          state
+        );
+      }
       case Types.CRUD_SET_ALL: {
         if (!belongsToThisReducer(kind, action)) {
           break;
         }
+        const initialState =
+          typeof kind === 'function'
+            ? withoutKind(state, action.payload.kind)
+            : {};
         return action.payload.resources.reduce((acc, resource) => {
           acc[resource.metadata.uid] = resource;
           return acc;
-        }, {});
+        }, initialState);
       }
       case Types.CRUD_CLEAR: {
-        if (kind === action.payload) {
-          return {};
+        if (matchesKind(kind, action.payload)) {
+          return typeof kind === 'function'
+            ? withoutKind(state, action.payload)
+            : {};
         }
         return {...state};
       }
@@ -62,3 +98,5 @@ export const reducer =
     }
     return state;
   };
+  return kindReducer;
+};
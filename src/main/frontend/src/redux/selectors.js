@@ -26,11 +26,17 @@ export const toObjectReducer = (acc, [key, configMap]) => {
   return acc;
 };
 
+// Resources are keyed by uid, only the provided uids are visited (if any)
+const entriesOf = (resources, uids) =>
+  uids
+    ? uids.filter(key => resources[key]).map(key => [key, resources[key]])
+    : Object.entries(resources);
+
 export const resourcesBy = (
   resources = {},
   {namespace, names, nameLike, ownerUid, ownerUids, uids, uidsNotIn} = undefined
 ) =>
-  Object.entries(resources)
+  entriesOf(resources, uids)
     .filter(([, resource]) => {
       if (namespace && metadataNamespace(resource) !== namespace) {
         return false;
@@ -54,9 +60,6 @@ export const resourcesBy = (
       ) {
         return false;
       }
-      if (uids && !uids.includes(uid(resource))) {
-        return false;
-      }
       if (uidsNotIn?.includes(uid(resource))) {
         return false;
       }
@@ -27,36 +27,47 @@ const storeEnhancer = () => {
   }
 };
 
+// Redux state slice for each of the built-in kinds
+const kinds = {
+  clusterRoleBindings: 'ClusterRoleBinding',
+  clusterRoles: 'ClusterRole',
+  clusterVersions: 'ClusterVersion',
+  configMaps: 'ConfigMap',
+  cronJobs: 'CronJob',
+  customResourceDefinitions: 'CustomResourceDefinition',
+  daemonSets: 'DaemonSet',
+  deploymentConfigs: 'DeploymentConfig',
+  deployments: 'Deployment',
+  endpoints: 'Endpoints',
+  events: 'Event',
+  horizontalPodAutoscalers: 'HorizontalPodAutoscaler',
+  ingresses: 'Ingress',
+  jobs: 'Job',
+  namespaces: 'Namespace',
+  nodes: 'Node',
+  persistentVolumeClaims: 'PersistentVolumeClaim',
+  persistentVolumes: 'PersistentVolume',
+  pods: 'Pod',
+  replicaSets: 'ReplicaSet',
+  replicationControllers: 'ReplicationController',
+  roleBindings: 'RoleBinding',
+  roles: 'Role',
+  routes: 'Route',
+  secrets: 'Secret',
+  services: 'Service',
+  serviceAccounts: 'ServiceAccount',
+  statefulSets: 'StatefulSet'
+};
+
+export const builtInKinds = new Set(Object.values(kinds));
+
 const appReducer = combineReducers({
   apiGroups: apis.apiGroupsReducer,
-  clusterRoleBindings: reduxReducer('ClusterRoleBinding'),
-  clusterRoles: reduxReducer('ClusterRole'),
-  clusterVersions: reduxReducer('ClusterVersion'),
-  configMaps: reduxReducer('ConfigMap'),
-  cronJobs: reduxReducer('CronJob'),
-  customResourceDefinitions: reduxReducer('CustomResourceDefinition'),
-  daemonSets: reduxReducer('DaemonSet'),
-  deploymentConfigs: reduxReducer('DeploymentConfig'),
-  deployments: reduxReducer('Deployment'),
-  endpoints: reduxReducer('Endpoints'),
-  events: reduxReducer('Event'),
-  horizontalPodAutoscalers: reduxReducer('HorizontalPodAutoscaler'),
-  ingresses: reduxReducer('Ingress'),
-  jobs: reduxReducer('Job'),
-  namespaces: reduxReducer('Namespace'),
-  nodes: reduxReducer('Node'),
-  persistentVolumeClaims: reduxReducer('PersistentVolumeClaim'),
-  persistentVolumes: reduxReducer('PersistentVolume'),
-  pods: reduxReducer('Pod'),
-  replicaSets: reduxReducer('ReplicaSet'),
-  replicationControllers: reduxReducer('ReplicationController'),
-  roleBindings: reduxReducer('RoleBinding'),
-  roles: reduxReducer('Role'),
-  routes: reduxReducer('Route'),
-  secrets: reduxReducer('Secret'),
-  services: reduxReducer('Service'),
-  serviceAccounts: reduxReducer('ServiceAccount'),
-  statefulSets: reduxReducer('StatefulSet'),
+  ...Object.fromEntries(
+    Object.entries(kinds).map(([slice, kind]) => [slice, reduxReducer(kind)])
+  ),
+  // Custom resources (watched on demand) of any other kind
+  customResources: reduxReducer(kind => !!kind && !builtInKinds.has(kind)),
   ui: uiReducer
 });
 
@@ -24,6 +24,8 @@ const defaultState = {
   creatingNewResource: false,
   selectedNamespace: null,
   query: '',
+  // Custom resources (group/version/plural) streamed by the watch
+  watchedCustomResources: [],
   sidebarExpandedItems: [],
   sidebarScroll: {scrollTop: 0, scrollLeft: 0}
 };
@@ -60,6 +62,26 @@ export const uiReducer = (state = defaultState, action = {}) => {
     case Types.UI_SET_CREATING_NEW_RESOURCE: {
       return {...state, creatingNewResource: action.payload};
     }
+    case Types.UI_WATCH_CUSTOM_RESOURCE: {
+      if (state.watchedCustomResources.includes(action.payload)) {
+        return {...state};
+      }
+      return {
+        ...state,
+        watchedCustomResources: [
+          ...state.watchedCustomResources,
+          action.payload
+        ]
+      };
+    }
+    case Types.UI_UNWATCH_CUSTOM_RESOURCE: {
+      return {
+        ...state,
+        watchedCustomResources: state.watchedCustomResources.filter(
+          cr => cr !== action.payload
+        )
+      };
+    }
     case Types.UI_SIDEBAR_SCROLL: {
       return {...state, sidebarScroll: action.payload};
     }
@@ -87,6 +109,15 @@ const actionSelectNamespace = namespace => ({
 });
 const actionClearSelectedNamespace = () => actionSelectNamespace(null);
 
+const actionWatchCustomResource = customResource => ({
+  type: Types.UI_WATCH_CUSTOM_RESOURCE,
+  payload: customResource
+});
+const actionUnwatchCustomResource = customResource => ({
+  type: Types.UI_UNWATCH_CUSTOM_RESOURCE,
+  payload: customResource
+});
+
 const actionSidebarScroll = ({scrollTop = 0, scrollLeft = 0}) => ({
   type: Types.UI_SIDEBAR_SCROLL,
   payload: {scrollTop, scrollLeft}
@@ -125,6 +156,18 @@ export const useUiNamespace = () => {
   };
 };
 
+export const useUiCustomResources = () => {
+  const dispatch = useDispatch();
+  const watchCustomResource = customResource =>
+    dispatch(actionWatchCustomResource(customResource));
+  const unwatchCustomResource = customResource =>
+    dispatch(actionUnwatchCustomResource(customResource));
+  const watchedCustomResources = useSelector(
+    ({ui: {watchedCustomResources}}) => watchedCustomResources
+  );
+  return {watchedCustomResources, watchCustomResource, unwatchCustomResource};
+};
+
 export const useUiSidebar = () => {
   const dispatch = useDispatch();
   const sidebarScroll = ({scrollTop, scrollLeft}) =>
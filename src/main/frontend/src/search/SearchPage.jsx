@@ -14,7 +14,7 @@
  * limitations under the License.
  *
  */
-import React, {useEffect, useLayoutEffect, useRef} from 'react';
+import React, {useEffect, useLayoutEffect, useRef, useState} from 'react';
 import {bindActionCreators} from 'redux';
 import {useSearchParams} from 'react-router-dom';
 import {connect} from 'react-redux';
@@ -42,8 +42,9 @@ import {ReplicaSetsList} from '../replicasets';
 import {ReplicationControllersList} from '../replicationcontrollers';
 import {RolesList} from '../roles';
 import {RoutesList} from '../routes';
-import {Card, FilterBar, Textfield} from '../components';
+import {Card, FilterBar, Link, Textfield} from '../components';
 import {DashboardPage} from '../dashboard';
+import {api} from './';
 
 const Instructions = () => (
   <Card>
@@ -53,7 +54,41 @@ const Instructions = () => (
   </Card>
 );
 
+// Debounced query to the backend search index, hits are grouped by kind
+const useSearch = ({query, selectedNamespace}) => {
+  const [limit, setLimit] = useState(api.PAGE_SIZE);
+  const [result, setResult] = useState({hits: [], total: 0});
+  useEffect(() => {
+    setLimit(api.PAGE_SIZE);
+  }, [query, selectedNamespace]);
+  useEffect(() => {
+    let cancelled = false;
+    const timeout = setTimeout(async () => {
+      const found = await api
+        .search({q: query, namespace: selectedNamespace, limit})
+        .catch(() => ({hits: [], total: 0}));
+      if (!cancelled) {
+        setResult(found);
+      }
+    }, 300);
+    return () => {
+      cancelled = true;
+      clearTimeout(timeout);
+    };
+  }, [query, selectedNamespace, limit]);
+  const hitsByKind = result.hits.reduce((acc, {kind, uid}) => {
+    (acc[kind] = acc[kind] ?? []).push(uid);
+    return acc;
+  }, {});
+  return {
+    uidsOf: kind => hitsByKind[kind] ?? [],
+    hasMore: result.hits.length < result.total,
+    loadMore: () => setLimit(limit + api.PAGE_SIZE)
+  };
+};
+
 const Results = ({query, selectedNamespace}) => {
+  const {uidsOf, hasMore, loadMore} = useSearch({query, selectedNamespace});
   const commonProps = {
     className: 'mt-2',
     titleVariant: Card.titleVariants.small,
@@ -64,139 +99,150 @@ const Results = ({query, selectedNamespace}) => {
       <PodsList
         {...commonProps}
         title='Pods'
-        nameLike={query}
+        uids={uidsOf('Pod')}
         namespace={selectedNamespace}
       />
       <DeploymentsList
         {...commonProps}
         title='Deployments'
-        nameLike={query}
+        uids={uidsOf('Deployment')}
         namespace={selectedNamespace}
       />
       <DeploymentConfigsList
         {...commonProps}
         title='DeploymentConfigs'
-        nameLike={query}
+        uids={uidsOf('DeploymentConfig')}
         namespace={selectedNamespace}
       />
       <DaemonSetsList
         {...commonProps}
         title='DaemonSets'
-        nameLike={query}
+        uids={uidsOf('DaemonSet')}
         namespace={selectedNamespace}
       />
       <CronJobsList
         {...commonProps}
         title='CronJobs'
-        nameLike={query}
+        uids={uidsOf('CronJob')}
         namespace={selectedNamespace}
       />
       <JobsList
         {...commonProps}
         title='Jobs'
-        nameLike={query}
+        uids={uidsOf('Job')}
         namespace={selectedNamespace}
       />
       <StatefulSetsList
         {...commonProps}
         title='StatefulSets'
-        nameLike={query}
+        uids={uidsOf('StatefulSet')}
         namespace={selectedNamespace}
       />
       <ReplicaSetsList
         {...commonProps}
         title='ReplicaSets'
-        nameLike={query}
+        uids={uidsOf('ReplicaSet')}
         namespace={selectedNamespace}
       />
       <ReplicationControllersList
         {...commonProps}
         title='ReplicationControllers'
-        nameLike={query}
+        uids={uidsOf('ReplicationController')}
         namespace={selectedNamespace}
       />
       <HorizontalPodAutoscalersList
         {...commonProps}
         title='HorizontalPodAutoscalers'
-        nameLike={query}
+        uids={uidsOf('HorizontalPodAutoscaler')}
         namespace={selectedNamespace}
       />
       <ServicesList
         {...commonProps}
         title='Services'
-        nameLike={query}
+        uids={uidsOf('Service')}
         namespace={selectedNamespace}
       />
       <EndpointsList
         {...commonProps}
         title='Endpoints'
-        nameLike={query}
+        uids={uidsOf('Endpoints')}
         namespace={selectedNamespace}
       />
       <IngressesList
         {...commonProps}
         title='Ingresses'
-        nameLike={query}
+        uids={uidsOf('Ingress')}
         namespace={selectedNamespace}
       />
       <RoutesList
         {...commonProps}
         title='Routes'
-        nameLike={query}
+        uids={uidsOf('Route')}
         namespace={selectedNamespace}
       />
       <NamespacesList
         {...commonProps}
         title='Namespaces'
-        nameLike={query}
+        uids={uidsOf('Namespace')}
         namespace={selectedNamespace}
       />
       <ConfigMapsList
         {...commonProps}
         title='ConfigMaps'
-        nameLike={query}
+        uids={uidsOf('ConfigMap')}
         namespace={selectedNamespace}
       />
       <SecretsList
         {...commonProps}
         title='Secrets'
-        nameLike={query}
+        uids={uidsOf('Secret')}
         namespace={selectedNamespace}
       />
       <ServiceAccountsList
         {...commonProps}
         title='ServiceAccounts'
-        nameLike={query}
+        uids={uidsOf('ServiceAccount')}
         namespace={selectedNamespace}
       />
       <PersistentVolumesList
         {...commonProps}
         title='PersistentVolumes'
-        nameLike={query}
+        uids={uidsOf('PersistentVolume')}
         namespace={selectedNamespace}
       />
       <PersistentVolumeClaimsList
         {...commonProps}
         title='PersistentVolumeClaims'
-        nameLike={query}
+        uids={uidsOf('PersistentVolumeClaim')}
         namespace={selectedNamespace}
       />
       <CustomResourceDefinitionsList
         {...commonProps}
         title='CustomResourceDefinitions'
-        nameLike={query}
+        uids={uidsOf('CustomResourceDefinition')}
       />
       <ClusterRolesList
         {...commonProps}
         title='ClusterRoles'
-        nameLike={query}
+        uids={uidsOf('ClusterRole')}
       />
       <RolesList
         {...commonProps}
         title='Roles'
-        nameLike={query}
+        uids={uidsOf('Role')}
         namespace={selectedNamespace}
       />
+      {hasMore && (
+        <div className='mt-2 text-center'>
+          <Link
+            variant={Link.variants.outline}
+            onClick={loadMore}
+            data-testid='search__load-more'
+          >
+            Load more
+          </Link>
+        </div>
+      )}
     </>
   );
 };
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+import {getApiURL} from '../env';
+import {toJson} from '../fetch';
+
+export const PAGE_SIZE = 100;
+
+// Ranked search served by the backend index, hits reference resources by uid
+export const search = async ({
+  q,
+  namespace,
+  offset = 0,
+  limit = PAGE_SIZE
+}) => {
+  const params = new URLSearchParams({q, offset, limit});
+  if (namespace) {
+    params.set('namespace', namespace);
+  }
+  const response = await fetch(`${getApiURL()}/search?${params}`);
+  return await toJson(response);
+};
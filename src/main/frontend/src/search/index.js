@@ -14,4 +14,5 @@
  * limitations under the License.
  *
  */
+export * as api from './api';
 export {SearchPage} from './SearchPage';
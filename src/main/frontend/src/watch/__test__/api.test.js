@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+/* global Response */
+import {afterEach, beforeEach, describe, test, expect, vi} from 'vitest';
+import {toActions, updateScope} from '../api';
+import {Types} from '../../redux';
+
+describe('Watch API tests', () => {
+  describe('updateScope', () => {
+    let fetchSpy;
+    beforeEach(() => {
+      fetchSpy = vi
+        .spyOn(global, 'fetch')
+        .mockResolvedValue(new Response(null, {status: 204}));
+    });
+
+    afterEach(() => {
+      fetchSpy.mockRestore();
+    });
+
+    test('should store scope and skip request when subscription is unknown', async () => {
+      const eventSource = {};
+
+      await updateScope(eventSource, {namespaces: ['team-a']});
+
+      expect(eventSource.scope).toEqual({namespaces: ['team-a']});
+      expect(fetchSpy).not.toHaveBeenCalled();
+    });
+
+    test('should PUT scope for known subscription', async () => {
+      const eventSource = {subscriptionId: 'the-id'};
+
+      await updateScope(eventSource, {
+        kinds: ['Pod', 'Event'],
+        namespaces: ['team-a', 'team-b']
+      });
+
+      expect(fetchSpy).toHaveBeenCalledWith(
+        expect.stringMatching(
+          /\/watch\/the-id\?kinds=Pod%2CEvent&namespaces=team-a%2Cteam-b$/
+        ),
+        {method: 'PUT'}
+      );
+    });
+
+    test('should PUT demanded custom resources for known subscription', async () => {
+      const eventSource = {subscriptionId: 'the-id'};
+
+      await updateScope(eventSource, {
+        customResources: ['example.com/v1/gizmos', 'example.com/v2/widgets']
+      });
+
+      expect(fetchSpy).toHaveBeenCalledWith(
+        expect.stringMatching(
+          /\/watch\/the-id\?customResources=example\.com%2Fv1%2Fgizmos%2Cexample\.com%2Fv2%2Fwidgets$/
+        ),
+        {method: 'PUT'}
+      );
+    });
+
+    test('should PUT empty scope to watch everything', async () => {
+      const eventSource = {subscriptionId: 'the-id'};
+
+      await updateScope(eventSource, {});
+
+      expect(fetchSpy).toHaveBeenCalledWith(
+        expect.stringMatching(/\/watch\/the-id\?$/),
+        {method: 'PUT'}
+      );
+    });
+  });
+  describe('toActions', () => {
+    const state = {
+      pods: {
+        'pod-1': {kind: 'Pod', metadata: {uid: 'pod-1', resourceVersion: '1'}}
+      }
+    };
+    const patched = (baseResourceVersion, resourceVersion) => ({
+      type: 'PATCHED',
+      kind: 'Pod',
+      uid: 'pod-1',
+      baseResourceVersion,
+      patch: [
+        {
+          op: 'replace',
+          path: '/metadata/resourceVersion',
+          value: resourceVersion
+        }
+      ]
+    });
+
+    test('should translate watch events', () => {
+      const {crud, errors} = toActions(
+        [
+          {type: 'ADDED', object: {kind: 'Pod', metadata: {uid: 'pod-2'}}},
+          {type: 'DELETED', object: {kind: 'Pod', metadata: {uid: 'pod-1'}}},
+          {type: 'ERROR', object: {code: 500, message: 'Boom'}}
+        ],
+        state
+      );
+      expect(crud.map(({type}) => type)).toEqual([
+        Types.CRUD_ADD_OR_REPLACE,
+        Types.CRUD_DELETE
+      ]);
+      expect(errors).toEqual([{type: Types.UI_SET_ERROR, payload: '500 Boom'}]);
+    });
+
+    test('should chain patches of the same frame', () => {
+      const {crud, stale} = toActions(
+        [patched('1', '2'), patched('2', '3')],
+        state
+      );
+      expect(crud).toHaveLength(2);
+      expect(stale).toBe(false);
+    });
+
+    test('should flag patches with unknown base version as stale', () => {
+      const {crud, stale} = toActions([patched('2', '3')], state);
+      expect(crud).toHaveLength(0);
+      expect(stale).toBe(true);
+    });
+  });
+});
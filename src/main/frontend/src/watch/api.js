@@ -19,47 +19,91 @@ import {bindActionCreators} from 'redux';
 import {
   clear,
   crudAddOrReplace,
+  crudBatch,
   crudClear,
   crudDelete,
+  crudPatch,
   setError,
   setOffline
 } from '../redux';
 
-export const startEventSource = ({dispatch}) => {
-  const actions = bindActionCreators(
-    {
-      clear,
-      crudAddOrReplace,
-      crudClear,
-      crudDelete,
-      setError,
-      setOffline
-    },
-    dispatch
-  );
-  const eventSource = new EventSource(`${getApiURL()}/watch`);
-  eventSource.onopen = () => {
-    actions.setOffline(false);
-    actions.clear();
-  };
-  eventSource.onmessage = ({data}) => {
-    const message = JSON.parse(data);
-    if (message.object) {
+const scopeParams = ({
+  kinds = [],
+  namespaces = [],
+  customResources = []
+} = {}) => {
+  const params = new URLSearchParams();
+  if (kinds.length > 0) {
+    params.set('kinds', kinds.join(','));
+  }
+  if (namespaces.length > 0) {
+    params.set('namespaces', namespaces.join(','));
+  }
+  // Custom resources (group/version/plural) are only watched when requested
+  if (customResources.length > 0) {
+    params.set('customResources', customResources.join(','));
+  }
+  return params;
+};
+
+const sameScope = (scope1, scope2) =>
+  scopeParams(scope1).toString() === scopeParams(scope2).toString();
+
+const watchUrl = (lastEventId, scope) => {
+  const params = scopeParams(scope);
+  // MODIFIED events are sent as JSON Patches when smaller
+  params.set('patch', 'true');
+  // Events are grouped in array frames during bursts
+  params.set('batch', 'true');
+  if (lastEventId) {
+    params.set('lastEventId', lastEventId);
+  }
+  return `${getApiURL()}/watch?${params}`;
+};
+
+// Resources are keyed by uid in their kind slice
+const findByUid = (state, uid) =>
+  Object.values(state).find(slice => slice?.[uid]?.metadata)?.[uid];
+
+const patchedVersion = patch =>
+  patch.find(({path}) => path === '/metadata/resourceVersion')?.value;
+
+// Translates the messages of a frame (single event or batch) into redux actions.
+// Patches are checked against the resource version in the state or in a previous message of the same frame.
+export const toActions = (messages, state) => {
+  const versions = new Map();
+  const result = {crud: [], errors: [], stale: false};
+  for (const message of messages) {
+    if (message.type === 'PATCHED') {
+      const base = versions.has(message.uid)
+        ? versions.get(message.uid)
+        : findByUid(state, message.uid)?.metadata.resourceVersion;
+      if (base === message.baseResourceVersion) {
+        result.crud.push(crudPatch(message));
+        versions.set(message.uid, patchedVersion(message.patch) ?? base);
+      } else {
+        result.stale = true;
+      }
+    } else if (message.object) {
       switch (message.type) {
         case 'MODIFIED':
         case 'ADDED':
-          actions.crudAddOrReplace(message.object);
+          result.crud.push(crudAddOrReplace(message.object));
+          versions.set(
+            message.object.metadata?.uid,
+            message.object.metadata?.resourceVersion
+          );
           break;
         case 'DELETED':
-          actions.crudDelete(message.object);
+          result.crud.push(crudDelete(message.object));
           break;
         case 'ERROR':
           if (message.object.dashboardError === 'RequestRestartError') {
             // Self-healing observable will restart eventually, clear state for resource
-            actions.crudClear(message.object.type);
+            result.crud.push(crudClear(message.object.type));
           } else {
-            actions.setError(
-              `${message.object.code ?? ''} ${message.object.message}`
+            result.errors.push(
+              setError(`${message.object.code ?? ''} ${message.object.message}`)
             );
           }
           break;
@@ -67,6 +111,75 @@ export const startEventSource = ({dispatch}) => {
         // NOOP
       }
     }
+  }
+  return result;
+};
+
+// Changes the kinds, namespaces and custom resources streamed by a live EventSource (the server sends a resync and a new snapshot)
+export const updateScope = async (eventSource, scope) => {
+  eventSource.scope = scope;
+  if (eventSource.subscriptionId) {
+    try {
+      await fetch(
+        `${getApiURL()}/watch/${eventSource.subscriptionId}?${scopeParams(scope)}`,
+        {method: 'PUT'}
+      );
+    } catch (e) {
+      console.error('Error updating watch scope', e);
+    }
+  }
+};
+
+export const startEventSource = ({
+  dispatch,
+  getState,
+  lastEventId,
+  scope = {}
+}) => {
+  const actions = bindActionCreators(
+    {
+      clear,
+      crudBatch,
+      setOffline
+    },
+    dispatch
+  );
+  const eventSource = new EventSource(watchUrl(lastEventId, scope));
+  eventSource.scope = scope;
+  eventSource.onopen = () => {
+    actions.setOffline(false);
+  };
+  // First event of every connection (including automatic reconnections), identifies the subscription
+  eventSource.addEventListener('subscription', ({data}) => {
+    eventSource.subscriptionId = data;
+    if (!sameScope(eventSource.scope, scope)) {
+      updateScope(eventSource, eventSource.scope);
+    }
+  });
+  // The server sends a resync marker when the missed events can't be replayed, a full snapshot follows
+  eventSource.addEventListener('resync', ({lastEventId}) => {
+    eventSource.lastEventId = lastEventId;
+    eventSource.resyncRequested = false;
+    actions.clear();
+  });
+  eventSource.onmessage = ({data, lastEventId}) => {
+    eventSource.lastEventId = lastEventId;
+    const {crud, errors, stale} = toActions(
+      [].concat(JSON.parse(data)),
+      getState()
+    );
+    // A single dispatch (and render) per frame
+    if (crud.length === 1) {
+      dispatch(crud[0]);
+    } else if (crud.length > 1) {
+      actions.crudBatch(crud);
+    }
+    errors.forEach(dispatch);
+    if (stale && !eventSource.resyncRequested) {
+      // Patch base version is unknown, request a resync (snapshot of the current scope)
+      eventSource.resyncRequested = true;
+      updateScope(eventSource, eventSource.scope);
+    }
   };
   eventSource.onerror = () => {
     console.error('Error starting watch');
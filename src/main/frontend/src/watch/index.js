@@ -14,4 +14,4 @@
  * limitations under the License.
  *
  */
-export {startEventSource} from './api';
+export {startEventSource, updateScope} from './api';
@@ -29,6 +29,7 @@ import com.marcnuri.yakd.endpoints.EndpointResource;
 import com.marcnuri.yakd.fabric8.GenericResourceService;
 import com.marcnuri.yakd.horizontalpodautoscalers.HorizontalPodAutoscalerResource;
 import com.marcnuri.yakd.jobs.JobResource;
+import com.marcnuri.yakd.logs.LogResource;
 import com.marcnuri.yakd.node.NodeResource;
 import com.marcnuri.yakd.persistentvolumeclaims.PersistentVolumeClaimResource;
 import com.marcnuri.yakd.persistentvolumes.PersistentVolumeResource;
@@ -42,6 +43,7 @@ import com.marcnuri.yakd.replicationcontrollers.ReplicationControllerResource;
 import com.marcnuri.yakd.rolebindings.RoleBindingResource;
 import com.marcnuri.yakd.roles.RoleResource;
 import com.marcnuri.yakd.routes.RouteResource;
+import com.marcnuri.yakd.search.SearchResource;
 import com.marcnuri.yakd.secrets.SecretResource;
 import com.marcnuri.yakd.service.ServiceResource;
 import com.marcnuri.yakd.serviceaccounts.ServiceAccountResource;
@@ -53,9 +55,11 @@ import io.quarkus.runtime.annotations.RegisterForReflection;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 
 import java.io.InputStream;
@@ -95,6 +99,8 @@ public class ApiResource {
   @Inject
   JobResource jobResource;
   @Inject
+  LogResource logResource;
+  @Inject
   NamespaceResource namespaceResource;
   @Inject
   NodeResource nodeResource;
@@ -114,6 +120,8 @@ public class ApiResource {
   @Inject
   RouteResource routeResource;
   @Inject
+  SearchResource searchResource;
+  @Inject
   SecretResource secretResource;
   @Inject
   ServiceResource serviceResource;
@@ -194,6 +202,11 @@ public class ApiResource {
     return jobResource;
   }
 
+  @Path("/logs")
+  public LogResource getLogResource() {
+    return logResource;
+  }
+
   @Path("/namespaces")
   public NamespaceResource getNamespaceResource() {
     return namespaceResource;
@@ -244,6 +257,11 @@ public class ApiResource {
     return routeResource;
   }
 
+  @Path("/search")
+  public SearchResource getSearchResource() {
+    return searchResource;
+  }
+
   @Path("/secrets")
   public SecretResource getSecretResource() {
     return secretResource;
@@ -269,6 +287,16 @@ public class ApiResource {
     return watchResource;
   }
 
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  @Path("/")
+  public HasMetadata get(
+    @QueryParam("apiVersion") String apiVersion, @QueryParam("kind") String kind,
+    @QueryParam("namespace") String namespace, @QueryParam("name") String name) {
+    // Complete resource (watched resources are slimmed down)
+    return genericResourceService.get(apiVersion, kind, namespace, name);
+  }
+
   @POST
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 11:40
+ */
+package com.marcnuri.yakd;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Groups the elements of a single stream (e.g. watch events, log lines) so that they can be written as a single
+ * SSE frame.
+ *
+ * <p> A batch is flushed once it reaches the max number of elements or once the max delay has elapsed since
+ * its first element was added, whatever happens first. Unbatched elements (e.g. resync markers) are never
+ * batched, any pending elements are flushed before them and they're then flushed on their own.
+ *
+ * <p> The scheduler only triggers the delayed flushes, they run (serialization of the batch included) on the
+ * flush executor so that the shared scheduler thread is never busy with them.
+ *
+ * @param <T> the type of the batched elements.
+ */
+public final class Batcher<T> implements AutoCloseable {
+
+  private final int maxElements;
+  private final long maxDelayMillis;
+  private final ScheduledExecutorService scheduler;
+  private final Executor flushExecutor;
+  private final Predicate<T> unbatched;
+  private final Consumer<List<T>> onFlush;
+  private List<T> batch;
+  private ScheduledFuture<?> scheduledFlush;
+  private boolean closed;
+
+  public Batcher(
+    int maxElements, Duration maxDelay, ScheduledExecutorService scheduler, Executor flushExecutor,
+    Predicate<T> unbatched, Consumer<List<T>> onFlush) {
+    this.maxElements = maxElements;
+    this.maxDelayMillis = maxDelay.toMillis();
+    this.scheduler = scheduler;
+    this.flushExecutor = flushExecutor;
+    this.unbatched = unbatched;
+    this.onFlush = onFlush;
+    batch = new ArrayList<>();
+  }
+
+  public Batcher(
+    int maxElements, Duration maxDelay, ScheduledExecutorService scheduler, Executor flushExecutor,
+    Consumer<List<T>> onFlush) {
+    this(maxElements, maxDelay, scheduler, flushExecutor, element -> false, onFlush);
+  }
+
+  public synchronized void add(T element) {
+    if (closed) {
+      return;
+    }
+    if (unbatched.test(element)) {
+      flush();
+      onFlush.accept(List.of(element));
+      return;
+    }
+    batch.add(element);
+    if (batch.size() >= maxElements) {
+      flush();
+    } else if (batch.size() == 1) {
+      scheduledFlush = scheduler.schedule(
+        () -> flushExecutor.execute(this::flush), maxDelayMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Emits the pending elements, if any.
+   *
+   * <p> Flushes happen under the batcher lock (flush executor and producer threads) so that batches are emitted
+   * in order, the consumer must not block (e.g. asynchronous SSE sink writes).
+   */
+  public synchronized void flush() {
+    if (closed) {
+      return;
+    }
+    final var ready = take();
+    if (!ready.isEmpty()) {
+      onFlush.accept(ready);
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    closed = true;
+    take();
+  }
+
+  private List<T> take() {
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel(false);
+      scheduledFlush = null;
+    }
+    final var ready = batch;
+    batch = new ArrayList<>();
+    return ready;
+  }
+}
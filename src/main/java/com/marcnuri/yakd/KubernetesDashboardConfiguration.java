@@ -31,13 +31,25 @@ import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
 @Singleton
 public class KubernetesDashboardConfiguration {
 
+  /**
+   * Scheduler for delayed tasks only (self-healing, batching), blocking work must run on the {@link #WATCH_SUBSCRIBE_EXECUTOR_SERVICE}.
+   */
   public static final String WATCH_EXECUTOR_SERVICE = "watchExecutorService";
+  /**
+   * Virtual thread per task executor for (blocking) watch subscriptions.
+   */
+  public static final String WATCH_SUBSCRIBE_EXECUTOR_SERVICE = "watchSubscribeExecutorService";
+  /**
+   * Virtual thread per task executor for (blocking) Pod log reads.
+   */
+  public static final String POD_LOG_EXECUTOR_SERVICE = "podLogExecutorService";
 
   private static final Logger LOG = LoggerFactory.getLogger(KubernetesDashboardConfiguration.class);
 
@@ -52,16 +64,36 @@ public class KubernetesDashboardConfiguration {
 
   void onEnd(
     @Observes ShutdownEvent event,
-    @Named(WATCH_EXECUTOR_SERVICE) ScheduledExecutorService executorService
+    @Named(WATCH_EXECUTOR_SERVICE) ScheduledExecutorService executorService,
+    @Named(WATCH_SUBSCRIBE_EXECUTOR_SERVICE) ExecutorService subscribeExecutorService,
+    @Named(POD_LOG_EXECUTOR_SERVICE) ExecutorService podLogExecutorService
   ) {
     executorService.shutdown();
+    subscribeExecutorService.shutdown();
+    podLogExecutorService.shutdown();
   }
 
   @Produces
   @Singleton
   @Named(WATCH_EXECUTOR_SERVICE)
   public ScheduledExecutorService watchExecutorService() {
-    return Executors.newScheduledThreadPool(1);
+    return Executors.newScheduledThreadPool(1, Thread.ofPlatform().name("yakd-watch-scheduler-", 0).daemon().factory());
+  }
+
+  @Produces
+  @Singleton
+  @Named(WATCH_SUBSCRIBE_EXECUTOR_SERVICE)
+  public ExecutorService watchSubscribeExecutorService() {
+    // Subscriptions block on the API server (availability checks, LIST probes), one slow kind must not delay the rest
+    return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("yakd-watch-", 0).factory());
+  }
+
+  @Produces
+  @Singleton
+  @Named(POD_LOG_EXECUTOR_SERVICE)
+  public ExecutorService podLogExecutorService() {
+    // Log reads block until the container logs (follow), each stream parks a virtual thread instead of a worker
+    return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("yakd-pod-log-", 0).factory());
   }
 
   @Produces
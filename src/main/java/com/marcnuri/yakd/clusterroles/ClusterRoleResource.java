@@ -17,6 +17,7 @@
  */
 package com.marcnuri.yakd.clusterroles;
 
+import com.marcnuri.yakd.watch.WatchService;
 import io.fabric8.kubernetes.api.model.rbac.ClusterRole;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 
@@ -29,6 +30,7 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -39,16 +41,19 @@ import java.util.List;
 public class ClusterRoleResource {
 
   private final ClusterRoleService clusterRoleService;
+  private final WatchService watchService;
 
   @Inject
-  public ClusterRoleResource(ClusterRoleService clusterRoleService) {
+  public ClusterRoleResource(ClusterRoleService clusterRoleService, WatchService watchService) {
     this.clusterRoleService = clusterRoleService;
+    this.watchService = watchService;
   }
 
   @GET
   @Produces(MediaType.APPLICATION_JSON)
-  public List<ClusterRole> get() {
-    return clusterRoleService.get();
+  public List<ClusterRole> get(
+    @QueryParam("resourceVersion") String resourceVersion, @QueryParam("live") boolean live) {
+    return watchService.list(ClusterRole.class, resourceVersion, live, clusterRoleService::get);
   }
 
   @DELETE
@@ -17,6 +17,7 @@
  */
 package com.marcnuri.yakd.configmaps;
 
+import com.marcnuri.yakd.watch.WatchService;
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 
@@ -29,6 +30,7 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -39,16 +41,19 @@ import java.util.List;
 public class ConfigMapResource {
 
   private final ConfigMapService configMapService;
+  private final WatchService watchService;
 
   @Inject
-  public ConfigMapResource(ConfigMapService configMapService) {
+  public ConfigMapResource(ConfigMapService configMapService, WatchService watchService) {
     this.configMapService = configMapService;
+    this.watchService = watchService;
   }
 
   @GET
   @Produces(MediaType.APPLICATION_JSON)
-  public List<ConfigMap> get() {
-    return configMapService.get();
+  public List<ConfigMap> get(
+    @QueryParam("resourceVersion") String resourceVersion, @QueryParam("live") boolean live) {
+    return watchService.list(ConfigMap.class, resourceVersion, live, configMapService::get);
   }
 
   @DELETE
@@ -17,6 +17,7 @@
  */
 package com.marcnuri.yakd.configmaps;
 
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.api.model.ConfigMap;
@@ -30,15 +31,18 @@ import java.util.List;
 import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 
 @Singleton
 public class ConfigMapService implements Watchable<ConfigMap> {
 
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
 
   @Inject
-  public ConfigMapService(KubernetesClient kubernetesClient) {
+  public ConfigMapService(KubernetesClient kubernetesClient, ApiAvailability apiAvailability) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
   }
 
   public List<ConfigMap> get() {
@@ -51,10 +55,9 @@ public class ConfigMapService implements Watchable<ConfigMap> {
   @Override
   public Subscriber<ConfigMap> watch() {
     return tryInOrder(
-      () -> {
-        kubernetesClient.configMaps().inAnyNamespace().list(LIMIT_1);
-        return subscriber(kubernetesClient.configMaps().inAnyNamespace());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.configMaps().inAnyNamespace().list(LIMIT_1),
+        subscriber(kubernetesClient.configMaps().inAnyNamespace())),
       () -> subscriber(kubernetesClient.configMaps().inNamespace(kubernetesClient.getConfiguration().getNamespace()))
     );
   }
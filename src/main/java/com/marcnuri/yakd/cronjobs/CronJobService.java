@@ -17,7 +17,7 @@
  */
 package com.marcnuri.yakd.cronjobs;
 
-import com.marcnuri.yakd.fabric8.ClientUtil;
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
@@ -37,26 +37,29 @@ import java.util.HashMap;
 import java.util.Optional;
 import java.util.Random;
 
+import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 
 @Singleton
 public class CronJobService implements Watchable<CronJob> {
 
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
 
   @Inject
-  public CronJobService(KubernetesClient kubernetesClient) {
+  public CronJobService(KubernetesClient kubernetesClient, ApiAvailability apiAvailability) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
   }
 
   @Override
   public Subscriber<CronJob> watch() {
     return tryInOrder(
-      () -> {
-        kubernetesClient.batch().v1().cronjobs().inAnyNamespace().list(ClientUtil.LIMIT_1);
-        return subscriber(kubernetesClient.batch().v1().cronjobs().inAnyNamespace());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.batch().v1().cronjobs().inAnyNamespace().list(LIMIT_1),
+        subscriber(kubernetesClient.batch().v1().cronjobs().inAnyNamespace())),
       () -> subscriber(kubernetesClient.batch().v1().cronjobs()
         .inNamespace(kubernetesClient.getConfiguration().getNamespace()))
     );
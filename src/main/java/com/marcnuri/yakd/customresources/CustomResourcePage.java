@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 17:10
+ */
+package com.marcnuri.yakd.customresources;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.List;
+
+/**
+ * A chunk of a custom resource list.
+ *
+ * @param items the custom resources in this chunk.
+ * @param continueToken the token to retrieve the next chunk, or null if this is the last one.
+ * @param namespaced whether the chunk was listed in every namespace (namespaced resources) or cluster-wide.
+ */
+@RegisterForReflection
+public record CustomResourcePage(
+  List<GenericKubernetesResource> items,
+  @JsonProperty("continue") String continueToken,
+  @JsonIgnore boolean namespaced
+) {
+
+  public boolean hasNext() {
+    return continueToken != null && !continueToken.isEmpty();
+  }
+}
@@ -17,10 +17,14 @@
  */
 package com.marcnuri.yakd.customresources;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
 import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.quarkus.vertx.http.Compressed;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
@@ -28,31 +32,84 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-
-import java.util.List;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 @Singleton
 @RegisterForReflection // Quarkus doesn't generate constructors for JAX-RS Subresources
 public class CustomResourceResource {
 
   private final CustomResourceService customResourceService;
+  private final ObjectMapper objectMapper;
+  private final long pageSize;
 
   @Inject
-  public CustomResourceResource(CustomResourceService customResourceService) {
+  public CustomResourceResource(
+    CustomResourceService customResourceService,
+    ObjectMapper objectMapper,
+    @ConfigProperty(name = "yakd.custom-resources.page-size", defaultValue = "500") long pageSize
+  ) {
     this.customResourceService = customResourceService;
+    this.objectMapper = objectMapper;
+    this.pageSize = pageSize;
   }
 
+  /**
+   * Lists the custom resources.
+   *
+   * <p> Without a {@code limit}, the complete list is streamed as a JSON array while it's retrieved from the
+   * API server in chunks of {@code yakd.custom-resources.page-size} resources (only one chunk is held in memory).
+   *
+   * <p> With a {@code limit}, a single {@link CustomResourcePage} is returned, its {@code continue} token
+   * retrieves the next one.
+   *
+   * <p> The streamed response is committed (200) with the first chunk, if a later chunk fails (e.g. expired
+   * continue token) the connection is aborted and the array is left unterminated so that the client can't
+   * mistake the truncated list for a complete one.
+   */
   @GET
   @Produces(MediaType.APPLICATION_JSON)
+  @Compressed
   @Path("/{group}/{version}/{plural}")
-  public List<GenericKubernetesResource> get(
+  public Response get(
     @PathParam("group") String group,
     @PathParam("version") String version,
-    @PathParam("plural") String plural
+    @PathParam("plural") String plural,
+    @QueryParam("limit") Long limit,
+    @QueryParam("continue") String continueToken
   ) {
-    return customResourceService.get(group, version, plural);
+    if (limit != null) {
+      if (limit <= 0) {
+        throw new BadRequestException("limit must be greater than 0");
+      }
+      return Response.ok(customResourceService.get(group, version, plural, limit, continueToken)).build();
+    }
+    // First chunk retrieved before the response is committed so that API errors are mapped as usual
+    final var first = customResourceService.get(group, version, plural, pageSize, null);
+    final StreamingOutput body = output -> {
+      try (var generator = objectMapper.createGenerator(output)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+        generator.writeStartArray();
+        var page = first;
+        while (true) {
+          for (GenericKubernetesResource resource : page.items()) {
+            generator.writeObject(resource);
+          }
+          generator.flush();
+          if (!page.hasNext()) {
+            break;
+          }
+          // Same scope as the first chunk
+          page = customResourceService.next(group, version, plural, pageSize, page);
+        }
+        generator.writeEndArray();
+      }
+    };
+    return Response.ok(body).build();
   }
 
   @DELETE
@@ -19,13 +19,13 @@ package com.marcnuri.yakd.customresources;
 
 import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
 import io.fabric8.kubernetes.api.model.GenericKubernetesResourceBuilder;
+import io.fabric8.kubernetes.api.model.ListOptions;
+import io.fabric8.kubernetes.api.model.ListOptionsBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.base.ResourceDefinitionContext;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
-import java.util.List;
-
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 
 @Singleton
@@ -38,14 +38,40 @@ public class CustomResourceService {
     this.kubernetesClient = kubernetesClient;
   }
 
-  public List<GenericKubernetesResource> get(String group, String version, String plural) {
+  /**
+   * Lists a chunk of the custom resources (API server limit/continue paging).
+   *
+   * @param limit the maximum number of resources in the chunk.
+   * @param continueToken the token returned with the previous chunk, or null for the first one.
+   * @return the chunk and the token for the next one.
+   */
+  public CustomResourcePage get(String group, String version, String plural, long limit, String continueToken) {
+    final var options = new ListOptionsBuilder().withLimit(limit).withContinue(continueToken).build();
     return tryInOrder(
-      () -> kubernetesClient.genericKubernetesResources(clusterContext(group, version, plural)).list().getItems(),
-      () -> kubernetesClient.genericKubernetesResources(namespacedContext(group, version, plural))
-        .inAnyNamespace().list().getItems()
+      () -> list(clusterContext(group, version, plural), options),
+      () -> list(namespacedContext(group, version, plural), options)
     );
   }
 
+  /**
+   * Lists the chunk that follows the provided one in the same scope (cluster-wide or every namespace), the pages of
+   * a single list are never mixed from both.
+   *
+   * @see #get(String, String, String, long, String)
+   */
+  public CustomResourcePage next(String group, String version, String plural, long limit, CustomResourcePage previous) {
+    final var options = new ListOptionsBuilder().withLimit(limit).withContinue(previous.continueToken()).build();
+    return list(previous.namespaced() ?
+      namespacedContext(group, version, plural) : clusterContext(group, version, plural), options);
+  }
+
+  private CustomResourcePage list(ResourceDefinitionContext context, ListOptions options) {
+    final var resources = kubernetesClient.genericKubernetesResources(context);
+    final var list = context.isNamespaceScoped() ? resources.inAnyNamespace().list(options) : resources.list(options);
+    return new CustomResourcePage(list.getItems(), list.getMetadata() == null ? null : list.getMetadata().getContinue(),
+      context.isNamespaceScoped());
+  }
+
   public void deleteCustomResource(String group, String version, String plural, String name) {
     kubernetesClient.genericKubernetesResources(clusterContext(group, version, plural)).withName(name).delete();
   }
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 17:45
+ */
+package com.marcnuri.yakd.customresources;
+
+import com.marcnuri.yakd.watch.ApiAvailability;
+import com.marcnuri.yakd.watch.SequencedEvent;
+import com.marcnuri.yakd.watch.WatchFilter;
+import com.marcnuri.yakd.watch.WatchService;
+import io.fabric8.kubernetes.api.model.apiextensions.v1.CustomResourceDefinition;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.base.ResourceDefinitionContext;
+import io.smallrye.mutiny.subscription.Cancellable;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.marcnuri.yakd.KubernetesDashboardConfiguration.WATCH_EXECUTOR_SERVICE;
+import static com.marcnuri.yakd.KubernetesDashboardConfiguration.WATCH_SUBSCRIBE_EXECUTOR_SERVICE;
+
+/**
+ * Starts the watches for custom resources on demand and shares them (through the {@link WatchService}) with
+ * every client.
+ *
+ * <p> Watch subscriptions declare the custom resources (group/version/plural) they're interested in, the watch for
+ * each of them is started with the first interested subscription and stopped once no subscription has been interested
+ * for the configured idle grace period.
+ *
+ * <p> The definitions (kind and scope) come from the watched {@link CustomResourceDefinition} events: a demanded
+ * custom resource is watched as soon as its CRD is added and stops being watched when its CRD is deleted or the
+ * version is no longer served.
+ *
+ * <p> The cache stores resources by kind, a custom resource whose kind is already watched (another group or version,
+ * or a built-in kind) waits until that watch stops.
+ */
+@Singleton
+public class CustomResourceWatchManager {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CustomResourceWatchManager.class);
+
+  private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
+  private final WatchService watchService;
+  private final ScheduledExecutorService scheduler;
+  private final ExecutorService subscribeExecutor;
+  private final Duration idleGracePeriod;
+  private final Map<String, Set<Key>> demands;
+  private final Map<Key, Integer> references;
+  private final Map<Key, ResourceDefinitionContext> definitions;
+  private final Map<Key, CustomResourceWatchable> active;
+  private final Map<Key, ScheduledFuture<?>> idleStops;
+  private final Set<Key> conflicting;
+  private Cancellable definitionsSubscription;
+
+  @Inject
+  public CustomResourceWatchManager(
+    KubernetesClient kubernetesClient,
+    ApiAvailability apiAvailability,
+    WatchService watchService,
+    @Named(WATCH_EXECUTOR_SERVICE) ScheduledExecutorService scheduler,
+    @Named(WATCH_SUBSCRIBE_EXECUTOR_SERVICE) ExecutorService subscribeExecutor,
+    @ConfigProperty(name = "yakd.watch.custom-resources.idle-grace-period", defaultValue = "2m") Duration idleGracePeriod
+  ) {
+    this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
+    this.watchService = watchService;
+    this.scheduler = scheduler;
+    this.subscribeExecutor = subscribeExecutor;
+    this.idleGracePeriod = idleGracePeriod;
+    demands = new HashMap<>();
+    references = new HashMap<>();
+    definitions = new HashMap<>();
+    active = new HashMap<>();
+    idleStops = new HashMap<>();
+    conflicting = new HashSet<>();
+  }
+
+  /**
+   * Sets the custom resources a watch subscription is interested in (replacing the previous ones).
+   *
+   * @param subscriptionId the watch subscription id.
+   * @param customResources the custom resources, see {@link Key#parse(String)}.
+   */
+  public synchronized void demand(String subscriptionId, Set<Key> customResources) {
+    final var previous = customResources.isEmpty() ?
+      demands.remove(subscriptionId) : demands.put(subscriptionId, Set.copyOf(customResources));
+    final Set<Key> released = previous == null ? Set.of() : previous;
+    customResources.stream().filter(key -> !released.contains(key)).forEach(this::acquire);
+    released.stream().filter(key -> !customResources.contains(key)).forEach(this::release);
+  }
+
+  /**
+   * Releases every custom resource the (terminated) watch subscription was interested in.
+   */
+  public void release(String subscriptionId) {
+    demand(subscriptionId, Set.of());
+  }
+
+  synchronized Set<Key> getActive() {
+    return Set.copyOf(active.keySet());
+  }
+
+  private void acquire(Key key) {
+    references.merge(key, 1, Integer::sum);
+    final var idleStop = idleStops.remove(key);
+    if (idleStop != null) {
+      idleStop.cancel(false);
+    }
+    subscribeToDefinitions();
+    start(key);
+  }
+
+  private void release(Key key) {
+    if (references.merge(key, -1, Integer::sum) <= 0) {
+      references.remove(key);
+      LOG.debug("Custom resource {} no longer demanded, stopping its watch in {}", key, idleGracePeriod);
+      // The scheduler only triggers the stop, evicting the kind from the cache runs on the subscribe executor
+      idleStops.put(key, scheduler.schedule(() -> subscribeExecutor.execute(() -> stopIfIdle(key)),
+        idleGracePeriod.toMillis(), TimeUnit.MILLISECONDS));
+    }
+  }
+
+  private synchronized void stopIfIdle(Key key) {
+    idleStops.remove(key);
+    if (!references.containsKey(key)) {
+      stop(key);
+    }
+  }
+
+  private void start(Key key) {
+    final var context = definitions.get(key);
+    if (active.containsKey(key) || context == null) {
+      // Started once its CustomResourceDefinition is received
+      return;
+    }
+    final var watchable = new CustomResourceWatchable(kubernetesClient, apiAvailability, context);
+    if (watchService.addWatchable(watchable)) {
+      LOG.debug("Starting watch for custom resource {}", key);
+      active.put(key, watchable);
+      conflicting.remove(key);
+    } else if (conflicting.add(key)) {
+      // Resources with the same kind would share the cache store
+      LOG.warn("Kind {} of custom resource {} is already watched (another group or version, or a built-in kind), "
+        + "it will be watched once that watch stops", context.getKind(), key);
+    }
+  }
+
+  private void stop(Key key) {
+    final var watchable = active.remove(key);
+    if (watchable != null) {
+      LOG.debug("Stopping watch for custom resource {}", key);
+      watchService.removeWatchable(watchable);
+      // The kind is no longer watched, start any demanded custom resource waiting for it
+      conflicting.removeIf(waiting -> !references.containsKey(waiting) || !definitions.containsKey(waiting));
+      List.copyOf(conflicting).forEach(this::start);
+    }
+  }
+
+  private void subscribeToDefinitions() {
+    if (definitionsSubscription == null) {
+      // Random (unguessable) id, a well-known one could be rescoped by any client (PUT /api/v1/watch/{id})
+      definitionsSubscription = watchService.newWatch(UUID.randomUUID().toString(), null,
+          new WatchFilter(Set.of("CustomResourceDefinition"), Set.of()), false)
+        .subscribe()
+        .with(this::onDefinitionEvent, this::onDefinitionsFailure);
+    }
+  }
+
+  private synchronized void onDefinitionsFailure(Throwable throwable) {
+    LOG.warn("CustomResourceDefinition subscription closed: {}", throwable.getMessage());
+    definitionsSubscription = null;
+    if (!references.isEmpty()) {
+      subscribeToDefinitions();
+    }
+  }
+
+  private synchronized void onDefinitionEvent(SequencedEvent sequenced) {
+    if (sequenced.isResync() || !(sequenced.event().object() instanceof CustomResourceDefinition crd)
+      || crd.getSpec() == null || crd.getSpec().getVersions() == null) {
+      return;
+    }
+    final var group = crd.getSpec().getGroup();
+    final var plural = crd.getSpec().getNames().getPlural();
+    final Set<Key> served = switch (sequenced.event().type()) {
+      case ADDED, MODIFIED -> crd.getSpec().getVersions().stream()
+        .filter(version -> !Boolean.FALSE.equals(version.getServed()))
+        .map(version -> new Key(group, version.getName(), plural))
+        .collect(Collectors.toSet());
+      default -> Set.of();
+    };
+    // Versions no longer served (or the whole CRD deleted)
+    definitions.keySet().stream()
+      .filter(key -> key.group().equals(group) && key.plural().equals(plural) && !served.contains(key))
+      .toList()
+      .forEach(key -> {
+        definitions.remove(key);
+        stop(key);
+      });
+    for (var key : served) {
+      final var context = new ResourceDefinitionContext.Builder()
+        .withGroup(key.group()).withVersion(key.version()).withPlural(key.plural())
+        .withKind(crd.getSpec().getNames().getKind())
+        .withNamespaced("Namespaced".equals(crd.getSpec().getScope()))
+        .build();
+      final var previous = definitions.put(key, context);
+      if (previous != null && (!Objects.equals(previous.getKind(), context.getKind())
+        || previous.isNamespaceScoped() != context.isNamespaceScoped())) {
+        // Kind or scope changed, the running watch is stale
+        stop(key);
+      }
+      if (references.containsKey(key)) {
+        start(key);
+      }
+    }
+  }
+
+  /**
+   * A custom resource type.
+   */
+  public record Key(String group, String version, String plural) {
+
+    /**
+     * Parses a comma-separated list of {@code group/version/plural} entries, invalid entries are ignored.
+     */
+    public static Set<Key> parse(String commaSeparated) {
+      if (commaSeparated == null || commaSeparated.isBlank()) {
+        return Set.of();
+      }
+      return Arrays.stream(commaSeparated.split(","))
+        .map(entry -> entry.trim().split("/"))
+        .filter(parts -> parts.length == 3 && Arrays.stream(parts).noneMatch(String::isBlank))
+        .map(parts -> new Key(parts[0], parts[1], parts[2]))
+        .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public String toString() {
+      return group + "/" + version + "/" + plural;
+    }
+  }
+}
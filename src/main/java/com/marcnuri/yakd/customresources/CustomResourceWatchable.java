@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 17:40
+ */
+package com.marcnuri.yakd.customresources;
+
+import com.marcnuri.yakd.watch.ApiAvailability;
+import com.marcnuri.yakd.watch.Subscriber;
+import com.marcnuri.yakd.watch.Watchable;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.base.ResourceDefinitionContext;
+
+import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
+import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
+import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
+
+/**
+ * Watches the custom resources of a single CRD version, created on demand by {@link CustomResourceWatchManager}.
+ */
+class CustomResourceWatchable implements Watchable<GenericKubernetesResource> {
+
+  private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
+  private final ResourceDefinitionContext context;
+
+  CustomResourceWatchable(
+    KubernetesClient kubernetesClient, ApiAvailability apiAvailability, ResourceDefinitionContext context) {
+    this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
+    this.context = context;
+  }
+
+  @Override
+  public Subscriber<GenericKubernetesResource> watch() {
+    final var resources = kubernetesClient.genericKubernetesResources(context);
+    if (!context.isNamespaceScoped()) {
+      return subscriber(resources);
+    }
+    return tryInOrder(
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> resources.inAnyNamespace().list(LIMIT_1),
+        subscriber(resources.inAnyNamespace())),
+      () -> subscriber(resources.inNamespace(kubernetesClient.getConfiguration().getNamespace()))
+    );
+  }
+
+  @Override
+  public String getType() {
+    return context.getKind();
+  }
+}
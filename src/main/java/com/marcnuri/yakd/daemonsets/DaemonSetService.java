@@ -17,7 +17,7 @@
  */
 package com.marcnuri.yakd.daemonsets;
 
-import com.marcnuri.yakd.fabric8.ClientUtil;
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.api.model.apps.DaemonSet;
@@ -30,26 +30,29 @@ import jakarta.inject.Singleton;
 
 import java.time.Instant;
 
+import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 
 @Singleton
 public class DaemonSetService implements Watchable<DaemonSet> {
 
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
 
   @Inject
-  public DaemonSetService(KubernetesClient kubernetesClient) {
+  public DaemonSetService(KubernetesClient kubernetesClient, ApiAvailability apiAvailability) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
   }
 
   @Override
   public Subscriber<DaemonSet> watch() {
     return tryInOrder(
-      () -> {
-        kubernetesClient.apps().daemonSets().inAnyNamespace().list(ClientUtil.LIMIT_1);
-        return subscriber(kubernetesClient.apps().daemonSets().inAnyNamespace());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.apps().daemonSets().inAnyNamespace().list(LIMIT_1),
+        subscriber(kubernetesClient.apps().daemonSets().inAnyNamespace())),
       () -> subscriber(kubernetesClient.apps().daemonSets().inNamespace(kubernetesClient.getConfiguration().getNamespace()))
     );
   }
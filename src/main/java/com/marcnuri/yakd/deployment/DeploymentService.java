@@ -17,7 +17,7 @@
  */
 package com.marcnuri.yakd.deployment;
 
-import com.marcnuri.yakd.fabric8.ClientUtil;
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
@@ -28,26 +28,29 @@ import io.fabric8.kubernetes.client.dsl.base.PatchType;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
+import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 
 @Singleton
 public class DeploymentService implements Watchable<Deployment> {
 
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
 
   @Inject
-  public DeploymentService(KubernetesClient kubernetesClient) {
+  public DeploymentService(KubernetesClient kubernetesClient, ApiAvailability apiAvailability) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
   }
 
   @Override
   public Subscriber<Deployment> watch() {
     return tryInOrder(
-      () -> {
-        kubernetesClient.apps().deployments().inAnyNamespace().list(ClientUtil.LIMIT_1);
-        return subscriber(kubernetesClient.apps().deployments().inAnyNamespace());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.apps().deployments().inAnyNamespace().list(LIMIT_1),
+        subscriber(kubernetesClient.apps().deployments().inAnyNamespace())),
       () -> subscriber(kubernetesClient.apps().deployments()
         .inNamespace(kubernetesClient.getConfiguration().getNamespace()))
     );
@@ -17,7 +17,7 @@
  */
 package com.marcnuri.yakd.deploymentconfigs;
 
-import com.marcnuri.yakd.fabric8.ClientUtil;
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.client.KubernetesClient;
@@ -32,17 +32,21 @@ import java.time.Instant;
 import java.util.Optional;
 import java.util.function.Supplier;
 
+import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 
 @Singleton
 public class DeploymentConfigService implements Watchable<DeploymentConfig> {
 
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
 
   @Inject
-  public DeploymentConfigService(KubernetesClient kubernetesClient) {
+  public DeploymentConfigService(KubernetesClient kubernetesClient, ApiAvailability apiAvailability) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
   }
 
   @Override
@@ -53,10 +57,9 @@ public class DeploymentConfigService implements Watchable<DeploymentConfig> {
   @Override
   public Subscriber<DeploymentConfig> watch() {
     return tryInOrder(
-      () -> {
-        kubernetesClient.resources(DeploymentConfig.class).inAnyNamespace().list(ClientUtil.LIMIT_1);
-        return subscriber(kubernetesClient.resources(DeploymentConfig.class).inAnyNamespace());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.resources(DeploymentConfig.class).inAnyNamespace().list(LIMIT_1),
+        subscriber(kubernetesClient.resources(DeploymentConfig.class).inAnyNamespace())),
       () -> subscriber(kubernetesClient.resources(DeploymentConfig.class).inNamespace(kubernetesClient.getConfiguration().getNamespace()))
     );
   }
@@ -17,6 +17,7 @@
  */
 package com.marcnuri.yakd.endpoints;
 
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.api.model.Endpoints;
@@ -27,24 +28,26 @@ import jakarta.inject.Singleton;
 import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 
 @Singleton
 public class EndpointService implements Watchable<Endpoints> {
 
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
 
   @Inject
-  public EndpointService(KubernetesClient kubernetesClient) {
+  public EndpointService(KubernetesClient kubernetesClient, ApiAvailability apiAvailability) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
   }
 
   @Override
   public Subscriber<Endpoints> watch() {
     return tryInOrder(
-      () -> {
-        kubernetesClient.endpoints().inAnyNamespace().list(LIMIT_1);
-        return subscriber(kubernetesClient.endpoints().inAnyNamespace());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.endpoints().inAnyNamespace().list(LIMIT_1),
+        subscriber(kubernetesClient.endpoints().inAnyNamespace())),
       () -> subscriber(kubernetesClient.endpoints()
         .inNamespace(kubernetesClient.getConfiguration().getNamespace()))
     );
@@ -17,7 +17,7 @@
  */
 package com.marcnuri.yakd.events;
 
-import com.marcnuri.yakd.fabric8.ClientUtil;
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.api.model.Event;
@@ -25,26 +25,29 @@ import io.fabric8.kubernetes.client.KubernetesClient;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
+import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 
 @Singleton
 public class EventService implements Watchable<Event> {
 
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
 
   @Inject
-  public EventService(KubernetesClient kubernetesClient) {
+  public EventService(KubernetesClient kubernetesClient, ApiAvailability apiAvailability) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
   }
 
   @Override
   public Subscriber<Event> watch() {
     return tryInOrder(
-      () -> {
-        kubernetesClient.v1().events().inAnyNamespace().list(ClientUtil.LIMIT_1);
-        return subscriber(kubernetesClient.v1().events().inAnyNamespace());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.v1().events().inAnyNamespace().list(LIMIT_1),
+        subscriber(kubernetesClient.v1().events().inAnyNamespace())),
       () -> subscriber(kubernetesClient.v1().events().inNamespace(kubernetesClient.getConfiguration().getNamespace()))
     );
   }
@@ -17,6 +17,7 @@
  */
 package com.marcnuri.yakd.fabric8;
 
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import jakarta.inject.Inject;
@@ -37,4 +38,12 @@ public class GenericResourceService {
   public HasMetadata create(InputStream resource) {
     return kubernetesClient.resource(resource).create();
   }
+
+  public GenericKubernetesResource get(String apiVersion, String kind, String namespace, String name) {
+    final var resources = kubernetesClient.genericKubernetesResources(apiVersion, kind);
+    if (namespace == null || namespace.isBlank()) {
+      return resources.withName(name).get();
+    }
+    return resources.inNamespace(namespace).withName(name).get();
+  }
 }
@@ -20,9 +20,11 @@ package com.marcnuri.yakd.fabric8;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.WatchEvent;
 import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.ListOptionsBuilder;
 import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.kubernetes.client.WatcherException;
+import io.fabric8.kubernetes.client.dsl.Listable;
 import io.fabric8.kubernetes.client.dsl.Watchable;
 import io.smallrye.mutiny.subscription.MultiEmitter;
 
@@ -30,13 +32,23 @@ import java.io.Closeable;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
+/**
+ * Lists the current state of the resources (emitted as {@link Watcher.Action#ADDED} events) and then watches
+ * them from the resourceVersion of the list, the same way an informer does.
+ *
+ * <p> The list is emitted before {@link #subscribe(Consumer, MultiEmitter)} returns, consumers are in sync
+ * with the cluster once it does.
+ */
 public class WatchableSubscriber<T extends HasMetadata, Y> implements Subscriber<Y> {
   private static final long DEFAULT_WATCHER_TIMEOUT_SECONDS = 900L;
 
+  private final Listable<? extends KubernetesResourceList<T>> listable;
   private final Watchable<T> watchable;
   private final Function<T, Y> mapper;
 
-  public WatchableSubscriber(Watchable<T> watchable, Function<T, Y> mapper) {
+  public <W extends Watchable<T> & Listable<? extends KubernetesResourceList<T>>> WatchableSubscriber(
+    W watchable, Function<T, Y> mapper) {
+    this.listable = watchable;
     this.watchable = watchable;
     this.mapper = mapper;
   }
@@ -47,17 +59,25 @@ public class WatchableSubscriber<T extends HasMetadata, Y> implements Subscriber
     // maintaining the connection open. Client Go does something similar.
     // We should add a timeout of less than 20 minutes, plus a jitter to avoid all services reconnecting at once
     final var jitter = (long) (Math.random() * 9 + 1);
+    final var list = listable.list();
+    // Initial state, not live events (no receive time)
+    list.getItems().forEach(item -> emitter.emit(new WatchEvent<>(Watcher.Action.ADDED, mapper.apply(item))));
     return watchable.watch(
-      new ListOptionsBuilder().withTimeoutSeconds(DEFAULT_WATCHER_TIMEOUT_SECONDS + jitter).build(),
+      new ListOptionsBuilder()
+        .withResourceVersion(list.getMetadata() == null ? null : list.getMetadata().getResourceVersion())
+        .withTimeoutSeconds(DEFAULT_WATCHER_TIMEOUT_SECONDS + jitter)
+        .build(),
       new WatchEventEmitter<>(mapper, close, emitter)
     );
   }
 
-  public static <T extends HasMetadata> WatchableSubscriber<T, T> subscriber(Watchable<T> watchable) {
+  public static <T extends HasMetadata, W extends Watchable<T> & Listable<? extends KubernetesResourceList<T>>>
+  WatchableSubscriber<T, T> subscriber(W watchable) {
     return new WatchableSubscriber<>(watchable, Function.identity());
   }
 
-  public static <T extends HasMetadata, Y> WatchableSubscriber<T, Y> subscriber(Watchable<T> watchable, Function<T, Y> mapper) {
+  public static <T extends HasMetadata, Y, W extends Watchable<T> & Listable<? extends KubernetesResourceList<T>>>
+  WatchableSubscriber<T, Y> subscriber(W watchable, Function<T, Y> mapper) {
     return new WatchableSubscriber<>(watchable, mapper);
   }
 
@@ -66,7 +86,7 @@ public class WatchableSubscriber<T extends HasMetadata, Y> implements Subscriber
 
     @Override
     public void eventReceived(Action action, T resource) {
-      emitter.emit(new WatchEvent<>(action, mapper.apply(resource)));
+      emitter.emit(new WatchEvent<>(action, mapper.apply(resource), System.nanoTime()));
     }
 
     @Override
@@ -17,7 +17,7 @@
  */
 package com.marcnuri.yakd.horizontalpodautoscalers;
 
-import com.marcnuri.yakd.fabric8.ClientUtil;
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.api.model.autoscaling.v1.HorizontalPodAutoscaler;
@@ -26,17 +26,21 @@ import io.fabric8.kubernetes.client.KubernetesClient;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
+import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 
 @Singleton
 public class HorizontalPodAutoscalerService implements Watchable<HorizontalPodAutoscaler> {
 
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
 
   @Inject
-  public HorizontalPodAutoscalerService(KubernetesClient kubernetesClient) {
+  public HorizontalPodAutoscalerService(KubernetesClient kubernetesClient, ApiAvailability apiAvailability) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
   }
 
   @Override
@@ -47,10 +51,9 @@ public class HorizontalPodAutoscalerService implements Watchable<HorizontalPodAu
   @Override
   public Subscriber<HorizontalPodAutoscaler> watch() {
     return tryInOrder(
-      () -> {
-        kubernetesClient.autoscaling().v1().horizontalPodAutoscalers().inAnyNamespace().list(ClientUtil.LIMIT_1);
-        return subscriber(kubernetesClient.autoscaling().v1().horizontalPodAutoscalers().inAnyNamespace());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.autoscaling().v1().horizontalPodAutoscalers().inAnyNamespace().list(LIMIT_1),
+        subscriber(kubernetesClient.autoscaling().v1().horizontalPodAutoscalers().inAnyNamespace())),
       () -> subscriber(kubernetesClient.autoscaling().v1().horizontalPodAutoscalers()
         .inNamespace(kubernetesClient.getConfiguration().getNamespace()))
     );
@@ -17,6 +17,7 @@
  */
 package com.marcnuri.yakd.ingresses;
 
+import com.marcnuri.yakd.watch.WatchService;
 import io.fabric8.kubernetes.api.model.networking.v1.Ingress;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 import io.quarkus.vertx.http.Compressed;
@@ -29,6 +30,7 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -39,17 +41,20 @@ import java.util.List;
 public class IngressResource {
 
   private final IngressService ingressService;
+  private final WatchService watchService;
 
   @Inject
-  public IngressResource(IngressService ingressService) {
+  public IngressResource(IngressService ingressService, WatchService watchService) {
     this.ingressService = ingressService;
+    this.watchService = watchService;
   }
 
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   @Compressed
-  public List<Ingress> get() {
-    return ingressService.get();
+  public List<Ingress> get(
+    @QueryParam("resourceVersion") String resourceVersion, @QueryParam("live") boolean live) {
+    return watchService.list(Ingress.class, resourceVersion, live, ingressService::get);
   }
 
   @DELETE
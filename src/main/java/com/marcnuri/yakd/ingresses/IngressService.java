@@ -17,7 +17,7 @@
  */
 package com.marcnuri.yakd.ingresses;
 
-import com.marcnuri.yakd.fabric8.ClientUtil;
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.api.model.networking.v1.Ingress;
@@ -28,26 +28,29 @@ import jakarta.inject.Singleton;
 
 import java.util.List;
 
+import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 
 @Singleton
 public class IngressService implements Watchable<Ingress> {
 
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
 
   @Inject
-  public IngressService(KubernetesClient kubernetesClient) {
+  public IngressService(KubernetesClient kubernetesClient, ApiAvailability apiAvailability) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
   }
 
   @Override
   public Subscriber<Ingress> watch() {
     return tryInOrder(
-      () -> {
-        kubernetesClient.network().v1().ingresses().inAnyNamespace().list(ClientUtil.LIMIT_1);
-        return subscriber(kubernetesClient.network().v1().ingresses().inAnyNamespace());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.network().v1().ingresses().inAnyNamespace().list(LIMIT_1),
+        subscriber(kubernetesClient.network().v1().ingresses().inAnyNamespace())),
       () -> subscriber(kubernetesClient.network().v1().ingresses()
         .inNamespace(kubernetesClient.getConfiguration().getNamespace()))
     );
@@ -17,7 +17,7 @@
  */
 package com.marcnuri.yakd.jobs;
 
-import com.marcnuri.yakd.fabric8.ClientUtil;
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.api.model.batch.v1.Job;
@@ -26,26 +26,29 @@ import io.fabric8.kubernetes.client.KubernetesClient;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
+import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 
 @Singleton
 public class JobService implements Watchable<Job> {
 
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
 
   @Inject
-  public JobService(KubernetesClient kubernetesClient) {
+  public JobService(KubernetesClient kubernetesClient, ApiAvailability apiAvailability) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
   }
 
   @Override
   public Subscriber<Job> watch() {
     return tryInOrder(
-      () -> {
-        kubernetesClient.batch().v1().jobs().inAnyNamespace().list(ClientUtil.LIMIT_1);
-        return subscriber(kubernetesClient.batch().v1().jobs().inAnyNamespace());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.batch().v1().jobs().inAnyNamespace().list(LIMIT_1),
+        subscriber(kubernetesClient.batch().v1().jobs().inAnyNamespace())),
       () -> subscriber(kubernetesClient.batch().v1().jobs()
         .inNamespace(kubernetesClient.getConfiguration().getNamespace()))
     );
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 21:20
+ */
+package com.marcnuri.yakd.logs;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcnuri.yakd.pod.LogFilter;
+import com.marcnuri.yakd.pod.PodService;
+import com.marcnuri.yakd.watch.SequencedEvent;
+import com.marcnuri.yakd.watch.WatchFilter;
+import com.marcnuri.yakd.watch.WatchService;
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.Watcher;
+import io.smallrye.mutiny.subscription.Cancellable;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Streams the merged logs of every container of the Pods matching a label selector to a single SSE sink.
+ *
+ * <p> Pods joining or leaving the selector (internal Pod watch) are attached and detached live, up to max-streams
+ * container logs are streamed concurrently (the rest wait for a free slot). The lines of each container log pass
+ * its own {@link LogFilter}, are merged by timestamp ({@link LogMerger}) and written in frames (JSON array of
+ * {@link LogLine}) every reorder window. The scheduler only triggers the flush, the frames are drained, serialized
+ * and sent by the flush executor (one flush at a time, so frames keep their order).
+ *
+ * <p> Each container log requests more lines only once the frames with its previous lines have been written.
+ */
+final class AggregatedLogStream implements AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AggregatedLogStream.class);
+  // Max number of lines per container log pending to be written
+  private static final int IN_FLIGHT_LINES = 64;
+
+  private final PodService podService;
+  private final WatchService watchService;
+  private final ObjectMapper objectMapper;
+  private final ScheduledExecutorService scheduler;
+  private final Executor flushExecutor;
+  private final Sse sse;
+  private final SseEventSink sseEventSink;
+  private final String namespace;
+  private final Map<String, String> selector;
+  private final Integer tailLines;
+  private final Integer sinceSeconds;
+  private final LogFilter filter;
+  private final int maxStreams;
+  private final Duration reorderWindow;
+  private final LogMerger merger;
+  // source (pod/container) -> attached and waiting container logs
+  private final Map<String, ContainerLog> attached;
+  private final Map<String, ContainerLog> waiting;
+  // source -> time (nanos) its log ended, reattached logs (e.g. restarted containers) resume from then
+  private final Map<String, Long> ended;
+  private final AtomicBoolean flushing;
+  private Cancellable podWatch;
+  private ScheduledFuture<?> scheduledFlush;
+  private boolean closed;
+
+  AggregatedLogStream(
+    PodService podService, WatchService watchService, ObjectMapper objectMapper, ScheduledExecutorService scheduler,
+    Executor flushExecutor, Sse sse, SseEventSink sseEventSink, String namespace, Map<String, String> selector,
+    Integer tailLines, Integer sinceSeconds, LogFilter filter, int maxStreams, Duration reorderWindow) {
+    this.podService = podService;
+    this.watchService = watchService;
+    this.objectMapper = objectMapper;
+    this.scheduler = scheduler;
+    this.flushExecutor = flushExecutor;
+    this.sse = sse;
+    this.sseEventSink = sseEventSink;
+    this.namespace = namespace;
+    this.selector = selector;
+    this.tailLines = tailLines;
+    this.sinceSeconds = sinceSeconds;
+    this.filter = filter;
+    this.maxStreams = maxStreams;
+    this.reorderWindow = reorderWindow;
+    merger = new LogMerger(reorderWindow);
+    attached = new HashMap<>();
+    waiting = new LinkedHashMap<>();
+    ended = new HashMap<>();
+    flushing = new AtomicBoolean();
+  }
+
+  synchronized AggregatedLogStream start() {
+    podWatch = watchService.newWatch(UUID.randomUUID().toString(), null,
+        new WatchFilter(Set.of("Pod"), Set.of(namespace)), false)
+      .subscribe()
+      .with(this::onPodEvent, this::onPodWatchFailure);
+    final var period = reorderWindow.toMillis();
+    scheduledFlush = scheduler.scheduleAtFixedRate(this::triggerFlush, period, period, TimeUnit.MILLISECONDS);
+    return this;
+  }
+
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (podWatch != null) {
+      podWatch.cancel();
+    }
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel(false);
+    }
+    attached.values().forEach(ContainerLog::cancel);
+    attached.clear();
+    waiting.clear();
+  }
+
+  private synchronized void onPodEvent(SequencedEvent sequenced) {
+    // Resync markers are followed by a snapshot, logs of Pods deleted meanwhile complete on their own
+    if (closed || sequenced.isResync() || !(sequenced.event().object() instanceof Pod pod)) {
+      return;
+    }
+    final var podName = pod.getMetadata().getName();
+    if (sequenced.event().type() == Watcher.Action.DELETED || !matches(pod)) {
+      detach(podName);
+      return;
+    }
+    for (Container container : pod.getSpec().getContainers()) {
+      final var log = new ContainerLog(podName, container.getName());
+      if (isLogAvailable(pod, log)) {
+        attach(log);
+      }
+    }
+  }
+
+  private synchronized void onPodWatchFailure(Throwable throwable) {
+    // Evicted (too slow) or closed, the client reconnects
+    LOG.warn("Aggregated log ({}) Pod watch closed: {}", namespace, throwable.getMessage());
+    close();
+    sseEventSink.close();
+  }
+
+  private boolean matches(Pod pod) {
+    final var labels = pod.getMetadata().getLabels();
+    return labels != null && labels.entrySet().containsAll(selector.entrySet());
+  }
+
+  /**
+   * Logs are available for running containers, terminated ones are only streamed if they weren't already.
+   */
+  private boolean isLogAvailable(Pod pod, ContainerLog log) {
+    if (pod.getStatus() == null || pod.getStatus().getContainerStatuses() == null) {
+      return false;
+    }
+    return pod.getStatus().getContainerStatuses().stream()
+      .filter(status -> Objects.equals(status.getName(), log.container))
+      .map(ContainerStatus::getState)
+      .filter(Objects::nonNull)
+      .anyMatch(state -> state.getRunning() != null
+        || (state.getTerminated() != null && !ended.containsKey(log.source)));
+  }
+
+  private void attach(ContainerLog log) {
+    if (attached.containsKey(log.source)) {
+      return;
+    }
+    if (attached.size() >= maxStreams) {
+      waiting.putIfAbsent(log.source, log);
+      return;
+    }
+    waiting.remove(log.source);
+    attached.put(log.source, log);
+    final var endedAt = ended.remove(log.source);
+    final Integer since = endedAt == null ? sinceSeconds :
+      (int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - endedAt) + 1);
+    podService.getPodContainerLog(log.container, log.pod, namespace, endedAt == null ? tailLines : null, since, null)
+      .plug(filter::apply)
+      .subscribe()
+      .with(
+        subscription -> onSubscribed(log, subscription),
+        line -> onLine(log, line),
+        throwable -> {
+          LOG.debug("Aggregated log ({} - {}) closed: {}", log.pod, log.container, throwable.getMessage());
+          onEnd(log);
+        },
+        () -> onEnd(log)
+      );
+  }
+
+  private void detach(String podName) {
+    waiting.values().removeIf(log -> log.pod.equals(podName));
+    ended.keySet().removeIf(source -> source.startsWith(podName + "/"));
+    attached.values().removeIf(log -> {
+      if (log.pod.equals(podName)) {
+        log.cancel();
+        merger.detach(log.source);
+        return true;
+      }
+      return false;
+    });
+    attachWaiting();
+  }
+
+  private synchronized void onSubscribed(ContainerLog log, Flow.Subscription subscription) {
+    if (closed || attached.get(log.source) != log) {
+      subscription.cancel();
+    } else {
+      log.subscription = subscription;
+      subscription.request(IN_FLIGHT_LINES);
+    }
+  }
+
+  private synchronized void onLine(ContainerLog log, String line) {
+    if (!closed && attached.get(log.source) == log) {
+      merger.add(log.source, new LogLine(log.pod, log.container, line), System.nanoTime());
+    }
+  }
+
+  private synchronized void onEnd(ContainerLog log) {
+    if (closed || !attached.remove(log.source, log)) {
+      return;
+    }
+    ended.put(log.source, System.nanoTime());
+    merger.detach(log.source);
+    attachWaiting();
+  }
+
+  private void attachWaiting() {
+    final var next = waiting.values().iterator();
+    while (next.hasNext() && attached.size() < maxStreams) {
+      final var log = next.next();
+      next.remove();
+      attach(log);
+    }
+  }
+
+  private void triggerFlush() {
+    // Skipped while the previous flush is still running, its lines are drained by the next one
+    if (flushing.compareAndSet(false, true)) {
+      try {
+        flushExecutor.execute(() -> {
+          try {
+            flush();
+          } finally {
+            flushing.set(false);
+          }
+        });
+      } catch (RuntimeException e) {
+        flushing.set(false);
+        LOG.debug("Aggregated log ({}) flush rejected: {}", namespace, e.getMessage());
+      }
+    }
+  }
+
+  private void flush() {
+    final List<LogMerger.Entry> entries;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      entries = merger.drain(System.nanoTime());
+    }
+    if (entries.isEmpty()) {
+      return;
+    }
+    final String data;
+    try {
+      data = objectMapper.writeValueAsString(entries.stream().map(LogMerger.Entry::line).toList());
+    } catch (JsonProcessingException e) {
+      LOG.error("Aggregated log ({}) frame serialization failed: {}", namespace, e.getMessage());
+      return;
+    }
+    final var written = new HashMap<String, Integer>();
+    entries.forEach(entry -> written.merge(entry.source(), 1, Integer::sum));
+    // Data is already encoded as JSON, sent as is
+    sseEventSink.send(sse.newEventBuilder().mediaType(MediaType.TEXT_PLAIN_TYPE).data(data).build())
+      .whenComplete((v, ex) -> onWritten(written, ex));
+  }
+
+  private synchronized void onWritten(Map<String, Integer> written, Throwable ex) {
+    if (ex != null) {
+      close();
+      return;
+    }
+    written.forEach((source, lines) -> {
+      final var log = attached.get(source);
+      if (log != null && log.subscription != null) {
+        log.subscription.request(lines);
+      }
+    });
+  }
+
+  /**
+   * The log of a single container, guarded by the stream lock.
+   */
+  private static final class ContainerLog {
+
+    private final String pod;
+    private final String container;
+    private final String source;
+    private Flow.Subscription subscription;
+
+    private ContainerLog(String pod, String container) {
+      this.pod = pod;
+      this.container = container;
+      source = pod + "/" + container;
+    }
+
+    private void cancel() {
+      // Not subscribed yet, the subscription is cancelled once received (no longer attached)
+      if (subscription != null) {
+        subscription.cancel();
+      }
+    }
+  }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 21:05
+ */
+package com.marcnuri.yakd.logs;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * A line of an aggregated log stream.
+ *
+ * @param pod the name of the Pod that logged the line.
+ * @param container the name of the container that logged the line.
+ * @param line the log line, prefixed with its timestamp.
+ */
+@RegisterForReflection
+public record LogLine(String pod, String container, String line) {
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 21:10
+ */
+package com.marcnuri.yakd.logs;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Merges the lines of several (individually ordered) log streams by their timestamp prefix.
+ *
+ * <p> Lines are held for a reorder window so that lines from slower streams can still be placed before the ones
+ * already buffered, the pending lines form a heap (k-way merge) ordered by timestamp and arrival.
+ * Lines arriving later than the window after newer ones are emitted as soon as possible (out of order).
+ *
+ * <p> Not thread-safe.
+ */
+final class LogMerger {
+
+  private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::timestamp)
+    .thenComparingLong(Entry::sequence);
+
+  private final long reorderWindowNanos;
+  private final PriorityQueue<Entry> pending;
+  // Lines without a (parseable) timestamp are placed after the previous line of their stream
+  private final Map<String, Instant> lastTimestamps;
+  private long sequence;
+
+  LogMerger(Duration reorderWindow) {
+    this.reorderWindowNanos = reorderWindow.toNanos();
+    pending = new PriorityQueue<>(ORDER);
+    lastTimestamps = new HashMap<>();
+  }
+
+  /**
+   * @param source identifies the log stream of the line (e.g. pod and container).
+   * @param now the arrival time of the line (nanos).
+   */
+  void add(String source, LogLine line, long now) {
+    final var timestamp = timestamp(line.line()).orElse(lastTimestamps.getOrDefault(source, Instant.EPOCH));
+    lastTimestamps.put(source, timestamp);
+    pending.add(new Entry(source, line, timestamp, sequence++, now));
+  }
+
+  /**
+   * Removes the pending lines that have been held for the reorder window, in timestamp order.
+   *
+   * @param now the current time (nanos).
+   */
+  List<Entry> drain(long now) {
+    final var ready = new ArrayList<Entry>();
+    while (!pending.isEmpty() && now - pending.peek().arrived() >= reorderWindowNanos) {
+      ready.add(pending.poll());
+    }
+    return ready;
+  }
+
+  /**
+   * Forgets the state of a detached stream, its pending lines are still emitted.
+   */
+  void detach(String source) {
+    lastTimestamps.remove(source);
+  }
+
+  private static Optional<Instant> timestamp(String line) {
+    final var separator = line.indexOf(' ');
+    try {
+      return Optional.of(Instant.parse(separator < 0 ? line : line.substring(0, separator)));
+    } catch (DateTimeParseException e) {
+      return Optional.empty();
+    }
+  }
+
+  record Entry(String source, LogLine line, Instant timestamp, long sequence, long arrived) {
+  }
+}
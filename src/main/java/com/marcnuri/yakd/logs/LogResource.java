@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 21:55
+ */
+package com.marcnuri.yakd.logs;
+
+import com.marcnuri.yakd.pod.LogFilter;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.vertx.core.http.HttpServerResponse;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+@Singleton
+@RegisterForReflection // Quarkus doesn't generate constructors for JAX-RS Subresources
+public class LogResource {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LogResource.class);
+
+  private final LogService logService;
+
+  @Inject
+  public LogResource(LogService logService) {
+    this.logService = logService;
+  }
+
+  /**
+   * Streams the merged logs of every container of the Pods selected by a workload (or label selector).
+   *
+   * <p> Each event contains a JSON array of {@link LogLine} ordered by their timestamp.
+   *
+   * @param labelSelector comma-separated {@code key=value} label equality requirements.
+   * @param tailLines the number of lines from the end of each container log to start from.
+   * @param sinceSeconds only the lines logged within these last seconds.
+   * @param context the number of lines around each line matching the filters to include.
+   * @see LogFilter
+   */
+  @GET
+  @Produces(MediaType.SERVER_SENT_EVENTS)
+  @RestStreamElementType(MediaType.APPLICATION_JSON)
+  @Path("/{namespace}")
+  public void getLogs(
+    @Context HttpServerResponse response, @Context Sse sse, @Context SseEventSink sseEventSink,
+    @PathParam("namespace") String namespace,
+    @QueryParam("deployment") String deployment, @QueryParam("statefulSet") String statefulSet,
+    @QueryParam("daemonSet") String daemonSet, @QueryParam("labelSelector") String labelSelector,
+    @QueryParam("tailLines") Integer tailLines, @QueryParam("sinceSeconds") Integer sinceSeconds,
+    @QueryParam("include") List<String> include, @QueryParam("exclude") List<String> exclude,
+    @QueryParam("includeRegex") List<String> includeRegex, @QueryParam("excludeRegex") List<String> excludeRegex,
+    @QueryParam("context") @DefaultValue("0") int context) {
+
+    final var filter = LogFilter.of(include, exclude, includeRegex, excludeRegex, context);
+    final var selector = logService.selector(namespace, deployment, statefulSet, daemonSet, labelSelector);
+    final var stream = logService.stream(sse, sseEventSink, namespace, selector, tailLines, sinceSeconds, filter);
+    response.closeHandler(v -> {
+      LOG.debug("Aggregated log ({} - {}) closed by the client", namespace, selector);
+      stream.close();
+    });
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 21:45
+ */
+package com.marcnuri.yakd.logs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcnuri.yakd.pod.LogFilter;
+import com.marcnuri.yakd.pod.PodService;
+import com.marcnuri.yakd.watch.IndexQuery;
+import com.marcnuri.yakd.watch.WatchService;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.LabelSelector;
+import io.fabric8.kubernetes.api.model.apps.DaemonSet;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static com.marcnuri.yakd.KubernetesDashboardConfiguration.POD_LOG_EXECUTOR_SERVICE;
+import static com.marcnuri.yakd.KubernetesDashboardConfiguration.WATCH_EXECUTOR_SERVICE;
+
+@Singleton
+public class LogService {
+
+  private final KubernetesClient kubernetesClient;
+  private final PodService podService;
+  private final WatchService watchService;
+  private final ObjectMapper objectMapper;
+  private final ScheduledExecutorService scheduler;
+  private final ExecutorService logExecutor;
+  private final int maxStreams;
+  private final Duration reorderWindow;
+
+  @Inject
+  public LogService(
+    KubernetesClient kubernetesClient, PodService podService, WatchService watchService, ObjectMapper objectMapper,
+    @Named(WATCH_EXECUTOR_SERVICE) ScheduledExecutorService scheduler,
+    @Named(POD_LOG_EXECUTOR_SERVICE) ExecutorService logExecutor,
+    @ConfigProperty(name = "yakd.logs.aggregate.max-streams", defaultValue = "100") int maxStreams,
+    @ConfigProperty(name = "yakd.logs.aggregate.reorder-window", defaultValue = "250ms") Duration reorderWindow) {
+    this.kubernetesClient = kubernetesClient;
+    this.podService = podService;
+    this.watchService = watchService;
+    this.objectMapper = objectMapper;
+    this.scheduler = scheduler;
+    this.logExecutor = logExecutor;
+    this.maxStreams = maxStreams;
+    this.reorderWindow = reorderWindow;
+  }
+
+  /**
+   * Resolves the Pod label selector of exactly one of the provided workloads or label selector.
+   *
+   * @throws BadRequestException if none or several are provided, or the selector isn't supported.
+   * @throws NotFoundException if the workload doesn't exist.
+   */
+  public Map<String, String> selector(
+    String namespace, String deployment, String statefulSet, String daemonSet, String labelSelector) {
+    if (Stream.of(deployment, statefulSet, daemonSet, labelSelector).filter(LogService::isPresent).count() != 1) {
+      throw new BadRequestException("Exactly one of deployment, statefulSet, daemonSet or labelSelector is required");
+    }
+    if (isPresent(deployment)) {
+      return selector(watchService.get(Deployment.class, namespace, deployment, null, false, () ->
+        kubernetesClient.apps().deployments().inNamespace(namespace).withName(deployment).get()),
+        d -> d.getSpec().getSelector());
+    }
+    if (isPresent(statefulSet)) {
+      return selector(watchService.get(StatefulSet.class, namespace, statefulSet, null, false, () ->
+        kubernetesClient.apps().statefulSets().inNamespace(namespace).withName(statefulSet).get()),
+        s -> s.getSpec().getSelector());
+    }
+    if (isPresent(daemonSet)) {
+      return selector(watchService.get(DaemonSet.class, namespace, daemonSet, null, false, () ->
+        kubernetesClient.apps().daemonSets().inNamespace(namespace).withName(daemonSet).get()),
+        d -> d.getSpec().getSelector());
+    }
+    try {
+      return IndexQuery.of(null, null, null, labelSelector).labels();
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException(e.getMessage());
+    }
+  }
+
+  private static boolean isPresent(String parameter) {
+    return parameter != null && !parameter.isBlank();
+  }
+
+  private static <T extends HasMetadata> Map<String, String> selector(T workload, Function<T, LabelSelector> selector) {
+    if (workload == null) {
+      throw new NotFoundException("Workload not found");
+    }
+    final var labelSelector = selector.apply(workload);
+    if (labelSelector == null || labelSelector.getMatchLabels() == null || labelSelector.getMatchLabels().isEmpty()) {
+      throw new BadRequestException("The workload has no matchLabels selector");
+    }
+    if (labelSelector.getMatchExpressions() != null && !labelSelector.getMatchExpressions().isEmpty()) {
+      throw new BadRequestException("Only matchLabels selectors are supported");
+    }
+    return Map.copyOf(labelSelector.getMatchLabels());
+  }
+
+  /**
+   * Starts streaming the merged (and filtered) logs of the Pods matching the selector to the provided sink.
+   *
+   * @return the stream, closed once the client disconnects.
+   */
+  AggregatedLogStream stream(
+    Sse sse, SseEventSink sseEventSink, String namespace, Map<String, String> selector,
+    Integer tailLines, Integer sinceSeconds, LogFilter filter) {
+    return new AggregatedLogStream(podService, watchService, objectMapper, scheduler, logExecutor, sse, sseEventSink,
+      namespace, selector, tailLines, sinceSeconds, filter, maxStreams, reorderWindow).start();
+  }
+}
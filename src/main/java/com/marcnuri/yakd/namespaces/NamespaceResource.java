@@ -17,6 +17,7 @@
  */
 package com.marcnuri.yakd.namespaces;
 
+import com.marcnuri.yakd.watch.WatchService;
 import io.fabric8.kubernetes.api.model.Namespace;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 import jakarta.inject.Singleton;
@@ -25,6 +26,7 @@ import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -35,15 +37,18 @@ import java.util.List;
 public class NamespaceResource {
 
   private final NamespaceService namespaceService;
+  private final WatchService watchService;
 
-  public NamespaceResource(NamespaceService namespaceService) {
+  public NamespaceResource(NamespaceService namespaceService, WatchService watchService) {
     this.namespaceService = namespaceService;
+    this.watchService = watchService;
   }
 
   @GET
   @Produces(MediaType.APPLICATION_JSON)
-  public List<Namespace> get() {
-    return namespaceService.get();
+  public List<Namespace> get(
+    @QueryParam("resourceVersion") String resourceVersion, @QueryParam("live") boolean live) {
+    return watchService.list(Namespace.class, resourceVersion, live, namespaceService::get);
   }
 
   @DELETE
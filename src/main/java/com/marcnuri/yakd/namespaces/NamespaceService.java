@@ -17,6 +17,7 @@
  */
 package com.marcnuri.yakd.namespaces;
 
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.api.model.Namespace;
@@ -30,6 +31,7 @@ import java.util.List;
 import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 import static com.marcnuri.yakd.watch.Subscriber.empty;
 import static com.marcnuri.yakd.watch.Subscriber.items;
 
@@ -37,20 +39,21 @@ import static com.marcnuri.yakd.watch.Subscriber.items;
 public class NamespaceService implements Watchable<Namespace> {
 
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
 
   @Inject
-  public NamespaceService(KubernetesClient kubernetesClient) {
+  public NamespaceService(KubernetesClient kubernetesClient, ApiAvailability apiAvailability) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
   }
 
   @Override
   public Subscriber<Namespace> watch() {
     final var configNamespace = kubernetesClient.getConfiguration().getNamespace();
     return tryInOrder(
-      () -> {
-        kubernetesClient.namespaces().list(LIMIT_1);
-        return subscriber(kubernetesClient.namespaces());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.namespaces().list(LIMIT_1),
+        subscriber(kubernetesClient.namespaces())),
       () -> {
         if (configNamespace != null) {
           kubernetesClient.namespaces().withField("metadata.name", configNamespace).list(LIMIT_1);
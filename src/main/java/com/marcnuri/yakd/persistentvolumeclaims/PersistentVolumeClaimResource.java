@@ -17,6 +17,7 @@
  */
 package com.marcnuri.yakd.persistentvolumeclaims;
 
+import com.marcnuri.yakd.watch.WatchService;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 import io.quarkus.vertx.http.Compressed;
@@ -29,6 +30,7 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -39,19 +41,21 @@ import java.util.List;
 public class PersistentVolumeClaimResource {
 
   private final PersistentVolumeClaimService persistentVolumeClaimService;
+  private final WatchService watchService;
 
   @Inject
-  public PersistentVolumeClaimResource(
-    PersistentVolumeClaimService persistentVolumeClaimService) {
+  public PersistentVolumeClaimResource(PersistentVolumeClaimService persistentVolumeClaimService, WatchService watchService) {
     this.persistentVolumeClaimService = persistentVolumeClaimService;
+    this.watchService = watchService;
   }
 
 
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   @Compressed
-  public List<PersistentVolumeClaim> get() {
-    return persistentVolumeClaimService.get();
+  public List<PersistentVolumeClaim> get(
+    @QueryParam("resourceVersion") String resourceVersion, @QueryParam("live") boolean live) {
+    return watchService.list(PersistentVolumeClaim.class, resourceVersion, live, persistentVolumeClaimService::get);
   }
 
   @DELETE
@@ -17,6 +17,7 @@
  */
 package com.marcnuri.yakd.persistentvolumeclaims;
 
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
@@ -30,15 +31,18 @@ import java.util.List;
 import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 
 @Singleton
 public class PersistentVolumeClaimService implements Watchable<PersistentVolumeClaim> {
 
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
 
   @Inject
-  public PersistentVolumeClaimService(KubernetesClient kubernetesClient) {
+  public PersistentVolumeClaimService(KubernetesClient kubernetesClient, ApiAvailability apiAvailability) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
   }
 
   public List<PersistentVolumeClaim> get() {
@@ -52,10 +56,9 @@ public class PersistentVolumeClaimService implements Watchable<PersistentVolumeC
   @Override
   public Subscriber<PersistentVolumeClaim> watch() {
     return tryInOrder(
-      () -> {
-        kubernetesClient.persistentVolumeClaims().inAnyNamespace().list(LIMIT_1);
-        return subscriber(kubernetesClient.persistentVolumeClaims().inAnyNamespace());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.persistentVolumeClaims().inAnyNamespace().list(LIMIT_1),
+        subscriber(kubernetesClient.persistentVolumeClaims().inAnyNamespace())),
       () -> subscriber(kubernetesClient.persistentVolumeClaims()
         .inNamespace(kubernetesClient.getConfiguration().getNamespace()))
     );
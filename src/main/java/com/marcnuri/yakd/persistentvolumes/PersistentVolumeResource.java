@@ -17,6 +17,7 @@
  */
 package com.marcnuri.yakd.persistentvolumes;
 
+import com.marcnuri.yakd.watch.WatchService;
 import io.fabric8.kubernetes.api.model.PersistentVolume;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 import io.quarkus.vertx.http.Compressed;
@@ -29,6 +30,7 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -39,17 +41,20 @@ import java.util.List;
 public class PersistentVolumeResource {
 
   private final PersistentVolumeService persistentVolumeService;
+  private final WatchService watchService;
 
   @Inject
-  public PersistentVolumeResource(PersistentVolumeService persistentVolumeService) {
+  public PersistentVolumeResource(PersistentVolumeService persistentVolumeService, WatchService watchService) {
     this.persistentVolumeService = persistentVolumeService;
+    this.watchService = watchService;
   }
 
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   @Compressed
-  public List<PersistentVolume> get() {
-    return persistentVolumeService.get();
+  public List<PersistentVolume> get(
+    @QueryParam("resourceVersion") String resourceVersion, @QueryParam("live") boolean live) {
+    return watchService.list(PersistentVolume.class, resourceVersion, live, persistentVolumeService::get);
   }
 
   @DELETE
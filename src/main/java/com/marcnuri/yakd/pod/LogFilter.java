@@ -0,0 +1,277 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 22:55
+ */
+package com.marcnuri.yakd.pod;
+
+import io.smallrye.mutiny.Multi;
+import jakarta.ws.rs.BadRequestException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Include and exclude (literal or regex) filters for log streams, applied before the lines are emitted.
+ *
+ * <p> A line is emitted if it matches any of the include filters (or there are none) and none of the exclude
+ * filters. Like grep, up to {@code context} lines before and after each matching line are emitted too, non-contiguous
+ * groups of lines are separated by {@link #SEPARATOR}.
+ *
+ * <p> Filters match the message of the line, the RFC 3339 timestamp prefix added by the API server (if any) is
+ * skipped, so anchored regexes (e.g. {@code ^ERROR}) work as expected.
+ *
+ * <p> Each stream gets its own {@link Scanner}, regex matchers are reused for every line and rejected lines don't
+ * allocate.
+ *
+ * <p> Regular expressions are user provided, their length is limited to {@link #MAX_REGEX_LENGTH} and each match is
+ * limited to {@link #MAX_MATCH_STEPS} character reads so that catastrophic backtracking can't stall the stream. A
+ * regex that exceeds the limit for a line doesn't match it (the line isn't included, nor excluded, by that regex).
+ */
+public final class LogFilter {
+
+  public static final String SEPARATOR = "--";
+  public static final int MAX_CONTEXT = 100;
+  public static final int MAX_REGEX_LENGTH = 256;
+  public static final int MAX_MATCH_STEPS = 1_000_000;
+  public static final LogFilter NONE = new LogFilter(List.of(), List.of(), List.of(), List.of(), 0);
+
+  private final List<String> includes;
+  private final List<String> excludes;
+  private final List<Pattern> includePatterns;
+  private final List<Pattern> excludePatterns;
+  private final int context;
+
+  private LogFilter(
+    List<String> includes, List<String> excludes, List<Pattern> includePatterns, List<Pattern> excludePatterns,
+    int context) {
+    this.includes = includes;
+    this.excludes = excludes;
+    this.includePatterns = includePatterns;
+    this.excludePatterns = excludePatterns;
+    this.context = context;
+  }
+
+  /**
+   * Creates a filter from the request parameters, null or empty values are ignored.
+   *
+   * @throws BadRequestException if any of the regular expressions is invalid or too long, or the context is out of
+   *   bounds.
+   */
+  public static LogFilter of(
+    List<String> includes, List<String> excludes, List<String> includeRegexes, List<String> excludeRegexes,
+    int context) {
+    if (context < 0 || context > MAX_CONTEXT) {
+      throw new BadRequestException("Context lines must be between 0 and " + MAX_CONTEXT);
+    }
+    final var filter = new LogFilter(nonEmpty(includes), nonEmpty(excludes),
+      nonEmpty(includeRegexes).stream().map(LogFilter::compile).toList(),
+      nonEmpty(excludeRegexes).stream().map(LogFilter::compile).toList(), context);
+    return filter.isEmpty() ? NONE : filter;
+  }
+
+  private static List<String> nonEmpty(List<String> values) {
+    return values == null ? List.of() : values.stream().filter(v -> v != null && !v.isEmpty()).toList();
+  }
+
+  private static Pattern compile(String regex) {
+    if (regex.length() > MAX_REGEX_LENGTH) {
+      throw new BadRequestException("Log filter regular expressions must be at most " + MAX_REGEX_LENGTH
+        + " characters long");
+    }
+    try {
+      return Pattern.compile(regex);
+    } catch (PatternSyntaxException e) {
+      throw new BadRequestException("Invalid log filter regular expression: " + e.getDescription());
+    }
+  }
+
+  public boolean isEmpty() {
+    return includes.isEmpty() && excludes.isEmpty() && includePatterns.isEmpty() && excludePatterns.isEmpty();
+  }
+
+  /**
+   * Filters the lines of a log stream (the filter state is kept per subscription).
+   */
+  public Multi<String> apply(Multi<String> lines) {
+    if (isEmpty()) {
+      return lines;
+    }
+    return Multi.createFrom().deferred(() -> {
+      final var scanner = new Scanner();
+      return lines.onItem().transformToIterable(scanner::accept);
+    });
+  }
+
+  Scanner scanner() {
+    return new Scanner();
+  }
+
+  /**
+   * Stateful (context lines) matcher for a single log stream, not thread-safe.
+   */
+  final class Scanner {
+
+    private final List<Matcher> includeMatchers;
+    private final List<Matcher> excludeMatchers;
+    private final BoundedLine boundedLine;
+    private final ArrayDeque<String> before;
+    private int after;
+    // Lines have been dropped since the last emitted line
+    private boolean gap;
+    private boolean emitted;
+
+    private Scanner() {
+      includeMatchers = includePatterns.stream().map(p -> p.matcher("")).toList();
+      excludeMatchers = excludePatterns.stream().map(p -> p.matcher("")).toList();
+      boundedLine = new BoundedLine();
+      before = new ArrayDeque<>(context);
+    }
+
+    /**
+     * @return the lines to emit for the provided line (none, the line itself, or the line and its context).
+     */
+    List<String> accept(String line) {
+      if (matches(line)) {
+        if (context == 0) {
+          return List.of(line);
+        }
+        final var lines = new ArrayList<String>(before.size() + 2);
+        if (gap && emitted) {
+          lines.add(SEPARATOR);
+        }
+        lines.addAll(before);
+        lines.add(line);
+        before.clear();
+        after = context;
+        gap = false;
+        emitted = true;
+        return lines;
+      }
+      if (after > 0) {
+        after--;
+        return List.of(line);
+      }
+      if (context > 0) {
+        before.addLast(line);
+        if (before.size() > context) {
+          before.removeFirst();
+          gap = true;
+        }
+      }
+      return List.of();
+    }
+
+    private boolean matches(String line) {
+      final var message = messageStart(line);
+      for (var exclude : excludes) {
+        if (line.indexOf(exclude, message) >= 0) {
+          return false;
+        }
+      }
+      for (var exclude : excludeMatchers) {
+        if (find(exclude, line, message)) {
+          return false;
+        }
+      }
+      if (includes.isEmpty() && includeMatchers.isEmpty()) {
+        return true;
+      }
+      for (var include : includes) {
+        if (line.indexOf(include, message) >= 0) {
+          return true;
+        }
+      }
+      for (var include : includeMatchers) {
+        if (find(include, line, message)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private boolean find(Matcher matcher, String line, int message) {
+      try {
+        // Anchoring bounds (default), ^ matches the start of the message
+        return matcher.reset(boundedLine.reset(line)).region(message, line.length()).find();
+      } catch (MatchStepsExceededException e) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Returns the index of the message in the line, after its timestamp (e.g. {@code 2026-10-18T10:00:00.123Z msg}).
+   */
+  static int messageStart(String line) {
+    final var separator = line.indexOf(' ');
+    if (separator >= 20 && line.charAt(4) == '-' && line.charAt(7) == '-' && line.charAt(10) == 'T'
+      && Character.isDigit(line.charAt(0))) {
+      return separator + 1;
+    }
+    return 0;
+  }
+
+  /**
+   * A line that can only be read {@link #MAX_MATCH_STEPS} times (character reads) until it's reset.
+   */
+  private static final class BoundedLine implements CharSequence {
+
+    private String line = "";
+    private int steps;
+
+    private BoundedLine reset(String line) {
+      this.line = line;
+      steps = 0;
+      return this;
+    }
+
+    @Override
+    public int length() {
+      return line.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (++steps > MAX_MATCH_STEPS) {
+        throw MatchStepsExceededException.INSTANCE;
+      }
+      return line.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return line.subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+      return line;
+    }
+  }
+
+  private static final class MatchStepsExceededException extends RuntimeException {
+
+    private static final MatchStepsExceededException INSTANCE = new MatchStepsExceededException();
+
+    private MatchStepsExceededException() {
+      super("Log filter regular expression match steps exceeded", null, false, false);
+    }
+  }
+}
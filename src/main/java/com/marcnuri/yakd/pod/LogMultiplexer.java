@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 22:35
+ */
+package com.marcnuri.yakd.pod;
+
+import io.smallrye.mutiny.Multi;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares a single upstream follow of each container log among all of its viewers, see {@link SharedLog}.
+ *
+ * <p> Only tail requests that fit in the shared buffer are multiplexed, other requests (complete log, since,
+ * byte limits) get a dedicated upstream stream. A shared log is opened with the tail of its first viewer, later
+ * viewers whose tail it doesn't serve ({@link SharedLog#serves(int)}) get a dedicated upstream stream too.
+ */
+@Singleton
+public class LogMultiplexer {
+
+  private final PodService podService;
+  private final int bufferLines;
+  private final Map<Key, SharedLog> sharedLogs;
+
+  @Inject
+  public LogMultiplexer(
+    PodService podService,
+    @ConfigProperty(name = "yakd.pod.logs.shared.buffer-lines", defaultValue = "1000") int bufferLines) {
+    this.podService = podService;
+    this.bufferLines = bufferLines;
+    sharedLogs = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Follows the log lines of the container.
+   *
+   * @see PodService#getPodContainerLog(String, String, String, Integer, Integer, Integer)
+   */
+  public Multi<String> follow(
+    String container, String name, String namespace, Integer tailLines, Integer sinceSeconds, Integer limitBytes) {
+    if (tailLines == null || tailLines > bufferLines || sinceSeconds != null || limitBytes != null) {
+      return podService.getPodContainerLog(container, name, namespace, tailLines, sinceSeconds, limitBytes);
+    }
+    final var key = new Key(namespace, name, container);
+    return Multi.createFrom().deferred(() -> {
+      final var viewer = new LogViewer[1];
+      final var created = new SharedLog[1];
+      sharedLogs.compute(key, (k, sharedLog) -> {
+        if (sharedLog != null) {
+          if (!sharedLog.serves(tailLines)) {
+            return sharedLog;
+          }
+          viewer[0] = new LogViewer(sharedLog);
+          if (sharedLog.add(viewer[0], tailLines)) {
+            return sharedLog;
+          }
+        }
+        created[0] = new SharedLog(
+          podService.getPodContainerLog(container, name, namespace, tailLines, null, null), tailLines, bufferLines,
+          released -> sharedLogs.remove(key, released));
+        viewer[0] = new LogViewer(created[0]);
+        created[0].add(viewer[0], tailLines);
+        return created[0];
+      });
+      if (viewer[0] == null) {
+        return podService.getPodContainerLog(container, name, namespace, tailLines, null, null);
+      }
+      // Subscribed outside the map (bin) lock
+      if (created[0] != null) {
+        created[0].start();
+      }
+      return Multi.createFrom().publisher(viewer[0]);
+    });
+  }
+
+  int size() {
+    return sharedLogs.size();
+  }
+
+  private record Key(String namespace, String name, String container) {
+  }
+}
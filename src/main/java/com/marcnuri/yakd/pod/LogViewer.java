@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 22:25
+ */
+package com.marcnuri.yakd.pod;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A viewer of a {@link SharedLog}, emits the shared lines from its own position as requested by its subscriber.
+ */
+final class LogViewer implements Flow.Publisher<String>, Flow.Subscription {
+
+  private final SharedLog sharedLog;
+  private final AtomicLong requested;
+  private final AtomicInteger wip;
+  // Position of the next line to emit, guarded by the shared log lock
+  long position;
+  private volatile Flow.Subscriber<? super String> downstream;
+  private volatile boolean cancelled;
+
+  LogViewer(SharedLog sharedLog) {
+    this.sharedLog = sharedLog;
+    requested = new AtomicLong();
+    wip = new AtomicInteger();
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super String> subscriber) {
+    if (downstream != null) {
+      subscriber.onSubscribe(this);
+      subscriber.onError(new IllegalStateException("LogViewer allows only a single subscriber"));
+      return;
+    }
+    downstream = subscriber;
+    subscriber.onSubscribe(this);
+    drain();
+  }
+
+  @Override
+  public void request(long n) {
+    if (n <= 0) {
+      cancel();
+      downstream.onError(new IllegalArgumentException("Requested items must be greater than zero (Rule 3.9)"));
+      return;
+    }
+    requested.accumulateAndGet(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+    drain();
+  }
+
+  @Override
+  public void cancel() {
+    if (!cancelled) {
+      cancelled = true;
+      sharedLog.remove(this);
+    }
+  }
+
+  /**
+   * Emits the pending lines, as many as requested by the downstream subscriber, and the termination of the shared
+   * log once every line has been emitted.
+   */
+  void drain() {
+    if (wip.getAndIncrement() != 0) {
+      return;
+    }
+    int missed = 1;
+    do {
+      final var subscriber = downstream;
+      // Read the termination before the lines, the shared log terminates only after its last line
+      final var terminated = sharedLog.isTerminated();
+      while (subscriber != null && !cancelled && requested.get() > 0) {
+        final var next = sharedLog.next(this);
+        if (next == null) {
+          break;
+        }
+        if (requested.get() != Long.MAX_VALUE) {
+          requested.decrementAndGet();
+        }
+        subscriber.onNext(next);
+      }
+      if (subscriber != null && !cancelled && terminated && !sharedLog.hasNext(this)) {
+        cancel();
+        if (sharedLog.getFailure() != null) {
+          subscriber.onError(sharedLog.getFailure());
+        } else {
+          subscriber.onComplete();
+        }
+      }
+      missed = wip.addAndGet(-missed);
+    } while (missed != 0);
+  }
+}
@@ -18,7 +18,10 @@
 package com.marcnuri.yakd.pod;
 
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.http.WebSocket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import jakarta.websocket.CloseReason;
@@ -33,12 +36,9 @@ import jakarta.ws.rs.core.UriBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.ByteBuffer;
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 @ServerEndpoint("/api/v1/pods/{namespace}/{name}/exec/{container}")
@@ -61,12 +61,29 @@ public class PodExecEndpoint {
   private static final Logger LOG = LoggerFactory.getLogger(PodExecEndpoint.class);
 
   private final KubernetesClient kubernetesClient;
-  private final Map<String, CompletableFuture<WebSocket>> activeSessions;
+  private final Map<String, PodExecSession> activeSessions;
+  private final PodExecSession.Metrics metrics;
 
   @Inject
-  public PodExecEndpoint(KubernetesClient kubernetesClient) {
+  public PodExecEndpoint(KubernetesClient kubernetesClient, MeterRegistry meterRegistry) {
     this.kubernetesClient = kubernetesClient;
     this.activeSessions = new ConcurrentHashMap<>();
+    metrics = new PodExecSession.Metrics(
+      Counter.builder("yakd.pod.exec.bytes").tag("stream", "stdin").baseUnit("bytes")
+        .description("Bytes sent to the exec session containers").register(meterRegistry),
+      Counter.builder("yakd.pod.exec.bytes").tag("stream", "stdout").baseUnit("bytes")
+        .description("Bytes sent to the exec session browsers").register(meterRegistry),
+      DistributionSummary.builder("yakd.pod.exec.session.throughput").baseUnit("bytes/s")
+        .description("Average throughput of closed exec sessions").register(meterRegistry)
+    );
+    Gauge.builder("yakd.pod.exec.sessions", activeSessions, Map::size)
+      .description("Active exec sessions").register(meterRegistry);
+    Gauge.builder("yakd.pod.exec.buffered.bytes", activeSessions,
+        s -> s.values().stream().mapToLong(PodExecSession::getBufferedBytes).sum())
+      .baseUnit("bytes").description("Bytes buffered across all exec sessions").register(meterRegistry);
+    Gauge.builder("yakd.pod.exec.buffered.bytes.max", activeSessions,
+        s -> s.values().stream().mapToLong(PodExecSession::getBufferedBytes).max().orElse(0))
+      .baseUnit("bytes").description("Bytes buffered for the slowest exec session").register(meterRegistry);
   }
 
   @OnOpen
@@ -82,41 +99,22 @@ public class PodExecEndpoint {
       .queryParam("stderr", true)
       .queryParam("tty", true)
       .build();
-    final var webSocketFuture = kubernetesClient.getHttpClient().newWebSocketBuilder()
+    final var execSession = new PodExecSession(session, metrics);
+    execSession.connect(kubernetesClient.getHttpClient().newWebSocketBuilder()
       .uri(uri)
       .subprotocol("v4.channel.k8s.io")
-      .buildAsync(new PodExecWebSocketListener(session))
-      .exceptionally(throwable -> {
-        try {
-          session.close(new CloseReason(CloseReason.CloseCodes.UNEXPECTED_CONDITION, throwable.getMessage()));
-        } catch (IOException ex) {
-          LOG.error("Error closing session {}", session.getId(), ex);
-        }
-        return null;
-      });
-    activeSessions.put(session.getId(), webSocketFuture);
+      .buildAsync(execSession));
+    activeSessions.put(session.getId(), execSession);
   }
 
   @OnMessage
   public void onMessage(Session session, String text) {
-    final var ws = activeSessions.get(session.getId()).getNow(null);
-    if (ws == null) {
-      return;
-    }
-    byte[] commandBytes = text.getBytes(StandardCharsets.UTF_8);
-    byte[] toSend = new byte[commandBytes.length + 1];
-    toSend[0] = (byte) StandardStream.STDIN.getStandardStreamCode();
-    System.arraycopy(commandBytes, 0, toSend, 1, commandBytes.length);
-    ws.send(ByteBuffer.wrap(toSend));
+    activeSessions.get(session.getId()).stdin(text);
   }
 
   @OnMessage
   public void onMessage(Session session, ByteBuffer byteBuffer) {
-    final var ws = activeSessions.get(session.getId()).getNow(null);
-    if (ws == null) {
-      return;
-    }
-    ws.send(byteBuffer);
+    activeSessions.get(session.getId()).stdin(byteBuffer);
   }
 
   @OnError
@@ -126,49 +124,9 @@ public class PodExecEndpoint {
 
   @OnClose
   public void onClose(Session session, CloseReason reason) {
-    final var as = activeSessions.get(session.getId());
-    if (as.isDone()) {
-      as.getNow(null).sendClose(reason.getCloseCode().getCode(), reason.getReasonPhrase());
-    } else {
-      as.cancel(true);
-    }
-    activeSessions.remove(session.getId());
-  }
-
-  private record PodExecWebSocketListener(Session session) implements WebSocket.Listener {
-    @Override
-    public void onOpen(WebSocket webSocket) {
-      WebSocket.Listener.super.onOpen(webSocket);
-      webSocket.request();
-    }
-
-    @Override
-    public void onMessage(WebSocket webSocket, String text) {
-      session.getAsyncRemote().sendText(text);
-      webSocket.request();
-    }
-
-    @Override
-    public void onMessage(WebSocket webSocket, ByteBuffer bytes) {
-      session.getAsyncRemote().sendBinary(bytes);
-      webSocket.request();
-    }
-
-    @Override
-    public void onClose(WebSocket webSocket, int code, String reason) {
-      try {
-        session.close(new CloseReason(CloseReason.CloseCodes.getCloseCode(code), reason));
-      } catch (IOException ignore) {
-      }
-    }
-
-    @Override
-    public void onError(WebSocket webSocket, Throwable error) {
-      try {
-        webSocket.sendClose(CloseReason.CloseCodes.CLOSED_ABNORMALLY.getCode(), error.getMessage());
-        session.close(new CloseReason(CloseReason.CloseCodes.CLOSED_ABNORMALLY, error.getMessage()));
-      } catch (IOException ignore) {
-      }
+    final var execSession = activeSessions.remove(session.getId());
+    if (execSession != null) {
+      execSession.close(reason);
     }
   }
 
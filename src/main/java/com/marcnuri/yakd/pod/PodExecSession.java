@@ -0,0 +1,177 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 21:55
+ */
+package com.marcnuri.yakd.pod;
+
+import io.fabric8.kubernetes.client.http.WebSocket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Bridge between a browser exec WebSocket session and the upstream Kubernetes exec WebSocket.
+ *
+ * <p> Upstream (stdout/stderr) frames are pulled one at a time, the next one is requested only once the
+ * browser send completes. A slow browser slows the upstream down (TCP backpressure to the container) instead
+ * of buffering the output in the server, so the buffered bytes per session are bounded by a single frame plus
+ * the stdin frames queued by the client. A failed browser send closes both the session and the upstream.
+ */
+final class PodExecSession implements WebSocket.Listener {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PodExecSession.class);
+
+  private final Session session;
+  private final Metrics metrics;
+  private final StdinEncoder stdinEncoder;
+  private final long openedNanos;
+  private final AtomicLong inFlightBytes;
+  private final AtomicLong transferredBytes;
+  private volatile CompletableFuture<WebSocket> upstream;
+
+  PodExecSession(Session session, Metrics metrics) {
+    this.session = session;
+    this.metrics = metrics;
+    stdinEncoder = new StdinEncoder();
+    openedNanos = System.nanoTime();
+    inFlightBytes = new AtomicLong();
+    transferredBytes = new AtomicLong();
+  }
+
+  void connect(CompletableFuture<WebSocket> upstream) {
+    this.upstream = upstream.exceptionally(throwable -> {
+      try {
+        session.close(new CloseReason(CloseReason.CloseCodes.UNEXPECTED_CONDITION, throwable.getMessage()));
+      } catch (IOException ex) {
+        LOG.error("Error closing session {}", session.getId(), ex);
+      }
+      return null;
+    });
+  }
+
+  void stdin(String text) {
+    final var ws = upstream.getNow(null);
+    if (ws == null) {
+      return;
+    }
+    send(ws, stdinEncoder.encode(text));
+    // The client might still be reading the frame (queued), don't overwrite it with the next one
+    if (ws.queueSize() > 0) {
+      stdinEncoder.detach();
+    }
+  }
+
+  void stdin(ByteBuffer bytes) {
+    final var ws = upstream.getNow(null);
+    if (ws == null) {
+      return;
+    }
+    send(ws, bytes);
+  }
+
+  private void send(WebSocket ws, ByteBuffer frame) {
+    final var size = frame.remaining();
+    ws.send(frame);
+    metrics.stdin().increment(size);
+    transferredBytes.addAndGet(size);
+  }
+
+  /**
+   * @return the bytes accepted by the bridge but not yet written, in both directions.
+   */
+  long getBufferedBytes() {
+    final CompletableFuture<WebSocket> connection = upstream;
+    final WebSocket ws = connection == null ? null : connection.getNow(null);
+    return inFlightBytes.get() + (ws == null ? 0 : ws.queueSize());
+  }
+
+  void close(CloseReason reason) {
+    if (upstream.isDone()) {
+      final var ws = upstream.getNow(null);
+      if (ws != null) {
+        ws.sendClose(reason.getCloseCode().getCode(), reason.getReasonPhrase());
+      }
+    } else {
+      upstream.cancel(true);
+    }
+    final var seconds = (System.nanoTime() - openedNanos) / 1_000_000_000D;
+    if (seconds > 0) {
+      metrics.throughput().record(transferredBytes.get() / seconds);
+    }
+  }
+
+  @Override
+  public void onOpen(WebSocket webSocket) {
+    WebSocket.Listener.super.onOpen(webSocket);
+    webSocket.request();
+  }
+
+  @Override
+  public void onMessage(WebSocket webSocket, String text) {
+    forward(webSocket, text.length(), (remote, handler) -> remote.sendText(text, handler));
+  }
+
+  @Override
+  public void onMessage(WebSocket webSocket, ByteBuffer bytes) {
+    forward(webSocket, bytes.remaining(), (remote, handler) -> remote.sendBinary(bytes, handler));
+  }
+
+  private void forward(WebSocket webSocket, int size, BiConsumer<RemoteEndpoint.Async, SendHandler> send) {
+    inFlightBytes.set(size);
+    send.accept(session.getAsyncRemote(), result -> {
+      inFlightBytes.set(0);
+      if (result.isOK()) {
+        metrics.stdout().increment(size);
+        transferredBytes.addAndGet(size);
+        webSocket.request();
+      } else {
+        // Stop pulling and close both ends, the browser is gone or the connection is broken
+        LOG.debug("Error sending exec output to session {}", session.getId(), result.getException());
+        onError(webSocket, result.getException());
+      }
+    });
+  }
+
+  @Override
+  public void onClose(WebSocket webSocket, int code, String reason) {
+    try {
+      session.close(new CloseReason(CloseReason.CloseCodes.getCloseCode(code), reason));
+    } catch (IOException ignore) {
+    }
+  }
+
+  @Override
+  public void onError(WebSocket webSocket, Throwable error) {
+    try {
+      webSocket.sendClose(CloseReason.CloseCodes.CLOSED_ABNORMALLY.getCode(), error.getMessage());
+      session.close(new CloseReason(CloseReason.CloseCodes.CLOSED_ABNORMALLY, error.getMessage()));
+    } catch (IOException ignore) {
+    }
+  }
+
+  record Metrics(Counter stdin, Counter stdout, DistributionSummary throughput) {}
+}
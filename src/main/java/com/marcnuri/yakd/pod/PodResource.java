@@ -17,46 +17,111 @@
  */
 package com.marcnuri.yakd.pod;
 
+import com.marcnuri.yakd.Batcher;
+import com.marcnuri.yakd.watch.IndexQuery;
+import com.marcnuri.yakd.watch.WatchService;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetrics;
 import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.quarkus.vertx.http.Compressed;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerResponse;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.sse.Sse;
 import jakarta.ws.rs.sse.SseEventSink;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.resteasy.reactive.RestMulti;
 import org.jboss.resteasy.reactive.RestStreamElementType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.marcnuri.yakd.KubernetesDashboardConfiguration.POD_LOG_EXECUTOR_SERVICE;
+import static com.marcnuri.yakd.KubernetesDashboardConfiguration.WATCH_EXECUTOR_SERVICE;
+
 @Singleton
 @RegisterForReflection // Quarkus doesn't generate constructors for JAX-RS Subresources
 public class PodResource {
 
   private static final Logger LOG = LoggerFactory.getLogger(PodResource.class);
+  // Max number of log lines written to the SSE sink pending completion
+  private static final int IN_FLIGHT_LINES = 64;
 
   private final PodService podService;
+  private final LogMultiplexer logMultiplexer;
+  private final WatchService watchService;
+  private final ScheduledExecutorService scheduler;
+  private final ExecutorService logExecutor;
+  private final int batchMaxLines;
+  private final Duration batchMaxDelay;
 
   @Inject
-  public PodResource(PodService podService) {
+  public PodResource(
+    PodService podService, LogMultiplexer logMultiplexer, WatchService watchService,
+    @Named(WATCH_EXECUTOR_SERVICE) ScheduledExecutorService scheduler,
+    @Named(POD_LOG_EXECUTOR_SERVICE) ExecutorService logExecutor,
+    @ConfigProperty(name = "yakd.pod.logs.batch.max-lines", defaultValue = "500") int batchMaxLines,
+    @ConfigProperty(name = "yakd.pod.logs.batch.max-delay", defaultValue = "50ms") Duration batchMaxDelay) {
     this.podService = podService;
+    this.logMultiplexer = logMultiplexer;
+    this.watchService = watchService;
+    this.scheduler = scheduler;
+    this.logExecutor = logExecutor;
+    this.batchMaxLines = batchMaxLines;
+    this.batchMaxDelay = batchMaxDelay;
+  }
+
+  /**
+   * Lists the Pods matching the provided (optional) filters, served from the watch cache indexes when synced.
+   *
+   * @param labelSelector comma-separated {@code key=value} label equality requirements.
+   */
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  public List<Pod> list(
+    @QueryParam("namespace") String namespace, @QueryParam("ownerUid") String ownerUid,
+    @QueryParam("nodeName") String nodeName, @QueryParam("labelSelector") String labelSelector,
+    @QueryParam("resourceVersion") String resourceVersion, @QueryParam("live") boolean live) {
+    final IndexQuery query;
+    try {
+      query = IndexQuery.of(namespace, ownerUid, nodeName, labelSelector);
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException(e.getMessage());
+    }
+    return watchService.list(Pod.class, query, resourceVersion, live, () -> podService.list(query));
   }
 
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   @Path("/{namespace}/{name}")
-  public Pod get(@PathParam("namespace") String namespace, @PathParam("name") String name) {
-    return podService.getPod(name, namespace);
+  public Pod get(
+    @PathParam("namespace") String namespace, @PathParam("name") String name,
+    @QueryParam("resourceVersion") String resourceVersion, @QueryParam("live") boolean live) {
+    return watchService.get(Pod.class, namespace, name, resourceVersion, live, () -> podService.getPod(name, namespace));
   }
 
   @GET
@@ -87,21 +152,87 @@ public class PodResource {
   @Path("/{namespace}/{name}/logs/{container}")
   public void getLogs(
     @Context HttpServerResponse response, @Context Sse sse, @Context SseEventSink sseEventSink,
-    @PathParam("namespace") String namespace, @PathParam("name") String name, @PathParam("container") String container) {
+    @PathParam("namespace") String namespace, @PathParam("name") String name, @PathParam("container") String container,
+    @QueryParam("tailLines") Integer tailLines, @QueryParam("sinceSeconds") Integer sinceSeconds,
+    @QueryParam("limitBytes") Integer limitBytes,
+    @QueryParam("include") List<String> include, @QueryParam("exclude") List<String> exclude,
+    @QueryParam("includeRegex") List<String> includeRegex, @QueryParam("excludeRegex") List<String> excludeRegex,
+    @QueryParam("context") @DefaultValue("0") int context) {
 
-    podService.getPodContainerLog(container, name, namespace)
+    final var filter = LogFilter.of(include, exclude, includeRegex, excludeRegex, context);
+    final var subscriptionRef = new AtomicReference<Flow.Subscription>();
+    // Each frame carries up to batchMaxLines lines (newline-separated data, split again by the client)
+    final var batcher = new Batcher<String>(batchMaxLines, batchMaxDelay, scheduler, logExecutor, lines ->
+      // Request more lines only once the previous ones have been written (reads pause while the client is slow)
+      sseEventSink.send(sse.newEventBuilder()
+          .mediaType(MediaType.TEXT_PLAIN_TYPE).data(String.join("\n", lines)).build())
+        .whenComplete((v, ex) -> {
+          if (ex == null) {
+            subscriptionRef.get().request(lines.size());
+          } else {
+            subscriptionRef.get().cancel();
+          }
+        }));
+    // Viewers of the same container log tail share a single upstream follow
+    logMultiplexer.follow(container, name, namespace, tailLines, sinceSeconds, limitBytes)
+      // Filtered per viewer, lines are only written if they match
+      .plug(filter::apply)
       .subscribe()
       .with(
         subscription -> {
-          response.closeHandler(v -> subscription.cancel());
-          subscription.request(Long.MAX_VALUE);
+          subscriptionRef.set(subscription);
+          response.closeHandler(v -> {
+            subscription.cancel();
+            batcher.close();
+          });
+          // A full batch must fit in flight, otherwise batches would only be flushed by the timer
+          subscription.request(Math.max(IN_FLIGHT_LINES, batchMaxLines));
+        },
+        batcher::add,
+        throwable -> {
+          // Send the pending lines before closing the stream, the client reconnects
+          batcher.flush();
+          batcher.close();
+          LOG.warn("Pod ({} - {}) log subscription closed: {}", namespace, name, throwable.getMessage());
+          sseEventSink.close();
         },
-        logEntry -> sseEventSink.send(sse.newEvent(logEntry)),
-        throwable -> LOG.warn("Pod ({} - {}) log subscription closed: {}", namespace, name, throwable.getMessage()),
-        () -> sseEventSink.send(sse.newEvent("log-complete", ""))
+        () -> {
+          batcher.flush();
+          batcher.close();
+          sseEventSink.send(sse.newEvent("log-complete", ""));
+        }
       );
   }
 
+  /**
+   * Downloads the complete container log as is (gzip encoded), memory usage doesn't depend on the log size.
+   *
+   * @param previous the log of the previous (terminated) instance of the container.
+   * @param sinceTime only the log since this RFC 3339 timestamp.
+   * @param limitBytes the max number of bytes of the log to download.
+   */
+  @GET
+  @Produces(MediaType.TEXT_PLAIN)
+  @Compressed
+  @Path("/{namespace}/{name}/logs/{container}/download")
+  public RestMulti<Buffer> downloadLogs(
+    @PathParam("namespace") String namespace, @PathParam("name") String name, @PathParam("container") String container,
+    @QueryParam("previous") boolean previous, @QueryParam("sinceTime") String sinceTime,
+    @QueryParam("limitBytes") Integer limitBytes) {
+    if (sinceTime != null) {
+      try {
+        OffsetDateTime.parse(sinceTime);
+      } catch (DateTimeParseException e) {
+        throw new BadRequestException("sinceTime must be an RFC 3339 timestamp: " + sinceTime);
+      }
+    }
+    final var fileName = name + "-" + container + (previous ? "-previous" : "") + ".log";
+    return RestMulti.fromMultiData(
+        podService.getPodContainerLogChunks(container, name, namespace, previous, sinceTime, limitBytes))
+      .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+      .build();
+  }
+
 //  @GET
 //  @Produces(MediaType.SERVER_SENT_EVENTS)
 //  @RestStreamElementType(MediaType.APPLICATION_JSON)
@@ -17,47 +17,95 @@
  */
 package com.marcnuri.yakd.pod;
 
+import com.marcnuri.yakd.watch.ApiAvailability;
+import com.marcnuri.yakd.watch.IndexQuery;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodList;
 import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetrics;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.BytesLimitTerminateTimeTailPrettyLoggable;
+import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
 import io.fabric8.kubernetes.client.dsl.Loggable;
+import io.fabric8.kubernetes.client.dsl.LogWatch;
+import io.fabric8.kubernetes.client.dsl.PodResource;
+import io.fabric8.kubernetes.client.dsl.PrettyLoggable;
+import io.fabric8.kubernetes.client.dsl.TailPrettyLoggable;
+import io.fabric8.kubernetes.client.dsl.TimeTailPrettyLoggable;
 import io.smallrye.mutiny.Multi;
-import io.smallrye.mutiny.subscription.MultiEmitter;
+import io.vertx.core.buffer.Buffer;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 
 import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.function.Consumer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
+import static com.marcnuri.yakd.KubernetesDashboardConfiguration.POD_LOG_EXECUTOR_SERVICE;
 import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 
 @Singleton
 public class PodService implements Watchable<Pod> {
 
+  private static final int LOG_CHUNK_SIZE = 64 * 1024;
+
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
+  private final ExecutorService logExecutor;
 
   @Inject
-  public PodService(KubernetesClient kubernetesClient) {
+  public PodService(
+    KubernetesClient kubernetesClient, ApiAvailability apiAvailability,
+    @Named(POD_LOG_EXECUTOR_SERVICE) ExecutorService logExecutor) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
+    this.logExecutor = logExecutor;
   }
 
   @Override
   public Subscriber<Pod> watch() {
     return tryInOrder(
-      () -> {
-        kubernetesClient.pods().inAnyNamespace().list(LIMIT_1);
-        return subscriber(kubernetesClient.pods().inAnyNamespace());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.pods().inAnyNamespace().list(LIMIT_1),
+        subscriber(kubernetesClient.pods().inAnyNamespace())),
       () -> subscriber(kubernetesClient.pods().inNamespace(kubernetesClient.getConfiguration().getNamespace()))
     );
   }
 
+  /**
+   * Lists the Pods narrowed (server-side) by the query namespace, node name and labels.
+   *
+   * <p> Other terms (owner uid) aren't supported by the API server and must be checked by the caller.
+   */
+  public List<Pod> list(IndexQuery query) {
+    final var namespace = query.get(IndexQuery.NAMESPACE);
+    return tryInOrder(
+      () -> narrow(namespace.isPresent() ?
+        kubernetesClient.pods().inNamespace(namespace.get()) : kubernetesClient.pods().inAnyNamespace(), query),
+      () -> narrow(kubernetesClient.pods().inNamespace(kubernetesClient.getConfiguration().getNamespace()), query)
+    );
+  }
+
+  private static List<Pod> narrow(FilterWatchListDeletable<Pod, PodList, PodResource> pods, IndexQuery query) {
+    var filtered = pods.withLabels(query.labels());
+    final var nodeName = query.get(IndexQuery.NODE_NAME);
+    if (nodeName.isPresent()) {
+      filtered = filtered.withField("spec.nodeName", nodeName.get());
+    }
+    return filtered.list().getItems();
+  }
+
   public Pod getPod(String name, String namespace) {
     return kubernetesClient.pods().inNamespace(namespace).withName(name).get();
   }
@@ -76,36 +124,73 @@ public class PodService implements Watchable<Pod> {
       .update();
   }
 
-  public Multi<String> getPodContainerLog(String container, String name, String namespace) {
-    final var loggable = kubernetesClient.pods().inNamespace(namespace).withName(name).inContainer(container)
-      .usingTimestamps().withPrettyOutput();
-    return Multi.createFrom().emitter(new LogReader(loggable));
+  /**
+   * Streams (follows) the log lines of the container.
+   *
+   * <p> Lines are read on demand: the (blocking) reads run on a virtual thread and only when the subscriber requests
+   * more lines, so a slow consumer stops the reads from the API server instead of buffering the log in memory.
+   *
+   * @param tailLines the number of lines from the end of the log to start from, or null for the complete log.
+   * @param sinceSeconds only the lines logged within these last seconds, or null for the complete log.
+   * @param limitBytes the max number of bytes to read from the API server, or null for no limit.
+   */
+  public Multi<String> getPodContainerLog(
+    String container, String name, String namespace, Integer tailLines, Integer sinceSeconds, Integer limitBytes) {
+    final var timestamps = kubernetesClient.pods().inNamespace(namespace).withName(name).inContainer(container)
+      .usingTimestamps();
+    final TimeTailPrettyLoggable timeTail = limitBytes == null ? timestamps : timestamps.limitBytes(limitBytes);
+    final TailPrettyLoggable tail = sinceSeconds == null ? timeTail : timeTail.sinceSeconds(sinceSeconds);
+    final PrettyLoggable loggable = tailLines == null ? tail : tail.tailingLines(tailLines);
+    return Multi.createFrom()
+      .resource(
+        () -> loggable.withPrettyOutput().withReadyWaitTimeout(0).watchLog(),
+        watch -> Multi.createFrom().items(() ->
+          new BufferedReader(new InputStreamReader(watch.getOutput(), StandardCharsets.UTF_8)).lines()))
+      .withFinalizer(LogWatch::close)
+      .runSubscriptionOn(logExecutor);
   }
 
-  private static final class LogReader implements Consumer<MultiEmitter<? super String>> {
-
-    private final Loggable loggable;
-
-    LogReader(Loggable loggable) {
-      this.loggable = loggable;
-    }
+  /**
+   * Reads the complete (not followed) log of the container as raw chunks, without decoding or splitting its lines.
+   *
+   * <p> Chunks are read on demand (on a virtual thread) so that memory usage doesn't depend on the log size.
+   *
+   * @param previous the log of the previous (terminated) instance of the container.
+   * @param sinceTime only the log since this RFC 3339 timestamp, or null for the complete log.
+   * @param limitBytes the max number of bytes to read from the API server, or null for no limit.
+   */
+  public Multi<Buffer> getPodContainerLogChunks(
+    String container, String name, String namespace, boolean previous, String sinceTime, Integer limitBytes) {
+    final var containerLog = kubernetesClient.pods().inNamespace(namespace).withName(name).inContainer(container);
+    final BytesLimitTerminateTimeTailPrettyLoggable terminated = previous ? containerLog.terminated() : containerLog;
+    final TimeTailPrettyLoggable limited = limitBytes == null ? terminated : terminated.limitBytes(limitBytes);
+    final Loggable loggable = sinceTime == null ? limited : limited.sinceTime(sinceTime);
+    return Multi.createFrom()
+      .resource(
+        () -> loggable.withReadyWaitTimeout(0).getLogInputStream(),
+        is -> Multi.createFrom().<InputStream, Buffer>generator(() -> is, (in, emitter) -> {
+          try {
+            final var chunk = new byte[LOG_CHUNK_SIZE];
+            final var read = in.read(chunk);
+            if (read < 0) {
+              emitter.complete();
+            } else {
+              emitter.emit(Buffer.buffer(read == chunk.length ? chunk : Arrays.copyOf(chunk, read)));
+            }
+          } catch (IOException e) {
+            emitter.fail(e);
+          }
+          return in;
+        }))
+      .withFinalizer(PodService::closeQuietly)
+      .runSubscriptionOn(logExecutor);
+  }
 
-    @Override
-    public void accept(MultiEmitter<? super String> emitter) {
-      try (
-        final var watch = loggable.withReadyWaitTimeout(0).watchLog();
-        final var is = watch.getOutput();
-        final var isr = new InputStreamReader(is);
-        final var br = new BufferedReader(isr);
-      ) {
-        String line;
-        while ((line = br.readLine()) != null && !emitter.isCancelled()) {
-          emitter.emit(line);
-        }
-        emitter.complete();
-      } catch (Exception ex) {
-        emitter.fail(ex);
-      }
+  private static void closeQuietly(InputStream inputStream) {
+    try {
+      inputStream.close();
+    } catch (IOException e) {
+      // NO-OP, the log connection is already closed
     }
   }
 }
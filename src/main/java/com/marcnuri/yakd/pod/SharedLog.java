@@ -0,0 +1,248 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 22:20
+ */
+package com.marcnuri.yakd.pod;
+
+import io.smallrye.mutiny.Multi;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/**
+ * A single upstream follow of a container log shared by all its viewers.
+ *
+ * <p> The upstream lines are kept in a bounded ring buffer (the most recent lines) which the viewers read at their
+ * own pace, new viewers start from the buffered tail. The upstream is paced by the slowest viewer: lines are only
+ * requested while every viewer has room for them in the buffer, so a slow viewer pauses the upstream reads (like a
+ * dedicated stream would) instead of missing lines.
+ *
+ * <p> The upstream starts with a backlog of (at most) its tail lines, which can't be told apart from the live lines
+ * that follow. A viewer is only served if its tail can be located: it's the upstream tail (the whole backlog) or the
+ * backlog has been completely received (see {@link #serves(int)}).
+ *
+ * <p> The upstream is cancelled once the last viewer leaves, a released log can't be reused.
+ */
+final class SharedLog {
+
+  // Max number of lines requested from the upstream ahead of the received ones
+  private static final int PREFETCH_LINES = 64;
+
+  private final Multi<String> upstream;
+  private final int tailLines;
+  private final int bufferLines;
+  private final int prefetch;
+  private final Consumer<SharedLog> onRelease;
+  private final String[] buffer;
+  private final Set<LogViewer> viewers;
+  // Number of lines received from the upstream (position of the next line)
+  private long head;
+  // Number of lines requested from the upstream
+  private long requested;
+  // Position of the slowest viewer when the upstream was last requested
+  private long slowest;
+  private boolean started;
+  private Flow.Subscription subscription;
+  private boolean released;
+  private volatile boolean completed;
+  private volatile Throwable failure;
+
+  /**
+   * @param upstream the container log, starting with (at most) its last tailLines lines.
+   * @param bufferLines the max number of lines new viewers can start from.
+   */
+  SharedLog(Multi<String> upstream, int tailLines, int bufferLines, Consumer<SharedLog> onRelease) {
+    this.upstream = upstream;
+    this.tailLines = tailLines;
+    this.bufferLines = bufferLines;
+    this.onRelease = onRelease;
+    prefetch = Math.max(1, Math.min(PREFETCH_LINES, bufferLines));
+    // Room for the lines requested ahead, so they never overwrite the tail of a viewer added meanwhile
+    buffer = new String[bufferLines + prefetch];
+    viewers = new LinkedHashSet<>();
+  }
+
+  /**
+   * Returns true if a viewer requesting the provided number of tail lines can be added, a larger tail than the upstream
+   * one or a smaller one while the backlog is still being received can't be located in the shared lines.
+   */
+  synchronized boolean serves(int viewerTailLines) {
+    return viewerTailLines == tailLines || (viewerTailLines < tailLines && head >= tailLines);
+  }
+
+  /**
+   * Adds a viewer starting at the provided number of buffered lines (or every buffered line if null).
+   *
+   * @return false if the log has already been released or has terminated, a new one must be created.
+   */
+  synchronized boolean add(LogViewer viewer, Integer tailLines) {
+    if (released || isTerminated()) {
+      return false;
+    }
+    final var tail = Math.max(0, head - bufferLines);
+    viewer.position = tailLines == null ? tail : Math.max(tail, head - tailLines);
+    slowest = Math.min(slowest, viewer.position);
+    viewers.add(viewer);
+    return true;
+  }
+
+  /**
+   * Subscribes to the upstream (once), must be called after adding the first viewer.
+   */
+  void start() {
+    synchronized (this) {
+      if (started || released) {
+        return;
+      }
+      started = true;
+    }
+    upstream.subscribe().with(this::onSubscribe, this::onLine, this::onFailure, this::onComplete);
+  }
+
+  void remove(LogViewer viewer) {
+    final boolean last;
+    final Flow.Subscription cancelled;
+    synchronized (this) {
+      if (!viewers.remove(viewer) || released) {
+        return;
+      }
+      last = viewers.isEmpty();
+      released = last;
+      cancelled = subscription;
+    }
+    if (!last) {
+      // The viewer might have been the slowest one
+      requestUpstream();
+      return;
+    }
+    // Not subscribed yet, the subscription is cancelled once received
+    if (cancelled != null) {
+      cancelled.cancel();
+    }
+    onRelease.accept(this);
+  }
+
+  boolean isTerminated() {
+    return completed || failure != null;
+  }
+
+  Throwable getFailure() {
+    return failure;
+  }
+
+  /**
+   * Returns the next line for the viewer, or null if it has read every received line.
+   */
+  String next(LogViewer viewer) {
+    final String line;
+    final boolean wasSlowest;
+    synchronized (this) {
+      if (viewer.position >= head) {
+        return null;
+      }
+      wasSlowest = viewer.position <= slowest;
+      line = buffer[(int) (viewer.position++ % buffer.length)];
+    }
+    if (wasSlowest) {
+      requestUpstream();
+    }
+    return line;
+  }
+
+  synchronized boolean hasNext(LogViewer viewer) {
+    return viewer.position < head;
+  }
+
+  private void onSubscribe(Flow.Subscription subscription) {
+    final boolean active;
+    synchronized (this) {
+      active = !released;
+      if (active) {
+        this.subscription = subscription;
+      }
+    }
+    if (active) {
+      requestUpstream();
+    } else {
+      subscription.cancel();
+    }
+  }
+
+  /**
+   * Requests the lines every viewer has room for (up to the prefetch), requests are batched by half the prefetch.
+   */
+  private void requestUpstream() {
+    final Flow.Subscription current;
+    final long demand;
+    synchronized (this) {
+      if (subscription == null || released) {
+        return;
+      }
+      slowest = head;
+      for (var viewer : viewers) {
+        slowest = Math.min(slowest, viewer.position);
+      }
+      final var target = Math.min(slowest + buffer.length, head + prefetch);
+      if (target - requested < Math.max(1, prefetch / 2) && requested > head) {
+        return;
+      }
+      demand = target - requested;
+      if (demand <= 0) {
+        return;
+      }
+      requested = target;
+      current = subscription;
+    }
+    current.request(demand);
+  }
+
+  private void onLine(String line) {
+    synchronized (this) {
+      buffer[(int) (head++ % buffer.length)] = line;
+    }
+    requestUpstream();
+    drainViewers();
+  }
+
+  private void onFailure(Throwable throwable) {
+    synchronized (this) {
+      failure = throwable;
+      released = true;
+    }
+    drainViewers();
+    onRelease.accept(this);
+  }
+
+  private void onComplete() {
+    synchronized (this) {
+      completed = true;
+      released = true;
+    }
+    drainViewers();
+    onRelease.accept(this);
+  }
+
+  private void drainViewers() {
+    final List<LogViewer> current;
+    synchronized (this) {
+      current = List.copyOf(viewers);
+    }
+    current.forEach(LogViewer::drain);
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 21:40
+ */
+package com.marcnuri.yakd.pod;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes the text typed in an exec session into v4.channel.k8s.io stdin frames (stream byte followed by the
+ * UTF-8 bytes) in a single pass, without intermediate arrays.
+ *
+ * <p> The frame buffer is reused for the next frame unless it's {@link #detach() detached} (because the client
+ * may still be reading it) or larger than {@link #MAX_RETAINED_CAPACITY} (a big paste).
+ *
+ * <p> Not thread-safe, the WebSocket container delivers the messages of a session one at a time.
+ */
+final class StdinEncoder {
+
+  static final int INITIAL_CAPACITY = 256;
+  static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+  private final CharsetEncoder encoder;
+  private ByteBuffer buffer;
+
+  StdinEncoder() {
+    encoder = StandardCharsets.UTF_8.newEncoder()
+      .onMalformedInput(CodingErrorAction.REPLACE)
+      .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  }
+
+  ByteBuffer encode(String text) {
+    final var required = 1 + (int) Math.ceil(text.length() * (double) encoder.maxBytesPerChar());
+    final ByteBuffer frame;
+    if (buffer != null && buffer.capacity() >= required) {
+      frame = buffer.clear();
+    } else if (required <= MAX_RETAINED_CAPACITY) {
+      frame = buffer = ByteBuffer.allocate(Math.max(INITIAL_CAPACITY, Integer.highestOneBit(required - 1) << 1));
+    } else {
+      frame = ByteBuffer.allocate(required);
+    }
+    frame.put((byte) PodExecEndpoint.StandardStream.STDIN.getStandardStreamCode());
+    encoder.reset();
+    encoder.encode(CharBuffer.wrap(text), frame, true);
+    encoder.flush(frame);
+    return frame.flip();
+  }
+
+  /**
+   * Stops reusing the current frame buffer, the next frame is encoded into a new one.
+   */
+  void detach() {
+    buffer = null;
+  }
+}
@@ -18,6 +18,7 @@
 package com.marcnuri.yakd.replicaset;
 
 
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.api.model.apps.ReplicaSet;
@@ -28,24 +29,26 @@ import jakarta.inject.Singleton;
 import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 
 @Singleton
 public class ReplicaSetService implements Watchable<ReplicaSet> {
 
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
 
   @Inject
-  public ReplicaSetService(KubernetesClient kubernetesClient) {
+  public ReplicaSetService(KubernetesClient kubernetesClient, ApiAvailability apiAvailability) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
   }
 
   @Override
   public Subscriber<ReplicaSet> watch() {
     return tryInOrder(
-      () -> {
-        kubernetesClient.apps().replicaSets().inAnyNamespace().list(LIMIT_1);
-        return subscriber(kubernetesClient.apps().replicaSets().inAnyNamespace());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.apps().replicaSets().inAnyNamespace().list(LIMIT_1),
+        subscriber(kubernetesClient.apps().replicaSets().inAnyNamespace())),
       () -> subscriber(kubernetesClient.apps().replicaSets()
         .inNamespace(kubernetesClient.getConfiguration().getNamespace()))
     );
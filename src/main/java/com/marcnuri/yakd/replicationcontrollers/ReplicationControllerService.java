@@ -17,6 +17,7 @@
  */
 package com.marcnuri.yakd.replicationcontrollers;
 
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.api.model.ReplicationController;
@@ -28,24 +29,26 @@ import jakarta.inject.Singleton;
 import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 
 @Singleton
 public class ReplicationControllerService implements Watchable<ReplicationController> {
 
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
 
   @Inject
-  public ReplicationControllerService(KubernetesClient kubernetesClient) {
+  public ReplicationControllerService(KubernetesClient kubernetesClient, ApiAvailability apiAvailability) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
   }
 
   @Override
   public Subscriber<ReplicationController> watch() {
     return tryInOrder(
-      () -> {
-        kubernetesClient.replicationControllers().inAnyNamespace().list(LIMIT_1);
-        return subscriber(kubernetesClient.replicationControllers().inAnyNamespace());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.replicationControllers().inAnyNamespace().list(LIMIT_1),
+        subscriber(kubernetesClient.replicationControllers().inAnyNamespace())),
       () -> subscriber(kubernetesClient.replicationControllers()
         .inNamespace(kubernetesClient.getConfiguration().getNamespace()))
     );
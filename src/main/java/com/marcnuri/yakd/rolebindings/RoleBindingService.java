@@ -17,6 +17,7 @@
  */
 package com.marcnuri.yakd.rolebindings;
 
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.api.model.rbac.RoleBinding;
@@ -28,24 +29,26 @@ import jakarta.inject.Singleton;
 import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 
 @Singleton
 public class RoleBindingService implements Watchable<RoleBinding> {
 
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
 
   @Inject
-  public RoleBindingService(KubernetesClient kubernetesClient) {
+  public RoleBindingService(KubernetesClient kubernetesClient, ApiAvailability apiAvailability) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
   }
 
   @Override
   public Subscriber<RoleBinding> watch() {
     return tryInOrder(
-      () -> {
-        kubernetesClient.rbac().roleBindings().inAnyNamespace().list(LIMIT_1);
-        return subscriber(kubernetesClient.rbac().roleBindings().inAnyNamespace());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.rbac().roleBindings().inAnyNamespace().list(LIMIT_1),
+        subscriber(kubernetesClient.rbac().roleBindings().inAnyNamespace())),
       () -> subscriber(kubernetesClient.rbac().roleBindings().inNamespace(kubernetesClient.getConfiguration().getNamespace()))
     );
   }
@@ -17,6 +17,7 @@
  */
 package com.marcnuri.yakd.roles;
 
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.api.model.rbac.Role;
@@ -28,24 +29,26 @@ import jakarta.inject.Singleton;
 import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 
 @Singleton
 public class RoleService implements Watchable<Role> {
 
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
 
   @Inject
-  public RoleService(KubernetesClient kubernetesClient) {
+  public RoleService(KubernetesClient kubernetesClient, ApiAvailability apiAvailability) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
   }
 
   @Override
   public Subscriber<Role> watch() {
     return tryInOrder(
-      () -> {
-        kubernetesClient.rbac().roles().inAnyNamespace().list(LIMIT_1);
-        return subscriber(kubernetesClient.rbac().roles().inAnyNamespace());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.rbac().roles().inAnyNamespace().list(LIMIT_1),
+        subscriber(kubernetesClient.rbac().roles().inAnyNamespace())),
       () -> subscriber(kubernetesClient.rbac().roles().inNamespace(kubernetesClient.getConfiguration().getNamespace()))
     );
   }
@@ -17,6 +17,7 @@
  */
 package com.marcnuri.yakd.routes;
 
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.client.KubernetesClient;
@@ -31,15 +32,18 @@ import java.util.function.Supplier;
 import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 
 @Singleton
 public class RouteService implements Watchable<Route> {
 
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
 
   @Inject
-  public RouteService(KubernetesClient kubernetesClient) {
+  public RouteService(KubernetesClient kubernetesClient, ApiAvailability apiAvailability) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
   }
 
   @Override
@@ -50,10 +54,9 @@ public class RouteService implements Watchable<Route> {
   @Override
   public Subscriber<Route> watch() {
     return tryInOrder(
-      () -> {
-        kubernetesClient.resources(Route.class).inAnyNamespace().list(LIMIT_1);
-        return subscriber(kubernetesClient.resources(Route.class).inAnyNamespace());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.resources(Route.class).inAnyNamespace().list(LIMIT_1),
+        subscriber(kubernetesClient.resources(Route.class).inAnyNamespace())),
       () -> subscriber(kubernetesClient.resources(Route.class).inNamespace(kubernetesClient.getConfiguration().getNamespace()))
     );
   }
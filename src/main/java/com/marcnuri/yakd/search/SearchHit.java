@@ -0,0 +1,29 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 19:35
+ */
+package com.marcnuri.yakd.search;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * A resource matching a search query, clients retrieve the resource itself from their watched state by uid.
+ *
+ * @param score the relevance of the hit, higher is better.
+ */
+@RegisterForReflection
+public record SearchHit(String kind, String uid, String name, String namespace, int score) {
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 19:30
+ */
+package com.marcnuri.yakd.search;
+
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodSpec;
+import io.fabric8.kubernetes.api.model.PodTemplateSpec;
+import io.fabric8.kubernetes.api.model.ReplicationController;
+import io.fabric8.kubernetes.api.model.apps.DaemonSet;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.ReplicaSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.batch.v1.CronJob;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Inverted index of the watched resources for the full-text search.
+ *
+ * <p> Each resource is indexed by its (lower-cased) name, namespace, kind, labels ({@code key}, {@code value} and
+ * {@code key=value}), annotations (short values only) and container images. Every indexed term carries the weight
+ * of the field it was found in.
+ *
+ * <p> Query words match indexed terms exactly, by prefix (sorted term dictionary) or by substring (trigram index of
+ * the term dictionary, words of at least 3 characters). Hits must match every query word, they're ranked by the sum
+ * of the best match (match type and field weight) for each word.
+ *
+ * <p> The index is updated incrementally with each watch event, queries take time proportional to the number of
+ * matching terms and hits instead of the number of indexed resources.
+ */
+public final class SearchIndex {
+
+  static final int WEIGHT_NAME = 4;
+  static final int WEIGHT_IMAGE = 3;
+  static final int WEIGHT_LABEL = 2;
+  static final int WEIGHT_OTHER = 1;
+  static final int MATCH_EXACT = 3;
+  static final int MATCH_PREFIX = 2;
+  static final int MATCH_SUBSTRING = 1;
+  private static final int MAX_ANNOTATION_VALUE_LENGTH = 128;
+  private static final int TRIGRAM = 3;
+
+  // uid -> document
+  private final Map<String, Document> documents;
+  // term -> uid -> field weight
+  private final TreeMap<String, Map<String, Integer>> postings;
+  // trigram -> terms containing it
+  private final Map<String, Set<String>> trigrams;
+
+  public SearchIndex() {
+    documents = new HashMap<>();
+    postings = new TreeMap<>();
+    trigrams = new HashMap<>();
+  }
+
+  public synchronized void put(HasMetadata resource) {
+    if (resource.getMetadata() == null || resource.getMetadata().getUid() == null) {
+      return;
+    }
+    remove(resource.getMetadata().getUid());
+    final var document = new Document(resource.getKind(), resource.getMetadata().getUid(),
+      resource.getMetadata().getName(), resource.getMetadata().getNamespace(), terms(resource));
+    documents.put(document.uid(), document);
+    document.terms().forEach((term, weight) -> {
+      final var termPostings = postings.computeIfAbsent(term, t -> {
+        trigrams(t).forEach(trigram -> trigrams.computeIfAbsent(trigram, tg -> new HashSet<>()).add(t));
+        return new HashMap<>();
+      });
+      termPostings.put(document.uid(), weight);
+    });
+  }
+
+  public synchronized void remove(HasMetadata resource) {
+    if (resource.getMetadata() != null && resource.getMetadata().getUid() != null) {
+      remove(resource.getMetadata().getUid());
+    }
+  }
+
+  private void remove(String uid) {
+    final var document = documents.remove(uid);
+    if (document == null) {
+      return;
+    }
+    document.terms().keySet().forEach(term -> {
+      final var termPostings = postings.get(term);
+      if (termPostings != null) {
+        termPostings.remove(uid);
+        if (termPostings.isEmpty()) {
+          postings.remove(term);
+          trigrams(term).forEach(trigram -> {
+            final var terms = trigrams.get(trigram);
+            terms.remove(term);
+            if (terms.isEmpty()) {
+              trigrams.remove(trigram);
+            }
+          });
+        }
+      }
+    });
+  }
+
+  /**
+   * Removes every resource of the provided kind (e.g. its watch is restarting and will send them again).
+   */
+  public synchronized void removeKind(String kind) {
+    documents.values().stream().filter(d -> Objects.equals(d.kind(), kind)).map(Document::uid).toList()
+      .forEach(this::remove);
+  }
+
+  public synchronized void clear() {
+    documents.clear();
+    postings.clear();
+    trigrams.clear();
+  }
+
+  public synchronized int size() {
+    return documents.size();
+  }
+
+  /**
+   * Searches the indexed resources.
+   *
+   * @param query the query words (whitespace-separated), every word must match.
+   * @param namespace the namespace the hits must belong to (cluster-scoped resources are always included), or null.
+   * @param kinds the kinds the hits must be of, or empty for any.
+   * @param offset the number of (ranked) hits to skip.
+   * @param limit the maximum number of hits to return.
+   */
+  public synchronized SearchResult search(String query, String namespace, Set<String> kinds, int offset, int limit) {
+    final var words = query == null ? List.<String>of() : Stream.of(query.toLowerCase(Locale.ROOT).trim().split("\\s+"))
+      .filter(w -> !w.isEmpty()).distinct().toList();
+    if (words.isEmpty()) {
+      return new SearchResult(List.of(), 0);
+    }
+    Map<String, Integer> scores = null;
+    for (var word : words) {
+      final var wordScores = match(word);
+      if (scores == null) {
+        scores = wordScores;
+      } else {
+        final var previous = scores;
+        scores = new HashMap<>();
+        for (var entry : wordScores.entrySet()) {
+          final var previousScore = previous.get(entry.getKey());
+          if (previousScore != null) {
+            scores.put(entry.getKey(), previousScore + entry.getValue());
+          }
+        }
+      }
+      if (scores.isEmpty()) {
+        return new SearchResult(List.of(), 0);
+      }
+    }
+    final var hits = scores.entrySet().stream()
+      .map(entry -> documents.get(entry.getKey()).toHit(entry.getValue()))
+      .filter(hit -> namespace == null || hit.namespace() == null || hit.namespace().equals(namespace))
+      .filter(hit -> kinds.isEmpty() || kinds.contains(hit.kind()))
+      .sorted(Comparator.comparingInt(SearchHit::score).reversed()
+        .thenComparing(SearchHit::kind, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(SearchHit::namespace, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(SearchHit::name, Comparator.nullsFirst(Comparator.naturalOrder())))
+      .toList();
+    return new SearchResult(hits.stream().skip(offset).limit(limit).toList(), hits.size());
+  }
+
+  /**
+   * Scores (best match) the documents containing a term that matches the word.
+   */
+  private Map<String, Integer> match(String word) {
+    final var scores = new HashMap<String, Integer>();
+    for (var entry : postings.tailMap(word, true).entrySet()) {
+      if (!entry.getKey().startsWith(word)) {
+        break;
+      }
+      score(scores, entry.getValue(), entry.getKey().equals(word) ? MATCH_EXACT : MATCH_PREFIX);
+    }
+    if (word.length() >= TRIGRAM) {
+      Set<String> candidates = null;
+      for (var trigram : trigrams(word)) {
+        final var terms = trigrams.getOrDefault(trigram, Set.of());
+        if (candidates == null || terms.size() < candidates.size()) {
+          candidates = terms;
+        }
+      }
+      candidates.stream()
+        .filter(term -> !term.startsWith(word) && term.contains(word))
+        .forEach(term -> score(scores, postings.get(term), MATCH_SUBSTRING));
+    }
+    return scores;
+  }
+
+  private static void score(Map<String, Integer> scores, Map<String, Integer> termPostings, int match) {
+    termPostings.forEach((uid, weight) -> scores.merge(uid, match * weight, Math::max));
+  }
+
+  private static Set<String> trigrams(String term) {
+    final var ret = new HashSet<String>();
+    for (int it = 0; it + TRIGRAM <= term.length(); it++) {
+      ret.add(term.substring(it, it + TRIGRAM));
+    }
+    return ret;
+  }
+
+  /**
+   * Extracts the (lower-cased) terms of the resource with the weight of the most relevant field they were found in.
+   */
+  static Map<String, Integer> terms(HasMetadata resource) {
+    final var terms = new HashMap<String, Integer>();
+    final var metadata = resource.getMetadata();
+    addTerm(terms, metadata.getName(), WEIGHT_NAME);
+    addTerm(terms, metadata.getNamespace(), WEIGHT_OTHER);
+    addTerm(terms, resource.getKind(), WEIGHT_OTHER);
+    if (metadata.getLabels() != null) {
+      metadata.getLabels().forEach((key, value) -> {
+        addTerm(terms, key, WEIGHT_LABEL);
+        addTerm(terms, value, WEIGHT_LABEL);
+        addTerm(terms, key + "=" + value, WEIGHT_LABEL);
+      });
+    }
+    if (metadata.getAnnotations() != null) {
+      metadata.getAnnotations().forEach((key, value) -> {
+        addTerm(terms, key, WEIGHT_OTHER);
+        // Long values are usually serialized objects (e.g. configuration), not worth indexing
+        if (value != null && value.length() <= MAX_ANNOTATION_VALUE_LENGTH) {
+          addTerm(terms, value, WEIGHT_OTHER);
+        }
+      });
+    }
+    images(resource).forEach(image -> addTerm(terms, image, WEIGHT_IMAGE));
+    return terms;
+  }
+
+  private static void addTerm(Map<String, Integer> terms, String value, int weight) {
+    if (value != null && !value.isBlank()) {
+      terms.merge(value.toLowerCase(Locale.ROOT), weight, Math::max);
+    }
+  }
+
+  private static List<String> images(HasMetadata resource) {
+    final PodSpec podSpec = podSpec(resource);
+    if (podSpec == null) {
+      return List.of();
+    }
+    final var images = new ArrayList<String>();
+    Stream.of(podSpec.getInitContainers(), podSpec.getContainers())
+      .filter(Objects::nonNull)
+      .flatMap(List::stream)
+      .map(Container::getImage)
+      .filter(Objects::nonNull)
+      .forEach(images::add);
+    return images;
+  }
+
+  private static PodSpec podSpec(HasMetadata resource) {
+    if (resource instanceof Pod pod) {
+      return pod.getSpec();
+    } else if (resource instanceof Deployment deployment && deployment.getSpec() != null) {
+      return spec(deployment.getSpec().getTemplate());
+    } else if (resource instanceof StatefulSet statefulSet && statefulSet.getSpec() != null) {
+      return spec(statefulSet.getSpec().getTemplate());
+    } else if (resource instanceof DaemonSet daemonSet && daemonSet.getSpec() != null) {
+      return spec(daemonSet.getSpec().getTemplate());
+    } else if (resource instanceof ReplicaSet replicaSet && replicaSet.getSpec() != null) {
+      return spec(replicaSet.getSpec().getTemplate());
+    } else if (resource instanceof ReplicationController rc && rc.getSpec() != null) {
+      return spec(rc.getSpec().getTemplate());
+    } else if (resource instanceof DeploymentConfig dc && dc.getSpec() != null) {
+      return spec(dc.getSpec().getTemplate());
+    } else if (resource instanceof Job job && job.getSpec() != null) {
+      return spec(job.getSpec().getTemplate());
+    } else if (resource instanceof CronJob cronJob && cronJob.getSpec() != null
+      && cronJob.getSpec().getJobTemplate() != null && cronJob.getSpec().getJobTemplate().getSpec() != null) {
+      return spec(cronJob.getSpec().getJobTemplate().getSpec().getTemplate());
+    }
+    return null;
+  }
+
+  private static PodSpec spec(PodTemplateSpec template) {
+    return template == null ? null : template.getSpec();
+  }
+
+  private record Document(String kind, String uid, String name, String namespace, Map<String, Integer> terms) {
+
+    SearchHit toHit(int score) {
+      return new SearchHit(kind, uid, name, namespace, score);
+    }
+  }
+}
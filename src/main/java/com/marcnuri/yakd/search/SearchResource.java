@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 19:45
+ */
+package com.marcnuri.yakd.search;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Singleton
+@RegisterForReflection // Quarkus doesn't generate constructors for JAX-RS Subresources
+public class SearchResource {
+
+  static final int MAX_LIMIT = 1000;
+
+  private final SearchService searchService;
+
+  @Inject
+  public SearchResource(SearchService searchService) {
+    this.searchService = searchService;
+  }
+
+  /**
+   * Searches the watched resources by name, namespace, kind, labels, annotations and container images.
+   *
+   * @param query whitespace-separated words, each of them must match (exactly, by prefix or by substring).
+   * @param namespace restricts the namespaced hits to this namespace.
+   * @param kinds comma-separated kinds to restrict the hits to.
+   */
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  public SearchResult search(
+    @QueryParam("q") String query, @QueryParam("namespace") String namespace, @QueryParam("kinds") String kinds,
+    @QueryParam("offset") @DefaultValue("0") int offset, @QueryParam("limit") @DefaultValue("100") int limit) {
+    return searchService.search(query, namespace == null || namespace.isBlank() ? null : namespace, parse(kinds),
+      Math.max(0, offset), Math.clamp(limit, 1, MAX_LIMIT));
+  }
+
+  private static Set<String> parse(String commaSeparated) {
+    if (commaSeparated == null || commaSeparated.isBlank()) {
+      return Set.of();
+    }
+    return Arrays.stream(commaSeparated.split(",")).map(String::trim).filter(s -> !s.isEmpty())
+      .collect(Collectors.toUnmodifiableSet());
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 19:40
+ */
+package com.marcnuri.yakd.search;
+
+import com.marcnuri.yakd.watch.RequestRestartError;
+import com.marcnuri.yakd.watch.SequencedEvent;
+import com.marcnuri.yakd.watch.WatchFilter;
+import com.marcnuri.yakd.watch.WatchService;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.Watcher;
+import io.quarkus.runtime.ShutdownEvent;
+import io.smallrye.mutiny.subscription.Cancellable;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps the {@link SearchIndex} up to date with the watched resources.
+ *
+ * <p> The index is fed by an internal subscription to the shared watch (snapshot followed by the live events),
+ * started with the first search.
+ */
+@Singleton
+public class SearchService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SearchService.class);
+
+  private final WatchService watchService;
+  private final SearchIndex index;
+  private Cancellable subscription;
+
+  @Inject
+  public SearchService(WatchService watchService) {
+    this.watchService = watchService;
+    index = new SearchIndex();
+  }
+
+  void onShutdown(@Observes ShutdownEvent event) {
+    unsubscribe();
+  }
+
+  /**
+   * Searches the watched resources.
+   *
+   * @see SearchIndex#search(String, String, Set, int, int)
+   */
+  public SearchResult search(String query, String namespace, Set<String> kinds, int offset, int limit) {
+    subscribe();
+    return index.search(query, namespace, kinds, offset, limit);
+  }
+
+  private synchronized void subscribe() {
+    if (subscription == null) {
+      // Random (unguessable) id, a well-known one could be rescoped by any client (PUT /api/v1/watch/{id})
+      subscription = watchService.newWatch(UUID.randomUUID().toString(), null, WatchFilter.ALL, false)
+        .subscribe()
+        .with(this::onEvent, this::onFailure);
+    }
+  }
+
+  private synchronized void unsubscribe() {
+    if (subscription != null) {
+      subscription.cancel();
+      subscription = null;
+    }
+  }
+
+  private synchronized void onFailure(Throwable throwable) {
+    // Evicted (too slow) or closed, the next search subscribes again and receives a new snapshot
+    LOG.warn("Search index subscription closed: {}", throwable.getMessage());
+    subscription = null;
+    index.clear();
+  }
+
+  private void onEvent(SequencedEvent sequenced) {
+    if (sequenced.isResync()) {
+      // A full snapshot follows
+      index.clear();
+      return;
+    }
+    final var event = sequenced.event();
+    if (event.object() instanceof HasMetadata resource) {
+      switch (event.type()) {
+        case ADDED, MODIFIED -> index.put(resource);
+        case DELETED -> index.remove(resource);
+        default -> LOG.trace("Ignoring {} event for search index", event.type());
+      }
+    } else if (event.type() == Watcher.Action.ERROR && event.object() instanceof RequestRestartError error) {
+      // The upstream watch for this kind is restarting and will send its items again
+      index.removeKind(error.getType());
+    }
+  }
+}
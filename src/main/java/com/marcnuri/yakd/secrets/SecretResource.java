@@ -17,6 +17,7 @@
  */
 package com.marcnuri.yakd.secrets;
 
+import com.marcnuri.yakd.watch.WatchService;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 import jakarta.inject.Inject;
@@ -28,6 +29,7 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -38,16 +40,19 @@ import java.util.List;
 public class SecretResource {
 
   private final SecretService secretService;
+  private final WatchService watchService;
 
   @Inject
-  public SecretResource(SecretService secretService) {
+  public SecretResource(SecretService secretService, WatchService watchService) {
     this.secretService = secretService;
+    this.watchService = watchService;
   }
 
   @GET
   @Produces(MediaType.APPLICATION_JSON)
-  public List<Secret> get() {
-    return secretService.get();
+  public List<Secret> get(
+    @QueryParam("resourceVersion") String resourceVersion, @QueryParam("live") boolean live) {
+    return watchService.list(Secret.class, resourceVersion, live, secretService::get);
   }
 
   @DELETE
@@ -17,6 +17,7 @@
  */
 package com.marcnuri.yakd.secrets;
 
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.api.model.Secret;
@@ -30,24 +31,26 @@ import java.util.List;
 import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 
 @Singleton
 public class SecretService implements Watchable<Secret> {
 
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
 
   @Inject
-  public SecretService(KubernetesClient kubernetesClient) {
+  public SecretService(KubernetesClient kubernetesClient, ApiAvailability apiAvailability) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
   }
 
   @Override
   public Subscriber<Secret> watch() {
     return tryInOrder(
-      () -> {
-        kubernetesClient.secrets().inAnyNamespace().list(LIMIT_1);
-        return subscriber(kubernetesClient.secrets().inAnyNamespace());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.secrets().inAnyNamespace().list(LIMIT_1),
+        subscriber(kubernetesClient.secrets().inAnyNamespace())),
       () -> subscriber(kubernetesClient.secrets().inNamespace(kubernetesClient.getConfiguration().getNamespace()))
     );
   }
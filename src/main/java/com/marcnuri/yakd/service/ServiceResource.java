@@ -17,6 +17,7 @@
  */
 package com.marcnuri.yakd.service;
 
+import com.marcnuri.yakd.watch.WatchService;
 import io.fabric8.kubernetes.api.model.Service;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 import jakarta.inject.Inject;
@@ -28,6 +29,7 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -38,17 +40,19 @@ import java.util.List;
 public class ServiceResource {
 
   private final ServiceService serviceService;
+  private final WatchService watchService;
 
   @Inject
-  public ServiceResource(
-    ServiceService serviceService) {
+  public ServiceResource(ServiceService serviceService, WatchService watchService) {
     this.serviceService = serviceService;
+    this.watchService = watchService;
   }
 
   @GET
   @Produces(MediaType.APPLICATION_JSON)
-  public List<Service> get() {
-    return serviceService.get();
+  public List<Service> get(
+    @QueryParam("resourceVersion") String resourceVersion, @QueryParam("live") boolean live) {
+    return watchService.list(Service.class, resourceVersion, live, serviceService::get);
   }
 
   @DELETE
@@ -17,6 +17,7 @@
  */
 package com.marcnuri.yakd.service;
 
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.api.model.Service;
@@ -30,24 +31,26 @@ import java.util.List;
 import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 
 @Singleton
 public class ServiceService implements Watchable<Service> {
 
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
 
   @Inject
-  public ServiceService(KubernetesClient kubernetesClient) {
+  public ServiceService(KubernetesClient kubernetesClient, ApiAvailability apiAvailability) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
   }
 
   @Override
   public Subscriber<Service> watch() {
     return tryInOrder(
-      () -> {
-        kubernetesClient.services().inAnyNamespace().list(LIMIT_1);
-        return subscriber(kubernetesClient.services().inAnyNamespace());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.services().inAnyNamespace().list(LIMIT_1),
+        subscriber(kubernetesClient.services().inAnyNamespace())),
       () -> subscriber(kubernetesClient.services().inNamespace(kubernetesClient.getConfiguration().getNamespace()))
     );
   }
@@ -17,6 +17,7 @@
  */
 package com.marcnuri.yakd.serviceaccounts;
 
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.api.model.ServiceAccount;
@@ -28,24 +29,26 @@ import jakarta.inject.Singleton;
 import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 
 @Singleton
 public class ServiceAccountService implements Watchable<ServiceAccount> {
 
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
 
   @Inject
-  public ServiceAccountService(KubernetesClient kubernetesClient) {
+  public ServiceAccountService(KubernetesClient kubernetesClient, ApiAvailability apiAvailability) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
   }
 
   @Override
   public Subscriber<ServiceAccount> watch() {
     return tryInOrder(
-      () -> {
-        kubernetesClient.serviceAccounts().inAnyNamespace().list(LIMIT_1);
-        return subscriber(kubernetesClient.serviceAccounts().inAnyNamespace());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.serviceAccounts().inAnyNamespace().list(LIMIT_1),
+        subscriber(kubernetesClient.serviceAccounts().inAnyNamespace())),
       () -> subscriber(kubernetesClient.serviceAccounts().inNamespace(kubernetesClient.getConfiguration().getNamespace()))
     );
   }
@@ -17,6 +17,7 @@
  */
 package com.marcnuri.yakd.statefulsets;
 
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.Subscriber;
 import com.marcnuri.yakd.watch.Watchable;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
@@ -30,24 +31,26 @@ import jakarta.inject.Singleton;
 import static com.marcnuri.yakd.fabric8.ClientUtil.LIMIT_1;
 import static com.marcnuri.yakd.fabric8.ClientUtil.tryInOrder;
 import static com.marcnuri.yakd.fabric8.WatchableSubscriber.subscriber;
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
 
 @Singleton
 public class StatefulSetService implements Watchable<StatefulSet> {
 
   private final KubernetesClient kubernetesClient;
+  private final ApiAvailability apiAvailability;
 
   @Inject
-  public StatefulSetService(KubernetesClient kubernetesClient) {
+  public StatefulSetService(KubernetesClient kubernetesClient, ApiAvailability apiAvailability) {
     this.kubernetesClient = kubernetesClient;
+    this.apiAvailability = apiAvailability;
   }
 
   @Override
   public Subscriber<StatefulSet> watch() {
     return tryInOrder(
-      () -> {
-        kubernetesClient.apps().statefulSets().inAnyNamespace().list(LIMIT_1);
-        return subscriber(kubernetesClient.apps().statefulSets().inAnyNamespace());
-      },
+      () -> apiAvailability.subscriber(getType(), CLUSTER_SCOPE,
+        () -> kubernetesClient.apps().statefulSets().inAnyNamespace().list(LIMIT_1),
+        subscriber(kubernetesClient.apps().statefulSets().inAnyNamespace())),
       () -> subscriber(kubernetesClient.apps().statefulSets().inNamespace(kubernetesClient.getConfiguration().getNamespace()))
     );
   }
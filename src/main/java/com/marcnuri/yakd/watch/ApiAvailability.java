@@ -17,49 +17,99 @@
  */
 package com.marcnuri.yakd.watch;
 
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Availability of the watched APIs for the current user.
+ *
+ * <p> Caches the RBAC access decisions for the watched kinds so that the probe (usually a LIST with
+ * {@link com.marcnuri.yakd.fabric8.ClientUtil#LIMIT_1}) isn't repeated for every subscription.
+ *
+ * <p> Decisions are keyed by kind and scope and expire after the configured TTL. Only explicit decisions are
+ * cached (the probe succeeds or fails with 401/403), any other failure is propagated and probed again next time.
+ *
+ * <p> An allowed decision is revoked as soon as the watch it allowed is closed with a 401/403 so that the
+ * next subscription probes again and falls back to a narrower scope if needed.
+ */
+@Singleton
 public class ApiAvailability {
 
-  private static final int CHECK_INTERVAL_SECONDS = 30;
+  public static final String CLUSTER_SCOPE = "*";
+
+  private static final Logger LOG = LoggerFactory.getLogger(ApiAvailability.class);
 
-  private final Map<Class<?>, Availability> availability;
+  private final long ttlNanos;
+  private final Map<Key, Decision> decisions;
 
-  public ApiAvailability() {
-    this.availability = new ConcurrentHashMap<>();
+  @Inject
+  public ApiAvailability(@ConfigProperty(name = "yakd.watch.access-decision-ttl", defaultValue = "5m") Duration ttl) {
+    this.ttlNanos = ttl.toNanos();
+    decisions = new ConcurrentHashMap<>();
   }
 
-  private void check(Watchable<?> watchable) {
-      final var wAvailability = availability.get(watchable.getClass());
-      if (wAvailability == null ||
-        Duration.between(wAvailability.lastCheck, LocalDateTime.now()).toSeconds() > CHECK_INTERVAL_SECONDS) {
-        boolean available = false;
-        try {
-          available = watchable.getAvailabilityCheckFunction().orElseThrow().get();
-        } catch(Exception ignore) {
-        }
-        availability.put(watchable.getClass(), new Availability(LocalDateTime.now(), available));
+  /**
+   * Returns the provided subscriber if access to the kind in the given scope is allowed.
+   *
+   * @param kind the kind of the watched resources.
+   * @param scope the scope of the watch ({@link #CLUSTER_SCOPE} or a namespace).
+   * @param probe request used to decide on the access when there's no cached decision.
+   * @param subscriber the subscriber to watch the resources.
+   * @return the subscriber, revoking the decision if its watch is closed with 401/403.
+   * @throws KubernetesClientException if access is denied (cached or probed) or the probe fails.
+   */
+  public <T> Subscriber<T> subscriber(String kind, String scope, Runnable probe, Subscriber<T> subscriber) {
+    check(new Key(kind, scope), probe);
+    return (close, emitter) -> subscriber.subscribe(cause -> {
+      if (cause != null && cause.asClientException().filter(ApiAvailability::isDenial).isPresent()) {
+        LOG.debug("Watch for {} in scope {} was denied, revoking cached access decision", kind, scope);
+        decisions.remove(new Key(kind, scope));
       }
+      close.accept(cause);
+    }, emitter);
   }
 
-  boolean isAvailable(Watchable<?> watchable) {
-    if (watchable.getAvailabilityCheckFunction().isEmpty()) {
-      return true;
-    }
-    check(watchable);
-    return availability.get(watchable.getClass()).available;
+  /**
+   * Removes every cached decision.
+   */
+  public void clear() {
+    decisions.clear();
   }
 
-  private static final class Availability {
-    private final LocalDateTime lastCheck;
-    private final boolean available;
-
-    Availability(LocalDateTime lastCheck, boolean available) {
-      this.lastCheck = lastCheck;
-      this.available = available;
+  private void check(Key key, Runnable probe) {
+    final var cached = decisions.get(key);
+    if (cached != null && cached.expiresAt - System.nanoTime() > 0) {
+      if (cached.denial != null) {
+        throw cached.denial;
+      }
+      return;
+    }
+    try {
+      probe.run();
+      decisions.put(key, new Decision(System.nanoTime() + ttlNanos, null));
+    } catch (KubernetesClientException ex) {
+      if (isDenial(ex)) {
+        decisions.put(key, new Decision(System.nanoTime() + ttlNanos, ex));
+      } else {
+        decisions.remove(key);
+      }
+      throw ex;
     }
   }
+
+  private static boolean isDenial(KubernetesClientException ex) {
+    return ex != null && (ex.getCode() == 401 || ex.getCode() == 403);
+  }
+
+  private record Key(String kind, String scope) {}
+
+  private record Decision(long expiresAt, KubernetesClientException denial) {}
 }
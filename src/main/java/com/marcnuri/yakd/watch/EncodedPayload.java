@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 12:20
+ */
+package com.marcnuri.yakd.watch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+
+/**
+ * JSON encoding of the payload of a {@link SequencedEvent} (the {@link WatchEvent} and its {@link WatchPatch}).
+ *
+ * <p> Each representation is serialized at most once, on first use, and the resulting immutable string is
+ * shared by every subscriber receiving the event instead of serializing the event again for each connection.
+ */
+public final class EncodedPayload {
+
+  private final ObjectMapper objectMapper;
+  private final WatchEvent<?> event;
+  private final WatchPatch patch;
+  private String eventJson;
+  private String patchJson;
+
+  EncodedPayload(ObjectMapper objectMapper, WatchEvent<?> event, WatchPatch patch) {
+    this(objectMapper, event, patch, null, null);
+  }
+
+  private EncodedPayload(
+    ObjectMapper objectMapper, WatchEvent<?> event, WatchPatch patch, String eventJson, String patchJson) {
+    this.objectMapper = objectMapper;
+    this.event = event;
+    this.patch = patch;
+    this.eventJson = eventJson;
+    this.patchJson = patchJson;
+  }
+
+  /**
+   * Encodes the event and its patch eagerly, the patch is dropped if its encoding isn't smaller than the event's.
+   */
+  static EncodedPayload smallest(ObjectMapper objectMapper, WatchEvent<?> event, WatchPatch patch) {
+    final var eventJson = encode(objectMapper, event);
+    final var patchJson = encode(objectMapper, patch);
+    if (patchJson.length() < eventJson.length()) {
+      return new EncodedPayload(objectMapper, event, patch, eventJson, patchJson);
+    }
+    return new EncodedPayload(objectMapper, event, null, eventJson, null);
+  }
+
+  /**
+   * @return the patch of the event, or null if it has none.
+   */
+  WatchPatch watchPatch() {
+    return patch;
+  }
+
+  /**
+   * @return the JSON encoding of the watch event.
+   */
+  synchronized String event() {
+    if (eventJson == null) {
+      eventJson = encode(objectMapper, event);
+    }
+    return eventJson;
+  }
+
+  /**
+   * @return the JSON encoding of the patch, or null if the event has no patch.
+   */
+  synchronized String patch() {
+    if (patchJson == null && patch != null) {
+      patchJson = encode(objectMapper, patch);
+    }
+    return patchJson;
+  }
+
+  private static String encode(ObjectMapper objectMapper, Object value) {
+    try {
+      return objectMapper.writeValueAsString(value);
+    } catch (JsonProcessingException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
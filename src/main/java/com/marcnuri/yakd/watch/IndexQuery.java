@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 18:40
+ */
+package com.marcnuri.yakd.watch;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.OwnerReference;
+import io.fabric8.kubernetes.api.model.Pod;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Equality terms (all of them must match) to select cached resources, served by the {@link ResourceIndex} when
+ * any of the terms is indexed.
+ *
+ * @param terms the term values keyed by term name, see {@link #values(HasMetadata, String)}.
+ */
+public record IndexQuery(Map<String, String> terms) {
+
+  public static final String NAMESPACE = "namespace";
+  public static final String OWNER_UID = "ownerUid";
+  public static final String NODE_NAME = "nodeName";
+  public static final String LABEL_PREFIX = "label:";
+  public static final IndexQuery ALL = new IndexQuery(Map.of());
+  // Label key ([prefix/]name) and value syntax, anything else (set-based or existence requirements) is rejected
+  private static final Pattern LABEL_KEY = Pattern.compile(
+    "([a-z0-9]([-a-z0-9]*[a-z0-9])?(\\.[a-z0-9]([-a-z0-9]*[a-z0-9])?)*/)?[A-Za-z0-9]([-A-Za-z0-9_.]*[A-Za-z0-9])?");
+  private static final Pattern LABEL_VALUE = Pattern.compile("([A-Za-z0-9]([-A-Za-z0-9_.]*[A-Za-z0-9])?)?");
+
+  public IndexQuery {
+    terms = Map.copyOf(terms);
+  }
+
+  /**
+   * Creates a query from the request parameters, null or blank parameters are ignored.
+   *
+   * @param labelSelector comma-separated {@code key=value} label equality requirements.
+   * @throws IllegalArgumentException if the label selector contains other than equality requirements.
+   */
+  public static IndexQuery of(String namespace, String ownerUid, String nodeName, String labelSelector) {
+    final var terms = new LinkedHashMap<String, String>();
+    putIfPresent(terms, NAMESPACE, namespace);
+    putIfPresent(terms, OWNER_UID, ownerUid);
+    putIfPresent(terms, NODE_NAME, nodeName);
+    if (labelSelector != null && !labelSelector.isBlank()) {
+      for (var requirement : labelSelector.split(",")) {
+        final var keyValue = requirement.split("==?", 2);
+        if (keyValue.length != 2 || !LABEL_KEY.matcher(keyValue[0].trim()).matches()
+          || !LABEL_VALUE.matcher(keyValue[1].trim()).matches()) {
+          throw new IllegalArgumentException("Only equality label requirements (key=value) are supported: " + requirement);
+        }
+        terms.put(LABEL_PREFIX + keyValue[0].trim(), keyValue[1].trim());
+      }
+    }
+    return new IndexQuery(terms);
+  }
+
+  private static void putIfPresent(Map<String, String> terms, String term, String value) {
+    if (value != null && !value.isBlank()) {
+      terms.put(term, value);
+    }
+  }
+
+  public boolean isEmpty() {
+    return terms.isEmpty();
+  }
+
+  public Optional<String> get(String term) {
+    return Optional.ofNullable(terms.get(term));
+  }
+
+  /**
+   * Returns the label equality requirements of the query.
+   */
+  public Map<String, String> labels() {
+    final var labels = new LinkedHashMap<String, String>();
+    terms.forEach((term, value) -> {
+      if (term.startsWith(LABEL_PREFIX)) {
+        labels.put(term.substring(LABEL_PREFIX.length()), value);
+      }
+    });
+    return labels;
+  }
+
+  public boolean matches(HasMetadata resource) {
+    return terms.entrySet().stream().allMatch(term -> values(resource, term.getKey()).contains(term.getValue()));
+  }
+
+  /**
+   * Extracts the values of a term for the provided resource.
+   *
+   * <p> Resources can have several values for a term (e.g. one per owner reference).
+   */
+  static List<String> values(HasMetadata resource, String term) {
+    final var metadata = resource.getMetadata();
+    if (metadata == null) {
+      return List.of();
+    }
+    if (term.startsWith(LABEL_PREFIX)) {
+      final var labels = metadata.getLabels();
+      return labels == null ? List.of() : nonNull(labels.get(term.substring(LABEL_PREFIX.length())));
+    }
+    return switch (term) {
+      case NAMESPACE -> nonNull(metadata.getNamespace());
+      case OWNER_UID -> metadata.getOwnerReferences() == null ? List.of() : metadata.getOwnerReferences().stream()
+        .map(OwnerReference::getUid).filter(Objects::nonNull).toList();
+      case NODE_NAME -> resource instanceof Pod pod && pod.getSpec() != null ?
+        nonNull(pod.getSpec().getNodeName()) : List.of();
+      default -> List.of();
+    };
+  }
+
+  private static List<String> nonNull(String value) {
+    return value == null ? List.of() : List.of(value);
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 13:40
+ */
+package com.marcnuri.yakd.watch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Minimal RFC 6902 JSON Patch generator.
+ *
+ * <p> Produces {@code add}, {@code remove} and {@code replace} operations only. Objects and arrays of the
+ * same size are compared recursively, arrays whose size changed are replaced as a whole.
+ */
+public final class JsonPatch {
+
+  private JsonPatch() {
+  }
+
+  /**
+   * Computes the operations to transform the source document into the target document.
+   *
+   * @param source the original document.
+   * @param target the modified document.
+   * @return an array of JSON Patch operations (empty if both documents are equal).
+   */
+  public static ArrayNode diff(JsonNode source, JsonNode target) {
+    final var operations = JsonNodeFactory.instance.arrayNode();
+    diff(operations, "", source, target);
+    return operations;
+  }
+
+  private static void diff(ArrayNode operations, String path, JsonNode source, JsonNode target) {
+    if (source.equals(target)) {
+      return;
+    }
+    if (source.isObject() && target.isObject()) {
+      final Iterator<String> sourceFields = source.fieldNames();
+      while (sourceFields.hasNext()) {
+        final var field = sourceFields.next();
+        if (!target.has(field)) {
+          operations.addObject().put("op", "remove").put("path", path + "/" + escape(field));
+        }
+      }
+      final Iterator<Map.Entry<String, JsonNode>> targetFields = target.fields();
+      while (targetFields.hasNext()) {
+        final var field = targetFields.next();
+        final var fieldPath = path + "/" + escape(field.getKey());
+        if (source.has(field.getKey())) {
+          diff(operations, fieldPath, source.get(field.getKey()), field.getValue());
+        } else {
+          operations.addObject().put("op", "add").put("path", fieldPath).set("value", field.getValue());
+        }
+      }
+    } else if (source.isArray() && target.isArray() && source.size() == target.size()) {
+      for (int it = 0; it < source.size(); it++) {
+        diff(operations, path + "/" + it, source.get(it), target.get(it));
+      }
+    } else {
+      operations.addObject().put("op", "replace").put("path", path).set("value", target);
+    }
+  }
+
+  private static String escape(String field) {
+    return field.replace("~", "~0").replace("/", "~1");
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 11:20
+ */
+package com.marcnuri.yakd.watch;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithParentName;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Configuration of the {@link ResourceProjection} applied to the watched resources.
+ *
+ * <pre>
+ * yakd.watch.projection.strip-managed-fields=true
+ * yakd.watch.projection.strip-annotations=kubectl.kubernetes.io/last-applied-configuration
+ * yakd.watch.projection.kinds."Secret".strip-managed-fields=false
+ * </pre>
+ */
+@ConfigMapping(prefix = "yakd.watch.projection")
+public interface ProjectionConfig {
+
+  /**
+   * Rule applied to every kind.
+   */
+  @WithParentName
+  Rule defaults();
+
+  /**
+   * Per-kind rules, unset values fall back to the default rule.
+   */
+  Map<String, Rule> kinds();
+
+  interface Rule {
+    Optional<Boolean> stripManagedFields();
+
+    Optional<List<String>> stripAnnotations();
+  }
+}
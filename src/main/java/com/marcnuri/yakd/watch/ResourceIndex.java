@@ -0,0 +1,132 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 18:55
+ */
+package com.marcnuri.yakd.watch;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Secondary indexes (term value to resource uids, per kind) of the {@link WatchCache} store.
+ *
+ * <p> Every resource is indexed by namespace, owner reference uids, node name (Pods) and the configured label keys.
+ * The indexes are updated incrementally with each stored event so that {@link IndexQuery} lookups take time
+ * proportional to the number of results instead of the number of cached resources.
+ *
+ * <p> Not thread-safe, the {@link WatchCache} accesses it while holding its lock.
+ */
+public final class ResourceIndex {
+
+  private final List<String> indexedTerms;
+  // kind -> term -> value -> uids
+  private final Map<String, Map<String, Map<String, Set<String>>>> indexes;
+
+  /**
+   * @param labelKeys the label keys to index (e.g. {@code app.kubernetes.io/name}).
+   */
+  public ResourceIndex(Set<String> labelKeys) {
+    indexedTerms = new ArrayList<>(List.of(IndexQuery.NAMESPACE, IndexQuery.OWNER_UID, IndexQuery.NODE_NAME));
+    labelKeys.stream().sorted().map(key -> IndexQuery.LABEL_PREFIX + key).forEach(indexedTerms::add);
+    indexes = new HashMap<>();
+  }
+
+  public boolean isIndexed(String term) {
+    return indexedTerms.contains(term);
+  }
+
+  /**
+   * Updates the index entries of a resource.
+   *
+   * @param previous the previously stored version of the resource, or null if it was added.
+   * @param current the new version of the resource, or null if it was deleted.
+   */
+  void update(HasMetadata previous, HasMetadata current) {
+    for (var term : indexedTerms) {
+      final var previousValues = previous == null ? List.<String>of() : IndexQuery.values(previous, term);
+      final var currentValues = current == null ? List.<String>of() : IndexQuery.values(current, term);
+      if (previousValues.equals(currentValues)) {
+        continue;
+      }
+      previousValues.forEach(value -> remove(previous, term, value));
+      currentValues.forEach(value -> indexes.computeIfAbsent(current.getKind(), k -> new HashMap<>())
+        .computeIfAbsent(term, t -> new HashMap<>())
+        .computeIfAbsent(value, v -> new LinkedHashSet<>())
+        .add(current.getMetadata().getUid()));
+    }
+  }
+
+  private void remove(HasMetadata resource, String term, String value) {
+    final var kindIndex = indexes.get(resource.getKind());
+    final Map<String, Set<String>> values = kindIndex == null ? null : kindIndex.get(term);
+    final Set<String> uids = values == null ? null : values.get(value);
+    if (uids == null) {
+      return;
+    }
+    uids.remove(resource.getMetadata().getUid());
+    // Empty entries are removed so that the index doesn't grow with values (e.g. labels) that are no longer used
+    if (uids.isEmpty()) {
+      values.remove(value);
+      if (values.isEmpty()) {
+        kindIndex.remove(term);
+        if (kindIndex.isEmpty()) {
+          indexes.remove(resource.getKind());
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the number of indexed kinds, terms and values, every entry references at least one resource.
+   */
+  int size() {
+    return indexes.values().stream()
+      .mapToInt(kindIndex -> 1 + kindIndex.values().stream().mapToInt(values -> 1 + values.size()).sum())
+      .sum();
+  }
+
+  /**
+   * Returns the uids of the candidate resources for the query (the smallest set among the indexed terms).
+   *
+   * <p> Candidates must still be checked with {@link IndexQuery#matches(HasMetadata)}, the query may contain
+   * several or non-indexed terms.
+   *
+   * @return the candidate uids or an empty Optional if none of the query terms is indexed.
+   */
+  Optional<Set<String>> candidates(String kind, IndexQuery query) {
+    final var kindIndex = indexes.getOrDefault(kind, Map.of());
+    return query.terms().entrySet().stream()
+      .filter(term -> isIndexed(term.getKey()))
+      .map(term -> kindIndex.getOrDefault(term.getKey(), Map.of()).getOrDefault(term.getValue(), Set.of()))
+      .min(Comparator.comparingInt(Set::size));
+  }
+
+  void remove(String kind) {
+    indexes.remove(kind);
+  }
+
+  void clear() {
+    indexes.clear();
+  }
+}
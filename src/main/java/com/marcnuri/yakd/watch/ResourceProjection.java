@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 11:20
+ */
+package com.marcnuri.yakd.watch;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Slims down the watched resources before they are cached and sent to the clients.
+ *
+ * <p> Fields such as {@code metadata.managedFields} or the
+ * {@code kubectl.kubernetes.io/last-applied-configuration} annotation are irrelevant for the dashboard
+ * views and usually account for most of the bytes of each event. The edit pages retrieve the full
+ * resource from the API on demand.
+ *
+ * <p> Resources are projected in place, watch events are deserialized for each event and not shared.
+ */
+public final class ResourceProjection {
+
+  private static final ResourceProjection NONE = new ResourceProjection(Rule.NONE, Map.of());
+
+  private final Rule defaultRule;
+  private final Map<String, Rule> kindRules;
+
+  public ResourceProjection(Rule defaultRule, Map<String, Rule> kindRules) {
+    this.defaultRule = defaultRule;
+    this.kindRules = kindRules;
+  }
+
+  public static ResourceProjection none() {
+    return NONE;
+  }
+
+  public static ResourceProjection from(ProjectionConfig config) {
+    final var defaultRule = new Rule(
+      config.defaults().stripManagedFields().orElse(false),
+      new HashSet<>(config.defaults().stripAnnotations().orElse(List.of()))
+    );
+    final var kindRules = new HashMap<String, Rule>();
+    config.kinds().forEach((kind, rule) -> kindRules.put(kind, new Rule(
+      rule.stripManagedFields().orElse(defaultRule.stripManagedFields()),
+      rule.stripAnnotations().<Set<String>>map(HashSet::new).orElse(defaultRule.stripAnnotations())
+    )));
+    return new ResourceProjection(defaultRule, kindRules);
+  }
+
+  public WatchEvent<?> apply(WatchEvent<?> event) {
+    if (event.object() instanceof HasMetadata resource) {
+      project(resource);
+    }
+    return event;
+  }
+
+  public <T extends HasMetadata> T project(T resource) {
+    final var metadata = resource.getMetadata();
+    if (metadata == null) {
+      return resource;
+    }
+    final var rule = kindRules.getOrDefault(resource.getKind(), defaultRule);
+    if (rule.stripManagedFields()) {
+      metadata.setManagedFields(null);
+    }
+    if (metadata.getAnnotations() != null && !rule.stripAnnotations().isEmpty()) {
+      metadata.getAnnotations().keySet().removeAll(rule.stripAnnotations());
+    }
+    return resource;
+  }
+
+  /**
+   * @param stripManagedFields remove {@code metadata.managedFields}.
+   * @param stripAnnotations annotation keys to remove from {@code metadata.annotations}.
+   */
+  public record Rule(boolean stripManagedFields, Set<String> stripAnnotations) {
+    static final Rule NONE = new Rule(false, Set.of());
+  }
+}
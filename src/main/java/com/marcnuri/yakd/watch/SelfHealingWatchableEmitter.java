@@ -19,6 +19,8 @@ package com.marcnuri.yakd.watch;
 
 import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.kubernetes.client.WatcherException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.smallrye.mutiny.subscription.MultiEmitter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,26 +30,56 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+/**
+ * Emits the events of every {@link Watchable}, restarting the watches that stop.
+ *
+ * <p> Each subscription runs as a separate task in the provided executor (virtual threads) since it might
+ * block on the API server, the scheduler is only used to delay the retries.
+ *
+ * <p> Watchables can be added and removed while the emitter is running (e.g. watches started on demand).
+ */
 public class SelfHealingWatchableEmitter implements Consumer<MultiEmitter<? super WatchEvent<?>>> {
 
   private static final Logger LOG = LoggerFactory.getLogger(SelfHealingWatchableEmitter.class);
-  private final ScheduledExecutorService executorService;
+  private final ScheduledExecutorService scheduler;
+  private final ExecutorService executorService;
   private final List<Watchable<?>> watchables;
-  private final Map<Class<?>, Closeable> activeWatches;
+  private final MeterRegistry meterRegistry;
+  private final boolean syncMarkers;
+  private final Map<Watchable<?>, Closeable> activeWatches;
+  private volatile MultiEmitter<? super WatchEvent<?>> emitter;
+
+  public SelfHealingWatchableEmitter(
+    ScheduledExecutorService scheduler, ExecutorService executorService, List<Watchable<?>> watchables,
+    MeterRegistry meterRegistry) {
+    this(scheduler, executorService, watchables, meterRegistry, false);
+  }
 
-  public SelfHealingWatchableEmitter(ScheduledExecutorService executorService, List<Watchable<?>> watchables) {
+  /**
+   * @param syncMarkers whether to emit a {@link WatchSynced} marker after each (re)subscription, once the
+   *                    watchable emitted the current state of its resources.
+   */
+  public SelfHealingWatchableEmitter(
+    ScheduledExecutorService scheduler, ExecutorService executorService, List<Watchable<?>> watchables,
+    MeterRegistry meterRegistry, boolean syncMarkers) {
+    this.scheduler = scheduler;
     this.executorService = executorService;
-    this.watchables = watchables;
+    this.watchables = new CopyOnWriteArrayList<>(watchables);
+    this.meterRegistry = meterRegistry;
+    this.syncMarkers = syncMarkers;
     activeWatches = new ConcurrentHashMap<>();
   }
 
   @Override
   public void accept(MultiEmitter<? super WatchEvent<?>> emitter) {
+    this.emitter = emitter;
     watchables.forEach(watchable -> executorService.execute(() -> subscribe(watchable, emitter)));
     emitter.onTermination(() -> {
       LOG.debug("WatchEvent emitter stopped downstream, cleaning all resources");
@@ -55,9 +87,34 @@ public class SelfHealingWatchableEmitter implements Consumer<MultiEmitter<? supe
     });
   }
 
+  /**
+   * Starts watching the provided watchable (once the emitter is subscribed if it isn't yet).
+   */
+  public void add(Watchable<?> watchable) {
+    watchables.add(watchable);
+    final var current = emitter;
+    if (current != null) {
+      executorService.execute(() -> subscribe(watchable, current));
+    }
+  }
+
+  /**
+   * Stops watching the provided watchable, its watch is no longer restarted.
+   */
+  public void remove(Watchable<?> watchable) {
+    watchables.remove(watchable);
+    final var watch = activeWatches.remove(watchable);
+    if (watch != null) {
+      close(watch);
+    }
+  }
 
   private void subscribe(Watchable<?> watchable, MultiEmitter<? super WatchEvent<?>> emitter) {
-    activeWatches.computeIfPresent(watchable.getClass(), (k, v) -> {
+    if (!watchables.contains(watchable)) {
+      LOG.debug("Watchable {} was removed, not subscribing", watchable.getType());
+      return;
+    }
+    activeWatches.computeIfPresent(watchable, (k, v) -> {
       LOG.debug("Watchable {} already subscribed, cancelling previous subscription", watchable.getType());
       close(v);
       return null;
@@ -65,26 +122,42 @@ public class SelfHealingWatchableEmitter implements Consumer<MultiEmitter<? supe
     if (!emitter.isCancelled() && watchable.getAvailabilityCheckFunction().map(Supplier::get).orElse(true)) {
       final Consumer<WatcherException> heal = throwable -> {
         // Fabric8 Watchers automatically reconnect on timeout, so we only need to heal on other errors or completions
-        if (!emitter.isCancelled() && watchable.isRetrySubscription()) {
+        if (!emitter.isCancelled() && watchable.isRetrySubscription() && watchables.contains(watchable)) {
           LOG.debug("Watchable {} stopped, self healing with delay of {} seconds",
             watchable.getType(), watchable.getSelfHealingDelay().getSeconds());
+          count("yakd.watch.upstream.self-heals", "Upstream watches restarted after stopping", watchable);
           emitter.emit(new WatchEvent<>(Watcher.Action.ERROR, new RequestRestartError(watchable, throwable)));
-          executorService.schedule(() ->
-            subscribe(watchable, emitter), watchable.getSelfHealingDelay().getSeconds(), TimeUnit.SECONDS);
+          schedule(() -> subscribe(watchable, emitter), watchable.getSelfHealingDelay().getSeconds());
         } else if (LOG.isDebugEnabled()) {
           LOG.debug("Watchable {} stopped", watchable.getType());
         }
       };
+      count("yakd.watch.upstream.subscriptions", "Upstream watches started (first subscription and restarts)", watchable);
       final var watch = watchable.watch().subscribe(heal, emitter);
-      activeWatches.put(watchable.getClass(), watch);
+      if (syncMarkers) {
+        // Subscribers emit the current state before returning
+        emitter.emit(new WatchEvent<>(Watcher.Action.BOOKMARK, new WatchSynced(watchable.getType())));
+      }
+      activeWatches.put(watchable, watch);
+      if (!watchables.contains(watchable)) {
+        // Removed while subscribing
+        remove(watchable);
+      }
     } else if (!emitter.isCancelled()) {
       LOG.debug("Watchable {} is not available, retrying in {} seconds",
         watchable.getType(), watchable.getRetrySubscriptionDelay().getSeconds());
-      executorService.schedule(() ->
-        subscribe(watchable, emitter), watchable.getRetrySubscriptionDelay().getSeconds(), TimeUnit.SECONDS);
+      schedule(() -> subscribe(watchable, emitter), watchable.getRetrySubscriptionDelay().getSeconds());
     }
   }
 
+  private void schedule(Runnable task, long delaySeconds) {
+    scheduler.schedule(() -> executorService.execute(task), delaySeconds, TimeUnit.SECONDS);
+  }
+
+  private void count(String name, String description, Watchable<?> watchable) {
+    Counter.builder(name).tag("kind", watchable.getType()).description(description).register(meterRegistry).increment();
+  }
+
   private static void close(Closeable closeable) {
     try {
       closeable.close();
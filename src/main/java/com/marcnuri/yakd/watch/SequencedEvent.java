@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 09:30
+ */
+package com.marcnuri.yakd.watch;
+
+/**
+ * A {@link WatchEvent} tagged with its position in the shared {@link WatchCache} stream.
+ *
+ * <p> A {@code null} event represents a resync marker, the client must discard its state since
+ * the events that follow are a full snapshot.
+ *
+ * @param epoch identifies the cache instance that produced the sequence.
+ * @param sequence position of the event in the shared stream.
+ * @param event the watch event or null for a resync marker.
+ * @param patch delta encoding of the event relative to the previous version of the resource in the stream, or null.
+ * @param payload the shared JSON encoding of the event and patch, or null if the event must be serialized by its consumer.
+ */
+public record SequencedEvent(String epoch, long sequence, WatchEvent<?> event, WatchPatch patch, EncodedPayload payload) {
+
+  public SequencedEvent(String epoch, long sequence, WatchEvent<?> event) {
+    this(epoch, sequence, event, null, null);
+  }
+
+  public SequencedEvent(String epoch, long sequence, WatchEvent<?> event, WatchPatch patch) {
+    this(epoch, sequence, event, patch, null);
+  }
+
+  static SequencedEvent resync(String epoch, long sequence) {
+    return new SequencedEvent(epoch, sequence, null);
+  }
+
+  /**
+   * Returns this event without its patch, for clients that might not hold the previous version of the resource.
+   */
+  SequencedEvent withoutPatch() {
+    return patch == null ? this : new SequencedEvent(epoch, sequence, event, null, payload);
+  }
+
+  /**
+   * Returns this event as replayed to a reconnecting client, without its patch and receive time (not a live event).
+   */
+  SequencedEvent replayed() {
+    return new SequencedEvent(epoch, sequence, new WatchEvent<>(event.type(), event.object()), null, payload);
+  }
+
+  public boolean isResync() {
+    return event == null;
+  }
+
+  /**
+   * The id to be used for the Server-Sent Event, clients send it back in the Last-Event-ID header
+   * when reconnecting.
+   *
+   * @return the event id.
+   */
+  public String id() {
+    return epoch + "-" + sequence;
+  }
+}
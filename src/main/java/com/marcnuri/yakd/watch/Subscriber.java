@@ -26,6 +26,13 @@ import java.util.function.Consumer;
 
 public interface Subscriber<T> {
 
+  /**
+   * Emits the current state of the resources (before returning) and then their changes.
+   *
+   * @param close called when the subscription stops.
+   * @param emitter the emitter for the watch events.
+   * @return the subscription, closed to stop it.
+   */
   Closeable subscribe(Consumer<WatcherException> close, MultiEmitter<? super WatchEvent<T>> emitter);
 
   @SuppressWarnings("unchecked")
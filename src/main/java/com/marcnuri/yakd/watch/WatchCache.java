@@ -0,0 +1,618 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 08:45
+ */
+package com.marcnuri.yakd.watch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.Watcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.subscription.BackPressureStrategy;
+import io.smallrye.mutiny.subscription.Cancellable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Process-wide cache of the watched cluster resources.
+ *
+ * <p> Holds a single upstream subscription (one watch per {@link Watchable}) shared by every downstream
+ * client. Each event is applied to an in-memory store (kind -> uid -> latest event) and then fanned out
+ * to the subscribed clients. Events are slimmed down by the configured {@link ResourceProjection} first.
+ *
+ * <p> New subscribers receive a snapshot of the store as {@link Watcher.Action#ADDED} events followed by
+ * the shared live delta stream.
+ *
+ * <p> Every live event is assigned a sequence number and kept in a bounded replay log. Reconnecting
+ * subscribers whose last seen event is still in the log receive only the missed events, otherwise
+ * they receive a resync marker followed by the snapshot.
+ *
+ * <p> While there are subscribers accepting patches, {@link Watcher.Action#MODIFIED} events are also encoded
+ * (once) as a {@link WatchPatch} relative to the previous version of the resource, if smaller.
+ *
+ * <p> Events (live and stored) carry an {@link EncodedPayload} so that each of them is serialized to JSON
+ * once, regardless of the number of subscribers.
+ *
+ * <p> Each subscriber consumes the stream at its own pace through a bounded, coalescing
+ * {@link WatchSubscription} queue, a slow client never blocks the upstream or any other client.
+ *
+ * <p> The store also serves the REST list and get requests ({@link #list(Class, String, Duration)}) once the
+ * initial state of the requested kind has been received. Reads can wait for a resourceVersion (e.g. returned by
+ * a previous write) to be observed by the upstream watch. The stored resources are kept in a {@link ResourceIndex}
+ * to serve filtered lists ({@link #list(Class, IndexQuery, String, Duration)}) without scanning the whole kind.
+ */
+public class WatchCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(WatchCache.class);
+
+  private final ScheduledExecutorService scheduler;
+  private final ExecutorService subscribeExecutor;
+  private final List<Watchable<?>> watchables;
+  private final int replayLogSize;
+  private final int subscriberQueueSize;
+  private final ResourceProjection projection;
+  private final ResourceIndex index;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+  private final WatchSubscription.Metrics subscriptionMetrics;
+  private final String epoch;
+  private final Object lock;
+  private final Map<String, Map<String, SequencedEvent>> store;
+  // kind -> namespace/name -> uid, single resource reads
+  private final Map<String, Map<String, String>> names;
+  private final Deque<SequencedEvent> replayLog;
+  private final Map<String, WatchSubscription> subscribers;
+  private final AtomicInteger patchSubscribers;
+  private final Set<String> startedKinds;
+  private final Map<String, Counter> eventCounters;
+  private final Set<String> syncedKinds;
+  private final Map<String, Long> observedVersions;
+  private long sequence;
+  private long upstreamStartNanos;
+  private Cancellable upstream;
+  private SelfHealingWatchableEmitter upstreamEmitter;
+
+  @SuppressWarnings("java:S107")
+  public WatchCache(
+    ScheduledExecutorService scheduler, ExecutorService subscribeExecutor, List<Watchable<?>> watchables,
+    int replayLogSize, int subscriberQueueSize, ResourceProjection projection, ResourceIndex index,
+    ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+    this.scheduler = scheduler;
+    this.subscribeExecutor = subscribeExecutor;
+    this.watchables = new CopyOnWriteArrayList<>(watchables);
+    this.replayLogSize = replayLogSize;
+    this.subscriberQueueSize = subscriberQueueSize;
+    this.projection = projection;
+    this.index = index;
+    this.objectMapper = objectMapper;
+    this.meterRegistry = meterRegistry;
+    subscriptionMetrics = new WatchSubscription.Metrics(
+      Counter.builder("yakd.watch.subscriber.coalesced").tag("result", "replaced")
+        .description("Queued watch events replaced by a newer event for the same resource").register(meterRegistry),
+      Counter.builder("yakd.watch.subscriber.coalesced").tag("result", "cancelled")
+        .description("Queued watch events cancelled by a deletion of the same resource").register(meterRegistry),
+      Counter.builder("yakd.watch.subscriber.evictions")
+        .description("Watch subscribers evicted for exceeding their queue size").register(meterRegistry)
+    );
+    epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    lock = new Object();
+    store = new LinkedHashMap<>();
+    names = new HashMap<>();
+    replayLog = new ArrayDeque<>();
+    subscribers = new ConcurrentHashMap<>();
+    patchSubscribers = new AtomicInteger();
+    startedKinds = ConcurrentHashMap.newKeySet();
+    eventCounters = new ConcurrentHashMap<>();
+    syncedKinds = new HashSet<>();
+    observedVersions = new HashMap<>();
+    Gauge.builder("yakd.watch.subscribers", subscribers, Map::size)
+      .description("Active watch subscribers").register(meterRegistry);
+    Gauge.builder("yakd.watch.subscriber.queue.depth", subscribers,
+        s -> s.values().stream().mapToInt(WatchSubscription::getQueueDepth).sum())
+      .description("Watch events queued across all subscribers").register(meterRegistry);
+    Gauge.builder("yakd.watch.subscriber.queue.depth.max", subscribers,
+        s -> s.values().stream().mapToInt(WatchSubscription::getQueueDepth).max().orElse(0))
+      .description("Watch events queued for the slowest subscriber").register(meterRegistry);
+  }
+
+  /**
+   * Subscribe to the cache.
+   *
+   * @param lastEventId the id of the last event received by a reconnecting client, or null.
+   * @return a Multi emitting every event, see {@link #newWatch(String, String, WatchFilter, boolean)}.
+   */
+  public Multi<SequencedEvent> newWatch(String lastEventId) {
+    return newWatch(UUID.randomUUID().toString(), lastEventId, WatchFilter.ALL, false);
+  }
+
+  /**
+   * Subscribe to the cache.
+   *
+   * <p> The upstream watches are started on the first subscription and shared from then on.
+   *
+   * @param id the subscription id, used to change the subscription scope with {@link #updateWatch(String, WatchFilter)}.
+   * @param lastEventId the id of the last event received by a reconnecting client, or null.
+   * @param filter the scope of the subscription.
+   * @param patch whether the subscriber accepts {@link WatchPatch} encoded events.
+   * @return a Multi emitting the missed events (or a resync marker and the current snapshot) followed by the live events.
+   */
+  public Multi<SequencedEvent> newWatch(String id, String lastEventId, WatchFilter filter, boolean patch) {
+    return Multi.createFrom().deferred(() -> Multi.createFrom().publisher(new WatchSubscription(
+      id, filter, patch, subscriberQueueSize, subscription -> subscribe(subscription, lastEventId), this::unsubscribe,
+      subscriptionMetrics)));
+  }
+
+  /**
+   * Changes the scope of a live subscription.
+   *
+   * <p> The subscriber receives a resync marker followed by the snapshot for the new scope.
+   *
+   * @param id the subscription id.
+   * @param filter the new scope of the subscription.
+   * @return false if there's no active subscription for the provided id.
+   */
+  public boolean updateWatch(String id, WatchFilter filter) {
+    final var subscription = subscribers.get(id);
+    if (subscription == null) {
+      return false;
+    }
+    synchronized (lock) {
+      subscription.rescope(filter, resync(filter));
+    }
+    subscription.drain();
+    return true;
+  }
+
+  /**
+   * Lists the cached resources of the provided type.
+   *
+   * <p> Starts the upstream watches if they aren't running yet.
+   *
+   * @param type the resource type.
+   * @param minResourceVersion the resourceVersion the cache must have observed for the kind, or null.
+   * @param timeout the maximum time to wait for the resourceVersion.
+   * @return the cached resources or an empty Optional if the kind is not (yet) synced or the resourceVersion
+   *   wasn't observed in time.
+   */
+  public <T extends HasMetadata> Optional<List<T>> list(Class<T> type, String minResourceVersion, Duration timeout) {
+    return list(type, IndexQuery.ALL, minResourceVersion, timeout);
+  }
+
+  /**
+   * Lists the cached resources of the provided type matching the query.
+   *
+   * <p> Indexed query terms are resolved with the {@link ResourceIndex}, only the candidates are checked.
+   *
+   * @see #list(Class, String, Duration)
+   */
+  public <T extends HasMetadata> Optional<List<T>> list(
+    Class<T> type, IndexQuery query, String minResourceVersion, Duration timeout) {
+    final var kind = type.getSimpleName();
+    synchronized (lock) {
+      start();
+      if (!awaitVersion(kind, minResourceVersion, timeout)) {
+        return Optional.empty();
+      }
+      if (query.isEmpty()) {
+        return Optional.of(stored(type).toList());
+      }
+      final var candidates = index.candidates(kind, query);
+      if (candidates.isEmpty()) {
+        return Optional.of(stored(type).filter(query::matches).toList());
+      }
+      final var kindStore = store.getOrDefault(kind, Map.of());
+      return Optional.of(candidates.get().stream()
+        .map(kindStore::get)
+        .filter(Objects::nonNull)
+        .map(stored -> stored.event().object())
+        .filter(type::isInstance)
+        .map(type::cast)
+        .filter(query::matches)
+        .toList());
+    }
+  }
+
+  /**
+   * Retrieves a cached resource of the provided type.
+   *
+   * @param namespace the namespace of the resource, or null for cluster-scoped resources.
+   * @param name the name of the resource.
+   * @return an Optional containing the resource or an empty Optional if the resource is not cached,
+   *   see {@link #list(Class, String, Duration)}.
+   */
+  public <T extends HasMetadata> Optional<T> get(
+    Class<T> type, String namespace, String name, String minResourceVersion, Duration timeout) {
+    final var kind = type.getSimpleName();
+    synchronized (lock) {
+      start();
+      if (!awaitVersion(kind, minResourceVersion, timeout)) {
+        return Optional.empty();
+      }
+      final var uid = names.getOrDefault(kind, Map.of()).get(nameKey(namespace, name));
+      final var stored = uid == null ? null : store.getOrDefault(kind, Map.of()).get(uid);
+      return Optional.ofNullable(stored)
+        .map(s -> s.event().object())
+        .filter(type::isInstance)
+        .map(type::cast);
+    }
+  }
+
+  /**
+   * Starts watching an additional {@link Watchable} (e.g. on demand), its events are shared like any other.
+   *
+   * @param watchable the watchable to add.
+   * @return false if a watchable of the same type is already watched (their resources would share the store).
+   */
+  public boolean addWatchable(Watchable<?> watchable) {
+    synchronized (lock) {
+      if (watchables.stream().anyMatch(w -> w.getType().equals(watchable.getType()))) {
+        return false;
+      }
+      watchables.add(watchable);
+      if (upstreamEmitter != null) {
+        upstreamEmitter.add(watchable);
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Stops watching a {@link Watchable} added with {@link #addWatchable(Watchable)}, its resources are evicted.
+   *
+   * <p> A single {@link RequestRestartError} event is published for the kind (instead of a
+   * {@link Watcher.Action#DELETED} event per resource) so that subscribers clear it at once.
+   */
+  public void removeWatchable(Watchable<?> watchable) {
+    synchronized (lock) {
+      if (!watchables.remove(watchable)) {
+        return;
+      }
+      if (upstreamEmitter != null) {
+        upstreamEmitter.remove(watchable);
+      }
+      final var cleared = new WatchEvent<>(Watcher.Action.ERROR, new RequestRestartError(watchable, null));
+      // Evicts the kind from the store (see update)
+      publish(new SequencedEvent(epoch, ++sequence, cleared, null, new EncodedPayload(objectMapper, cleared, null)));
+    }
+    subscribers.values().forEach(WatchSubscription::drain);
+  }
+
+  public int getSubscriberCount() {
+    return subscribers.size();
+  }
+
+  public void close() {
+    synchronized (lock) {
+      if (upstream != null) {
+        upstream.cancel();
+        upstream = null;
+        upstreamEmitter = null;
+      }
+      store.clear();
+      names.clear();
+      index.clear();
+      replayLog.clear();
+      syncedKinds.clear();
+      observedVersions.clear();
+    }
+  }
+
+  private <T extends HasMetadata> Stream<T> stored(Class<T> type) {
+    return store.getOrDefault(type.getSimpleName(), Map.of()).values().stream()
+      .map(stored -> stored.event().object())
+      .filter(type::isInstance)
+      .map(type::cast);
+  }
+
+  /**
+   * Waits (holding the lock monitor) until the kind is synced and has observed the provided resourceVersion.
+   *
+   * <p> Kinds that aren't synced yet are not awaited, the caller should fall back to a live read.
+   */
+  private boolean awaitVersion(String kind, String minResourceVersion, Duration timeout) {
+    if (!syncedKinds.contains(kind)) {
+      return false;
+    }
+    if (minResourceVersion == null || minResourceVersion.isBlank()) {
+      return true;
+    }
+    final long minVersion;
+    try {
+      minVersion = Long.parseLong(minResourceVersion);
+    } catch (NumberFormatException ex) {
+      // resourceVersions are opaque, only the numeric ones (etcd) can be compared
+      return false;
+    }
+    final long deadline = System.nanoTime() + timeout.toNanos();
+    try {
+      while (syncedKinds.contains(kind) && observedVersions.getOrDefault(kind, 0L) < minVersion) {
+        final long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          return false;
+        }
+        TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+    return syncedKinds.contains(kind);
+  }
+
+  private void subscribe(WatchSubscription subscription, String lastEventId) {
+    synchronized (lock) {
+      start();
+      // Replay/snapshot and registration happen atomically so that no live event is lost or duplicated
+      final var lastSequence = resumableSequence(lastEventId);
+      if (lastSequence >= 0) {
+        LOG.debug("Resuming watch subscriber from event {}", lastEventId);
+        // The client might not hold the base versions of the replayed patches
+        subscription.backlog(replayLog.stream()
+          .filter(e -> e.sequence() > lastSequence && subscription.getFilter().test(e.event()))
+          .map(SequencedEvent::replayed)
+          .toList());
+      } else {
+        subscription.backlog(resync(subscription.getFilter()));
+      }
+      subscribers.put(subscription.getId(), subscription);
+      if (subscription.isPatch()) {
+        patchSubscribers.incrementAndGet();
+      }
+    }
+    if (subscription.isCancelled()) {
+      unsubscribe(subscription);
+    }
+  }
+
+  private void unsubscribe(WatchSubscription subscription) {
+    LOG.debug("Watch subscriber stopped downstream, removing from cache subscribers");
+    if (subscribers.remove(subscription.getId(), subscription) && subscription.isPatch()) {
+      patchSubscribers.decrementAndGet();
+    }
+  }
+
+  /**
+   * Returns a resync marker followed by the snapshot of the store matching the filter.
+   */
+  private List<SequencedEvent> resync(WatchFilter filter) {
+    final var ret = new ArrayList<SequencedEvent>();
+    ret.add(SequencedEvent.resync(epoch, sequence));
+    // Snapshot events represent the state as of the current sequence
+    store.values().forEach(kind -> kind.values().stream().filter(stored -> filter.test(stored.event())).forEach(stored ->
+      ret.add(new SequencedEvent(epoch, sequence, stored.event(), null, stored.payload()))));
+    return ret;
+  }
+
+  /**
+   * Returns the sequence after which the events for the provided id can be replayed or -1 if the
+   * events are no longer available (or the id belongs to another epoch).
+   */
+  private long resumableSequence(String lastEventId) {
+    if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) {
+      return -1;
+    }
+    final long lastSequence;
+    try {
+      lastSequence = Long.parseLong(lastEventId.substring(epoch.length() + 1));
+    } catch (NumberFormatException ex) {
+      return -1;
+    }
+    final var oldest = replayLog.isEmpty() ? sequence + 1 : replayLog.peekFirst().sequence();
+    if (lastSequence > sequence || lastSequence < oldest - 1) {
+      return -1;
+    }
+    return lastSequence;
+  }
+
+  private void start() {
+    if (upstream == null) {
+      LOG.debug("Starting shared upstream watches for {} watchables", watchables.size());
+      upstreamStartNanos = System.nanoTime();
+      startedKinds.clear();
+      upstreamEmitter = new SelfHealingWatchableEmitter(scheduler, subscribeExecutor, watchables, meterRegistry, true);
+      upstream = Multi.createFrom()
+        .<WatchEvent<?>>emitter(upstreamEmitter, BackPressureStrategy.BUFFER)
+        .subscribe()
+        .with(this::onEvent, throwable -> LOG.error("Shared upstream watch failed: {}", throwable.getMessage()));
+    }
+  }
+
+  private void onEvent(WatchEvent<?> upstreamEvent) {
+    if (upstreamEvent.object() instanceof WatchSynced synced) {
+      // Internal marker, the initial state of the kind is now stored
+      synchronized (lock) {
+        syncedKinds.add(synced.type());
+        lock.notifyAll();
+      }
+      return;
+    }
+    recordStartup(upstreamEvent);
+    countEvent(upstreamEvent);
+    // Projected once for the store and every subscriber
+    final var event = projection.apply(upstreamEvent);
+    // Encoded outside the lock, the store is only updated by this thread (events are received sequentially)
+    final var payload = encode(event);
+    synchronized (lock) {
+      publish(new SequencedEvent(epoch, ++sequence, event, payload.watchPatch(), payload));
+    }
+    subscribers.values().forEach(WatchSubscription::drain);
+  }
+
+  /**
+   * Stores a live event, appends it to the replay log and offers it to the subscribers (holding the lock).
+   */
+  private void publish(SequencedEvent sequenced) {
+    update(sequenced);
+    replayLog.addLast(sequenced);
+    while (replayLog.size() > replayLogSize) {
+      replayLog.removeFirst();
+    }
+    subscribers.values().forEach(subscriber -> subscriber.offer(sequenced));
+    lock.notifyAll();
+  }
+
+  /**
+   * Records the time elapsed from the upstream start to the first event of each kind.
+   */
+  private void recordStartup(WatchEvent<?> event) {
+    if (event.object() instanceof HasMetadata resource && startedKinds.add(resource.getKind())) {
+      final var elapsed = Duration.ofNanos(System.nanoTime() - upstreamStartNanos);
+      LOG.debug("First {} event received {} ms after starting the upstream watches", resource.getKind(), elapsed.toMillis());
+      Timer.builder("yakd.watch.startup").tag("kind", resource.getKind())
+        .description("Time from the upstream watches start to the first event of each kind")
+        .register(meterRegistry).record(elapsed);
+    }
+  }
+
+  private void countEvent(WatchEvent<?> event) {
+    eventCounters.computeIfAbsent(event.kind() + "/" + event.type(), k -> Counter.builder("yakd.watch.events")
+        .tag("kind", event.kind()).tag("type", event.type().name())
+        .description("Watch events received from the API server").register(meterRegistry))
+      .increment();
+  }
+
+  /**
+   * Encodes the event, while there are patch subscribers MODIFIED events are also encoded as a patch from the
+   * previous (stored) version of the resource if it's smaller than the full event.
+   */
+  private EncodedPayload encode(WatchEvent<?> event) {
+    if (patchSubscribers.get() == 0 || event.type() != Watcher.Action.MODIFIED
+      || !(event.object() instanceof HasMetadata resource) || resource.getMetadata() == null) {
+      return new EncodedPayload(objectMapper, event, null);
+    }
+    final HasMetadata previous;
+    synchronized (lock) {
+      previous = storedVersion(resource);
+    }
+    if (previous == null) {
+      return new EncodedPayload(objectMapper, event, null);
+    }
+    final JsonNode operations = JsonPatch.diff(objectMapper.valueToTree(previous), objectMapper.valueToTree(resource));
+    return EncodedPayload.smallest(objectMapper, event, new WatchPatch(resource.getKind(),
+      resource.getMetadata().getUid(), previous.getMetadata().getResourceVersion(), operations));
+  }
+
+  private void update(SequencedEvent sequenced) {
+    final var event = sequenced.event();
+    if (event.object() instanceof HasMetadata resource && resource.getMetadata() != null) {
+      observe(resource);
+      final var previous = storedVersion(resource);
+      switch (event.type()) {
+        // Stored without its receive time (snapshots are not live events), the encoded payload is shared
+        case ADDED -> {
+          index.update(previous, resource);
+          storeName(resource);
+          store.computeIfAbsent(resource.getKind(), k -> new LinkedHashMap<>())
+            .put(resource.getMetadata().getUid(), event.received() == 0 ? sequenced : new SequencedEvent(
+              epoch, sequenced.sequence(), new WatchEvent<>(Watcher.Action.ADDED, resource), null, sequenced.payload()));
+        }
+        case MODIFIED -> {
+          index.update(previous, resource);
+          storeName(resource);
+          // Stored as an addition (snapshot), encoded only if a snapshot is ever requested
+          final var added = new WatchEvent<>(Watcher.Action.ADDED, resource);
+          store.computeIfAbsent(resource.getKind(), k -> new LinkedHashMap<>())
+            .put(resource.getMetadata().getUid(),
+              new SequencedEvent(epoch, sequenced.sequence(), added, null, new EncodedPayload(objectMapper, added, null)));
+        }
+        case DELETED -> {
+          index.update(previous, null);
+          final var kind = store.get(resource.getKind());
+          if (kind != null) {
+            kind.remove(resource.getMetadata().getUid());
+          }
+          final var kindNames = names.get(resource.getKind());
+          if (kindNames != null) {
+            kindNames.remove(nameKey(resource.getMetadata().getNamespace(), resource.getMetadata().getName()),
+              resource.getMetadata().getUid());
+          }
+        }
+        default -> LOG.trace("Ignoring {} event for cache store", event.type());
+      }
+    } else if (event.type() == Watcher.Action.ERROR && event.object() instanceof RequestRestartError error) {
+      // The upstream watch for this kind is restarting and will send its items again
+      store.remove(error.getType());
+      names.remove(error.getType());
+      index.remove(error.getType());
+      syncedKinds.remove(error.getType());
+      observedVersions.remove(error.getType());
+    }
+  }
+
+  private void storeName(HasMetadata resource) {
+    names.computeIfAbsent(resource.getKind(), k -> new HashMap<>())
+      .put(nameKey(resource.getMetadata().getNamespace(), resource.getMetadata().getName()),
+        resource.getMetadata().getUid());
+  }
+
+  private static String nameKey(String namespace, String name) {
+    return namespace == null ? name : namespace + "/" + name;
+  }
+
+  /**
+   * Returns the stored version of the resource, or null if it isn't stored.
+   */
+  private HasMetadata storedVersion(HasMetadata resource) {
+    final var kind = store.get(resource.getKind());
+    final SequencedEvent stored = kind == null ? null : kind.get(resource.getMetadata().getUid());
+    return stored != null && stored.event().object() instanceof HasMetadata storedResource ? storedResource : null;
+  }
+
+  /**
+   * Tracks the highest resourceVersion received for each kind.
+   */
+  private void observe(HasMetadata resource) {
+    try {
+      observedVersions.merge(resource.getKind(), Long.parseLong(resource.getMetadata().getResourceVersion()), Math::max);
+    } catch (NumberFormatException ex) {
+      LOG.trace("Ignoring non-numeric resourceVersion for {}", resource.getKind());
+    }
+  }
+
+  List<WatchEvent<?>> snapshot() {
+    synchronized (lock) {
+      final var ret = new ArrayList<WatchEvent<?>>();
+      store.values().forEach(kind -> kind.values().forEach(stored -> ret.add(stored.event())));
+      return ret;
+    }
+  }
+}
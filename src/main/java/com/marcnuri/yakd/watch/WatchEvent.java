@@ -16,7 +16,30 @@
  */
 package com.marcnuri.yakd.watch;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.client.Watcher;
 
-public record WatchEvent<T>(Watcher.Action type, T object) {
+/**
+ * @param type the action.
+ * @param object the watched resource (or error).
+ * @param received {@link System#nanoTime()} when the event was received from the API server, 0 if unknown (not serialized).
+ */
+public record WatchEvent<T>(Watcher.Action type, T object, @JsonIgnore long received) {
+
+  public WatchEvent(Watcher.Action type, T object) {
+    this(type, object, 0L);
+  }
+
+  /**
+   * Returns the kind of the resource (or of the restarting watch) for the event, used to tag metrics.
+   */
+  public String kind() {
+    if (object instanceof HasMetadata resource && resource.getKind() != null) {
+      return resource.getKind();
+    } else if (object instanceof RequestRestartError error) {
+      return error.getType();
+    }
+    return "Unknown";
+  }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 12:30
+ */
+package com.marcnuri.yakd.watch;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Scope of a watch subscription.
+ *
+ * <p> An empty set matches everything. Cluster-scoped resources are not affected by the namespace filter.
+ *
+ * @param kinds the resource kinds (e.g. Pod, Event) to include.
+ * @param namespaces the namespaces to include.
+ */
+public record WatchFilter(Set<String> kinds, Set<String> namespaces) implements Predicate<WatchEvent<?>> {
+
+  public static final WatchFilter ALL = new WatchFilter(Set.of(), Set.of());
+
+  /**
+   * Creates a filter from comma-separated lists of kinds and namespaces.
+   */
+  public static WatchFilter of(String kinds, String namespaces) {
+    return new WatchFilter(split(kinds), split(namespaces));
+  }
+
+  @Override
+  public boolean test(WatchEvent<?> event) {
+    if (event == null) {
+      // Resync marker
+      return true;
+    }
+    if (event.object() instanceof HasMetadata resource) {
+      return matchesKind(resource.getKind()) && (resource.getMetadata() == null
+        || resource.getMetadata().getNamespace() == null || matchesNamespace(resource.getMetadata().getNamespace()));
+    }
+    if (event.object() instanceof RequestRestartError error) {
+      return matchesKind(error.getType());
+    }
+    return true;
+  }
+
+  private boolean matchesKind(String kind) {
+    return kinds.isEmpty() || kinds.contains(kind);
+  }
+
+  private boolean matchesNamespace(String namespace) {
+    return namespaces.isEmpty() || namespaces.contains(namespace);
+  }
+
+  private static Set<String> split(String commaSeparated) {
+    if (commaSeparated == null || commaSeparated.isBlank()) {
+      return Set.of();
+    }
+    return Arrays.stream(commaSeparated.split(","))
+      .map(String::trim)
+      .filter(s -> !s.isEmpty())
+      .collect(Collectors.toUnmodifiableSet());
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 13:40
+ */
+package com.marcnuri.yakd.watch;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Delta encoding of a {@link io.fabric8.kubernetes.client.Watcher.Action#MODIFIED} event.
+ *
+ * <p> The patch can only be applied by clients holding the {@code baseResourceVersion} of the resource,
+ * otherwise they must request a resync.
+ *
+ * @param kind the kind of the modified resource.
+ * @param uid the uid of the modified resource.
+ * @param baseResourceVersion the resourceVersion the patch applies to.
+ * @param patch RFC 6902 operations.
+ */
+public record WatchPatch(String kind, String uid, String baseResourceVersion, JsonNode patch) {
+
+  public static final String TYPE = "PATCHED";
+
+  @JsonProperty("type")
+  public String getType() {
+    return TYPE;
+  }
+}
@@ -17,59 +17,257 @@
  */
 package com.marcnuri.yakd.watch;
 
-import io.quarkus.runtime.ShutdownEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcnuri.yakd.Batcher;
+import com.marcnuri.yakd.customresources.CustomResourceWatchManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 import io.quarkus.vertx.http.Compressed;
-import io.smallrye.mutiny.Multi;
 import io.vertx.core.http.HttpServerResponse;
 import org.jboss.resteasy.reactive.RestStreamElementType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static com.marcnuri.yakd.KubernetesDashboardConfiguration.WATCH_EXECUTOR_SERVICE;
+import static com.marcnuri.yakd.KubernetesDashboardConfiguration.WATCH_SUBSCRIBE_EXECUTOR_SERVICE;
 
 @Singleton
 @RegisterForReflection // Quarkus doesn't generate constructors for JAX-RS Subresources
 public class WatchResource {
 
   private static final Logger LOG = LoggerFactory.getLogger(WatchResource.class);
+  static final String RESYNC_EVENT = "resync";
+  static final String SUBSCRIPTION_EVENT = "subscription";
+  private static final String EMPTY_JSON_OBJECT = "{}";
+  // Max number of events written to the SSE sink pending completion
+  private static final int IN_FLIGHT_EVENTS = 64;
 
   private final WatchService watchService;
+  private final CustomResourceWatchManager customResourceWatchManager;
+  private final ObjectMapper objectMapper;
+  private final ScheduledExecutorService scheduler;
+  private final int batchMaxEvents;
+  private final Duration batchMaxDelay;
   private final ExecutorService subscribeExecutor;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, Timer> latencyTimers;
+  private final Counter connections;
+  private final Counter resumedConnections;
 
   @Inject
-  public WatchResource(WatchService watchService) {
+  public WatchResource(
+    WatchService watchService,
+    CustomResourceWatchManager customResourceWatchManager,
+    ObjectMapper objectMapper,
+    @Named(WATCH_EXECUTOR_SERVICE) ScheduledExecutorService scheduler,
+    @Named(WATCH_SUBSCRIBE_EXECUTOR_SERVICE) ExecutorService subscribeExecutor,
+    @ConfigProperty(name = "yakd.watch.batch.max-events", defaultValue = "256") int batchMaxEvents,
+    @ConfigProperty(name = "yakd.watch.batch.max-delay", defaultValue = "50ms") Duration batchMaxDelay,
+    MeterRegistry meterRegistry
+  ) {
     this.watchService = watchService;
-    subscribeExecutor = Executors.newCachedThreadPool();
+    this.customResourceWatchManager = customResourceWatchManager;
+    this.objectMapper = objectMapper;
+    this.scheduler = scheduler;
+    this.batchMaxEvents = batchMaxEvents;
+    this.batchMaxDelay = batchMaxDelay;
+    this.subscribeExecutor = subscribeExecutor;
+    this.meterRegistry = meterRegistry;
+    latencyTimers = new ConcurrentHashMap<>();
+    connections = connectionCounter(meterRegistry, false);
+    resumedConnections = connectionCounter(meterRegistry, true);
   }
 
-  void onShutdown(@Observes ShutdownEvent event) {
-    subscribeExecutor.shutdown();
+  private static Counter connectionCounter(MeterRegistry meterRegistry, boolean resumed) {
+    return Counter.builder("yakd.watch.connections").tag("resumed", Boolean.toString(resumed))
+      .description("Watch (SSE) connections, resumed connections are client reconnects").register(meterRegistry);
   }
 
   @GET
   @Produces(MediaType.SERVER_SENT_EVENTS)
-  @RestStreamElementType(MediaType.APPLICATION_JSON)
+  // Events are pre-encoded JSON (shared by every subscriber) written as is
+  @RestStreamElementType(MediaType.TEXT_PLAIN)
   @Compressed
-  public Multi<WatchEvent<?>> get(@Context HttpServerResponse response) {
-    return watchService.newWatch()
+  public void get(
+    @Context HttpServerResponse response, @Context Sse sse, @Context SseEventSink sseEventSink,
+    @HeaderParam(HttpHeaders.LAST_EVENT_ID_HEADER) String lastEventIdHeader,
+    @QueryParam("lastEventId") String lastEventIdQuery,
+    @QueryParam("kinds") String kinds, @QueryParam("namespaces") String namespaces,
+    @QueryParam("customResources") String customResources,
+    @QueryParam("patch") boolean patch, @QueryParam("batch") boolean batch
+  ) {
+    // EventSource sends the header on automatic reconnections, the query param allows resuming from a new EventSource
+    final var lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdQuery;
+    (lastEventId != null ? resumedConnections : connections).increment();
+    final var id = UUID.randomUUID().toString();
+    // The client needs the subscription id to change its scope (PUT /watch/{id}), no event id so Last-Event-ID is preserved
+    sseEventSink.send(sse.newEventBuilder()
+      .name(SUBSCRIPTION_EVENT).mediaType(MediaType.TEXT_PLAIN_TYPE).data(id).build());
+    final var subscriptionRef = new AtomicReference<Flow.Subscription>();
+    final Consumer<SequencedEvent> onEvent;
+    final Runnable onTermination;
+    if (batch) {
+      final var batcher = new Batcher<SequencedEvent>(
+        batchMaxEvents, batchMaxDelay, scheduler, subscribeExecutor, SequencedEvent::isResync, events ->
+          send(sseEventSink, toSseEvent(sse, events, patch), subscriptionRef, events));
+      onEvent = batcher::add;
+      onTermination = batcher::close;
+    } else {
+      onEvent = event -> send(sseEventSink, toSseEvent(sse, event, patch), subscriptionRef, List.of(event));
+      onTermination = () -> {};
+    }
+    // Custom resources (group/version/plural) are only watched while there are clients interested in them
+    customResourceWatchManager.demand(id, CustomResourceWatchManager.Key.parse(customResources));
+    watchService.newWatch(id, lastEventId, WatchFilter.of(kinds, namespaces), patch)
       .runSubscriptionOn(subscribeExecutor)
-      .onSubscription()
-      .invoke(subscription -> {
-        response.closeHandler(v -> subscription.cancel());
-        subscription.request(Long.MAX_VALUE); // unbounded -> request with no backpressure
+      .onTermination().invoke(() -> {
+        onTermination.run();
+        customResourceWatchManager.release(id);
       })
-      .onFailure()
-      .invoke(throwable ->  LOG.warn("Watch subscription closed: {}", throwable.getMessage()))
-      .onCompletion()
-      .invoke(() ->  LOG.debug("Watch subscription closed gracefully"));
+      .subscribe()
+      .with(
+        subscription -> {
+          subscriptionRef.set(subscription);
+          response.closeHandler(v -> subscription.cancel());
+          // A full batch must fit in flight, otherwise batches would only be flushed by the timer
+          subscription.request(batch ? Math.max(IN_FLIGHT_EVENTS, batchMaxEvents) : IN_FLIGHT_EVENTS);
+        },
+        onEvent,
+        throwable -> {
+          LOG.warn("Watch subscription closed: {}", throwable.getMessage());
+          // Evicted (slow) subscribers, the client reconnects and resumes from its last event id
+          sseEventSink.close();
+        },
+        () -> LOG.debug("Watch subscription closed gracefully")
+      );
+  }
+
+  @PUT
+  @Path("/{id}")
+  public Response update(
+    @PathParam("id") String id, @QueryParam("kinds") String kinds, @QueryParam("namespaces") String namespaces,
+    @QueryParam("customResources") String customResources) {
+    if (!watchService.updateWatch(id, WatchFilter.of(kinds, namespaces))) {
+      throw new NotFoundException("Watch subscription " + id + " not found");
+    }
+    customResourceWatchManager.demand(id, CustomResourceWatchManager.Key.parse(customResources));
+    return Response.noContent().build();
+  }
+
+  private void send(
+    SseEventSink sseEventSink, OutboundSseEvent sseEvent, AtomicReference<Flow.Subscription> subscriptionRef,
+    List<SequencedEvent> events) {
+    // Request more events only once the previous ones have been written (events queue and coalesce meanwhile)
+    sseEventSink.send(sseEvent).whenComplete((v, ex) -> {
+      if (ex == null) {
+        recordLatency(events);
+        subscriptionRef.get().request(events.size());
+      } else {
+        subscriptionRef.get().cancel();
+      }
+    });
+  }
+
+  /**
+   * Records the time from the reception of each live event from the API server to its SSE write.
+   */
+  private void recordLatency(List<SequencedEvent> events) {
+    final var now = System.nanoTime();
+    for (SequencedEvent event : events) {
+      if (!event.isResync() && event.event().received() != 0) {
+        latencyTimers.computeIfAbsent(event.event().kind(), kind -> Timer.builder("yakd.watch.event.latency")
+            .tag("kind", kind).publishPercentileHistogram()
+            .description("Time from the reception of a watch event from the API server to its SSE write")
+            .register(meterRegistry))
+          .record(now - event.event().received(), TimeUnit.NANOSECONDS);
+      }
+    }
+  }
+
+  /**
+   * A batch is sent as a single frame with the array of events, its id is the id of the last event.
+   *
+   * <p> The events are encoded once and shared, but the frame itself is assembled for each subscriber since
+   * batches are per connection (they depend on the subscriber's pace and scope). The SSE writer copies the data
+   * into a String anyway, so the parts are appended to a buffer sized upfront instead of being streamed.
+   */
+  private OutboundSseEvent toSseEvent(Sse sse, List<SequencedEvent> events, boolean patch) {
+    if (events.size() == 1) {
+      return toSseEvent(sse, events.iterator().next(), patch);
+    }
+    final var parts = new String[events.size()];
+    var length = parts.length + 1;
+    for (int it = 0; it < parts.length; it++) {
+      parts[it] = toJson(events.get(it), patch);
+      length += parts[it].length();
+    }
+    final var data = new StringBuilder(length).append('[');
+    for (int it = 0; it < parts.length; it++) {
+      if (it > 0) {
+        data.append(',');
+      }
+      data.append(parts[it]);
+    }
+    return sse.newEventBuilder()
+      .id(events.get(events.size() - 1).id())
+      .mediaType(MediaType.TEXT_PLAIN_TYPE)
+      .data(data.append(']').toString())
+      .build();
+  }
+
+  private OutboundSseEvent toSseEvent(Sse sse, SequencedEvent event, boolean patch) {
+    // Data is already encoded as JSON, sent as is
+    final var builder = sse.newEventBuilder()
+      .id(event.id())
+      .mediaType(MediaType.TEXT_PLAIN_TYPE);
+    if (event.isResync()) {
+      // Named event, the client must discard its current state, a snapshot follows
+      return builder.name(RESYNC_EVENT).data(EMPTY_JSON_OBJECT).build();
+    }
+    return builder.data(toJson(event, patch)).build();
+  }
+
+  private String toJson(SequencedEvent event, boolean patch) {
+    // Events from the cache are serialized once and shared by every subscriber, others (e.g. coalesced) are serialized here
+    final var payload = event.payload() != null ?
+      event.payload() : new EncodedPayload(objectMapper, event.event(), event.patch());
+    if (patch && event.patch() != null) {
+      return payload.patch();
+    }
+    return payload.event();
   }
 }
@@ -16,39 +16,123 @@
  */
 package com.marcnuri.yakd.watch;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
 import io.smallrye.mutiny.Multi;
-import io.smallrye.mutiny.subscription.BackPressureStrategy;
+import jakarta.enterprise.event.Observes;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
 
 import static com.marcnuri.yakd.KubernetesDashboardConfiguration.WATCH_EXECUTOR_SERVICE;
+import static com.marcnuri.yakd.KubernetesDashboardConfiguration.WATCH_SUBSCRIBE_EXECUTOR_SERVICE;
 
 @Singleton
 public class WatchService {
 
-  private final ScheduledExecutorService executorService;
-  private final List<Watchable<?>> watchables;
+  private final WatchCache watchCache;
+  private final boolean cachedReads;
+  private final Duration readTimeout;
 
   @SuppressWarnings("java:S107")
   @Inject
   public WatchService(
-    @Named(WATCH_EXECUTOR_SERVICE) ScheduledExecutorService executorService,
-    Instance<Watchable<?>> watchableHandlers
+    @Named(WATCH_EXECUTOR_SERVICE) ScheduledExecutorService scheduler,
+    @Named(WATCH_SUBSCRIBE_EXECUTOR_SERVICE) ExecutorService subscribeExecutor,
+    Instance<Watchable<?>> watchableHandlers,
+    @ConfigProperty(name = "yakd.watch.replay-log-size", defaultValue = "10000") int replayLogSize,
+    @ConfigProperty(name = "yakd.watch.subscriber-queue-size", defaultValue = "10000") int subscriberQueueSize,
+    ProjectionConfig projectionConfig,
+    ObjectMapper objectMapper,
+    MeterRegistry meterRegistry,
+    @ConfigProperty(name = "yakd.watch.cache.reads", defaultValue = "true") boolean cachedReads,
+    @ConfigProperty(name = "yakd.watch.cache.read-timeout", defaultValue = "1s") Duration readTimeout,
+    @ConfigProperty(name = "yakd.watch.index.label-keys", defaultValue = "app") Set<String> indexedLabelKeys
   ) {
-    this.executorService = executorService;
-    this.watchables = new ArrayList<>();
+    this.cachedReads = cachedReads;
+    this.readTimeout = readTimeout;
+    final List<Watchable<?>> watchables = new ArrayList<>();
     watchableHandlers.forEach(watchables::add);
+    watchCache = new WatchCache(scheduler, subscribeExecutor, watchables, replayLogSize, subscriberQueueSize,
+      ResourceProjection.from(projectionConfig), new ResourceIndex(indexedLabelKeys), objectMapper, meterRegistry);
   }
 
-  public Multi<WatchEvent<?>> newWatch() {
-    // No backpressure to reduce memory footprint.
-    // Downstream client should handle every event or provide its own buffering
-    return Multi.createFrom().emitter(new SelfHealingWatchableEmitter(executorService, watchables), BackPressureStrategy.ERROR);
+  void onShutdown(@Observes ShutdownEvent event) {
+    watchCache.close();
+  }
+
+  public Multi<SequencedEvent> newWatch(String id, String lastEventId, WatchFilter filter, boolean patch) {
+    // Every client shares the same upstream watches, the cache replays its snapshot (or the missed events) and then the live events
+    return watchCache.newWatch(id, lastEventId, filter, patch);
+  }
+
+  public boolean updateWatch(String id, WatchFilter filter) {
+    return watchCache.updateWatch(id, filter);
+  }
+
+  public boolean addWatchable(Watchable<?> watchable) {
+    return watchCache.addWatchable(watchable);
+  }
+
+  public void removeWatchable(Watchable<?> watchable) {
+    watchCache.removeWatchable(watchable);
+  }
+
+  /**
+   * Lists the resources from the watch cache, or from the API server (fallback) if the cache can't serve them.
+   *
+   * <p> Cached resources are projected ({@link ResourceProjection}) and limited to the watched scope.
+   *
+   * @param resourceVersion the resourceVersion the response must be at least as fresh as (e.g. returned by a write), or null.
+   * @param live whether to skip the cache.
+   * @param fallback the live read.
+   */
+  public <T extends HasMetadata> List<T> list(
+    Class<T> type, String resourceVersion, boolean live, Supplier<List<T>> fallback) {
+    if (live || !cachedReads) {
+      return fallback.get();
+    }
+    return watchCache.list(type, resourceVersion, readTimeout).orElseGet(fallback);
+  }
+
+  /**
+   * Lists the resources matching the query from the watch cache (using its secondary indexes), or from the
+   * API server (fallback) if the cache can't serve them.
+   *
+   * @param fallback the live read, its results are filtered with the query.
+   * @see #list(Class, String, boolean, Supplier)
+   */
+  public <T extends HasMetadata> List<T> list(
+    Class<T> type, IndexQuery query, String resourceVersion, boolean live, Supplier<List<T>> fallback) {
+    final Supplier<List<T>> filteredFallback = () -> fallback.get().stream().filter(query::matches).toList();
+    if (live || !cachedReads) {
+      return filteredFallback.get();
+    }
+    return watchCache.list(type, query, resourceVersion, readTimeout).orElseGet(filteredFallback);
+  }
+
+  /**
+   * Retrieves a resource from the watch cache, or from the API server (fallback) if it isn't cached.
+   *
+   * @see #list(Class, String, boolean, Supplier)
+   */
+  public <T extends HasMetadata> T get(
+    Class<T> type, String namespace, String name, String resourceVersion, boolean live, Supplier<T> fallback) {
+    if (live || !cachedReads) {
+      return fallback.get();
+    }
+    return watchCache.get(type, namespace, name, resourceVersion, readTimeout).orElseGet(fallback);
   }
 }
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 10:15
+ */
+package com.marcnuri.yakd.watch;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.Watcher;
+import io.micrometer.core.instrument.Counter;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Per-client subscription to the shared {@link WatchCache} stream.
+ *
+ * <p> Live events are kept in a bounded queue keyed by resource uid. If the client falls behind, a newer
+ * event for the same resource replaces the queued one (latest wins) and an {@link Watcher.Action#ADDED}
+ * followed by a {@link Watcher.Action#DELETED} cancel each other out. Replaced events are moved to the
+ * tail of the queue so that the emitted sequence numbers are always increasing (required to resume).
+ * Coalesced events lose their {@link WatchPatch} since the client never received the base version.
+ *
+ * <p> Events are only emitted when requested by the downstream subscriber. Clients that exceed the queue
+ * bound even after coalescing are evicted, they'll reconnect and resume or resync.
+ *
+ * <p> Only the events matching the subscription {@link WatchFilter} are queued. The filter can be changed
+ * on a live subscription, pending events are then replaced by a resync marker and the new scope snapshot.
+ */
+final class WatchSubscription implements Flow.Publisher<SequencedEvent>, Flow.Subscription {
+
+  private final String id;
+  private final boolean patch;
+  private final int maxQueueSize;
+  private final Consumer<WatchSubscription> onSubscribe;
+  private final Consumer<WatchSubscription> onTermination;
+  private final Metrics metrics;
+  private final Object lock;
+  private final LinkedHashMap<Object, SequencedEvent> queue;
+  private final AtomicLong requested;
+  private final AtomicInteger wip;
+  private Iterator<SequencedEvent> backlog;
+  private volatile WatchFilter filter;
+  private volatile Flow.Subscriber<? super SequencedEvent> downstream;
+  private volatile boolean cancelled;
+  private volatile boolean evicted;
+  private volatile int queueDepth;
+
+  WatchSubscription(
+    String id, WatchFilter filter, boolean patch, int maxQueueSize,
+    Consumer<WatchSubscription> onSubscribe, Consumer<WatchSubscription> onTermination, Metrics metrics) {
+    this.id = id;
+    this.patch = patch;
+    this.filter = filter;
+    this.maxQueueSize = maxQueueSize;
+    this.onSubscribe = onSubscribe;
+    this.onTermination = onTermination;
+    this.metrics = metrics;
+    lock = new Object();
+    queue = new LinkedHashMap<>();
+    requested = new AtomicLong();
+    wip = new AtomicInteger();
+    backlog = Collections.emptyIterator();
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super SequencedEvent> subscriber) {
+    if (downstream != null) {
+      subscriber.onSubscribe(this);
+      subscriber.onError(new IllegalStateException("WatchSubscription allows only a single subscriber"));
+      return;
+    }
+    downstream = subscriber;
+    subscriber.onSubscribe(this);
+    onSubscribe.accept(this);
+    drain();
+  }
+
+  @Override
+  public void request(long n) {
+    if (n <= 0) {
+      cancel();
+      downstream.onError(new IllegalArgumentException("Requested items must be greater than zero (Rule 3.9)"));
+      return;
+    }
+    requested.accumulateAndGet(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+    drain();
+  }
+
+  @Override
+  public void cancel() {
+    if (!cancelled) {
+      cancelled = true;
+      clear();
+      onTermination.accept(this);
+    }
+  }
+
+  String getId() {
+    return id;
+  }
+
+  boolean isPatch() {
+    return patch;
+  }
+
+  WatchFilter getFilter() {
+    return filter;
+  }
+
+  boolean isCancelled() {
+    return cancelled;
+  }
+
+  int getQueueDepth() {
+    return queueDepth;
+  }
+
+  /**
+   * Sets the events to be emitted before any of the live events (e.g. snapshot or replay).
+   */
+  void backlog(List<SequencedEvent> events) {
+    synchronized (lock) {
+      backlog = events.iterator();
+    }
+  }
+
+  /**
+   * Changes the subscription scope, the pending events are discarded in favor of the provided backlog
+   * (a resync marker followed by the snapshot of the new scope).
+   */
+  void rescope(WatchFilter newFilter, List<SequencedEvent> events) {
+    synchronized (lock) {
+      filter = newFilter;
+      queue.clear();
+      queueDepth = 0;
+      backlog = events.iterator();
+    }
+  }
+
+  /**
+   * Enqueue a live event, coalescing it with any queued event for the same resource.
+   *
+   * <p> Events are not emitted until the next {@link #drain()}.
+   */
+  void offer(SequencedEvent event) {
+    if (cancelled || evicted) {
+      return;
+    }
+    synchronized (lock) {
+      if (!filter.test(event.event())) {
+        return;
+      }
+      final var key = key(event);
+      final var previous = queue.remove(key);
+      final var merged = previous == null ? event : coalesce(previous, event);
+      if (merged != null) {
+        queue.put(key, merged);
+      }
+      if (queue.size() > maxQueueSize) {
+        evicted = true;
+        metrics.evictions().increment();
+      }
+      queueDepth = queue.size();
+    }
+  }
+
+  private SequencedEvent coalesce(SequencedEvent previous, SequencedEvent event) {
+    if (previous.event().type() == Watcher.Action.ADDED) {
+      switch (event.event().type()) {
+        case DELETED -> {
+          metrics.cancelled().increment();
+          return null;
+        }
+        case MODIFIED -> {
+          // The client never saw the resource, it's still an addition
+          metrics.replaced().increment();
+          return new SequencedEvent(event.epoch(), event.sequence(), new WatchEvent<>(Watcher.Action.ADDED, event.event().object(), event.event().received()));
+        }
+        default -> {
+          // NO-OP
+        }
+      }
+    }
+    metrics.replaced().increment();
+    return event.withoutPatch();
+  }
+
+  private SequencedEvent poll() {
+    synchronized (lock) {
+      if (backlog.hasNext()) {
+        return backlog.next();
+      }
+      final var it = queue.values().iterator();
+      if (!it.hasNext()) {
+        return null;
+      }
+      final var next = it.next();
+      it.remove();
+      queueDepth = queue.size();
+      return next;
+    }
+  }
+
+  /**
+   * Emits the pending events, as many as requested by the downstream subscriber.
+   */
+  void drain() {
+    if (wip.getAndIncrement() != 0) {
+      return;
+    }
+    int missed = 1;
+    do {
+      final var subscriber = downstream;
+      while (subscriber != null && !cancelled) {
+        if (evicted) {
+          cancel();
+          subscriber.onError(new IllegalStateException("Watch subscriber is too slow and has been evicted"));
+          break;
+        }
+        if (requested.get() == 0) {
+          break;
+        }
+        final var next = poll();
+        if (next == null) {
+          break;
+        }
+        if (requested.get() != Long.MAX_VALUE) {
+          requested.decrementAndGet();
+        }
+        subscriber.onNext(next);
+      }
+      missed = wip.addAndGet(-missed);
+    } while (missed != 0);
+  }
+
+  private void clear() {
+    synchronized (lock) {
+      queue.clear();
+      backlog = Collections.emptyIterator();
+      queueDepth = 0;
+    }
+  }
+
+  private static Object key(SequencedEvent event) {
+    if (event.event() != null && event.event().object() instanceof HasMetadata resource
+      && resource.getMetadata() != null && resource.getMetadata().getUid() != null) {
+      return resource.getMetadata().getUid();
+    }
+    // Not coalescable (e.g. errors), unique key
+    return event.sequence();
+  }
+
+  record Metrics(Counter replaced, Counter cancelled, Counter evictions) {}
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18, 16:40
+ */
+package com.marcnuri.yakd.watch;
+
+/**
+ * Marker emitted (as a {@link io.fabric8.kubernetes.client.Watcher.Action#BOOKMARK} event) once a
+ * {@link Watchable} subscription has emitted the current state of its resources.
+ *
+ * <p> Internal to the upstream stream, it's never sent to the clients.
+ *
+ * @param type the type of the synced watchable (the kind of its resources).
+ */
+public record WatchSynced(String type) {
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18
+ */
+package com.marcnuri.yakd;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class BatcherTest {
+
+  private ScheduledExecutorService scheduler;
+  private ExecutorService flushExecutor;
+  private List<String> flushThreads;
+  private List<List<String>> batches;
+  private Batcher<String> batcher;
+
+  @BeforeEach
+  void setUp() {
+    scheduler = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "scheduler"));
+    flushExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "flush"));
+    flushThreads = new CopyOnWriteArrayList<>();
+    batches = new CopyOnWriteArrayList<>();
+    batcher = new Batcher<>(3, Duration.ofMillis(100), scheduler, flushExecutor, "marker"::equals, batch -> {
+      flushThreads.add(Thread.currentThread().getName());
+      batches.add(batch);
+    });
+  }
+
+  @AfterEach
+  void tearDown() {
+    batcher.close();
+    scheduler.shutdownNow();
+    flushExecutor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("should flush when batch is full")
+  void shouldFlushWhenFull() {
+    // When
+    for (int it = 1; it <= 4; it++) {
+      batcher.add("element " + it);
+    }
+
+    // Then
+    assertThat(batches).containsExactly(List.of("element 1", "element 2", "element 3"));
+  }
+
+  @Test
+  @DisplayName("should flush after max delay")
+  void shouldFlushAfterDelay() {
+    // When
+    batcher.add("element 1");
+    batcher.add("element 2");
+
+    // Then
+    assertThat(batches).isEmpty();
+    await().atMost(1, TimeUnit.SECONDS).until(() -> batches.size() == 1);
+    assertThat(batches).containsExactly(List.of("element 1", "element 2"));
+  }
+
+  @Test
+  @DisplayName("should run delayed flushes on the flush executor")
+  void shouldFlushOnFlushExecutor() {
+    // When
+    batcher.add("element 1");
+
+    // Then
+    await().atMost(1, TimeUnit.SECONDS).until(() -> batches.size() == 1);
+    assertThat(flushThreads).containsExactly("flush");
+  }
+
+  @Test
+  @DisplayName("should flush pending elements before an unbatched element and emit it alone")
+  void shouldFlushBeforeUnbatched() {
+    // When
+    batcher.add("element 1");
+    batcher.add("marker");
+
+    // Then
+    assertThat(batches).containsExactly(List.of("element 1"), List.of("marker"));
+  }
+
+  @Test
+  @DisplayName("should flush pending elements on demand")
+  void shouldFlushOnDemand() {
+    // Given
+    batcher.add("element 1");
+
+    // When
+    batcher.flush();
+
+    // Then
+    assertThat(batches).containsExactly(List.of("element 1"));
+  }
+
+  @Test
+  @DisplayName("should discard pending elements when closed")
+  void shouldDiscardWhenClosed() {
+    // Given
+    batcher.add("element 1");
+
+    // When
+    batcher.close();
+
+    // Then
+    await().during(200, TimeUnit.MILLISECONDS).atMost(1, TimeUnit.SECONDS).until(batches::isEmpty);
+  }
+}
@@ -18,6 +18,7 @@
 package com.marcnuri.yakd;
 
 import com.marcnuri.yakd.secrets.SecretService;
+import com.marcnuri.yakd.watch.ApiAvailability;
 import com.marcnuri.yakd.watch.WatchEvent;
 import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
 import io.fabric8.kubernetes.api.model.Secret;
@@ -26,6 +27,7 @@ import io.fabric8.kubernetes.api.model.Status;
 import io.fabric8.kubernetes.api.model.StatusBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
 import io.quarkus.test.kubernetes.client.KubernetesServer;
 import io.quarkus.test.kubernetes.client.KubernetesTestServer;
 import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
@@ -45,6 +47,7 @@ import static io.restassured.RestAssured.when;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @QuarkusTest
+@TestProfile(ApiServerReadsTestProfile.class)
 @WithKubernetesTestServer
 class RbacFallbackTest {
 
@@ -54,6 +57,8 @@ class RbacFallbackTest {
   KubernetesClient kubernetesClient;
   @Inject
   SecretService secretService;
+  @Inject
+  ApiAvailability apiAvailability;
   @KubernetesTestServer
   KubernetesServer mockServer;
 
@@ -62,6 +67,7 @@ class RbacFallbackTest {
   @BeforeEach
   void setUp() {
     configuredNamespace = kubernetesClient.getConfiguration().getNamespace();
+    apiAvailability.clear();
   }
 
   @AfterEach
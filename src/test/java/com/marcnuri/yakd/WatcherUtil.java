@@ -42,10 +42,17 @@ public class WatcherUtil {
 
   public static Watch watch(URL url, String path) throws URISyntaxException {
     final ConcurrentLinkedQueue<WatchEvent<Map<String, ?>>> messagesReceived = new ConcurrentLinkedQueue<>();
-    final var uri = UriBuilder.fromUri(url.toURI()).replacePath(path).build();
+    final var pathAndQuery = path.split("\\?", 2);
+    final var uri = UriBuilder.fromUri(url.toURI()).replacePath(pathAndQuery[0])
+      .replaceQuery(pathAndQuery.length > 1 ? pathAndQuery[1] : null).build();
     var wsCli = ClientBuilder.newClient();
     final var sseSource = SseEventSource.target(wsCli.target(uri)).build();
-    sseSource.register(event -> messagesReceived.add(event.readData(WatchEvent.class)));
+    sseSource.register(event -> {
+      // Named events (subscription, resync) are control messages
+      if (event.getName() == null) {
+        messagesReceived.add(event.readData(WatchEvent.class));
+      }
+    });
     sseSource.open();
     return new Watch(wsCli, sseSource, messagesReceived);
   }
@@ -19,9 +19,13 @@ package com.marcnuri.yakd.customresources;
 
 import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
 import io.fabric8.kubernetes.api.model.GenericKubernetesResourceBuilder;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResourceListBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.base.ResourceDefinitionContext;
+import io.quarkus.test.common.http.TestHTTPResource;
 import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.kubernetes.client.KubernetesServer;
+import io.quarkus.test.kubernetes.client.KubernetesTestServer;
 import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.AfterEach;
@@ -29,9 +33,18 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
 import static io.restassured.RestAssured.given;
 import static io.restassured.RestAssured.when;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @QuarkusTest
 @WithKubernetesTestServer
@@ -45,15 +58,86 @@ class CustomResourceRoutingTest {
 
   @Inject
   KubernetesClient kubernetesClient;
+  @KubernetesTestServer
+  KubernetesServer mockServer;
+  @TestHTTPResource
+  URL url;
 
   @AfterEach
   void cleanUp() {
-    for (final String name : new String[] {"to-delete", "to-update"}) {
+    for (final String name : new String[] {"to-delete", "to-update", "to-list-1", "to-list-2", "to-list-3"}) {
       kubernetesClient.genericKubernetesResources(clusterContext()).withName(name).delete();
       kubernetesClient.genericKubernetesResources(namespacedContext()).inNamespace(NAMESPACE).withName(name).delete();
     }
   }
 
+  @Nested
+  @DisplayName("GET lists the custom resources")
+  class Get {
+
+    @Test
+    @DisplayName("without limit streams every custom resource as a JSON array")
+    void streamed() {
+      for (final String name : new String[] {"to-list-1", "to-list-2", "to-list-3"}) {
+        kubernetesClient.genericKubernetesResources(namespacedContext()).inNamespace(NAMESPACE)
+          .resource(customResource(name)).create();
+      }
+      final var names = when().get(BASE)
+        .then().statusCode(200)
+        .extract().jsonPath().getList("metadata.name", String.class);
+      assertThat(names).contains("to-list-1", "to-list-2", "to-list-3");
+    }
+
+    @Test
+    @DisplayName("with limit returns a single page and the token for the next one")
+    void paged() {
+      mockServer.expect().get().withPath("/apis/" + GROUP + "/" + VERSION + "/" + PLURAL + "?limit=2")
+        .andReturn(200, new GenericKubernetesResourceListBuilder()
+          .withNewMetadata().withContinue("next-page").endMetadata()
+          .addToItems(customResource("to-list-1"), customResource("to-list-2"))
+          .build())
+        .once();
+      final var page = when().get(BASE + "?limit=2")
+        .then().statusCode(200)
+        .extract().jsonPath();
+      assertThat(page.getList("items.metadata.name", String.class)).containsExactly("to-list-1", "to-list-2");
+      assertThat(page.getString("continue")).isEqualTo("next-page");
+    }
+
+    @Test
+    @DisplayName("with a non-positive limit is rejected")
+    void invalidLimit() {
+      when().get(BASE + "?limit=0")
+        .then().statusCode(400);
+    }
+
+    @Test
+    @DisplayName("without limit aborts the response with an unterminated JSON array when a later chunk fails")
+    void streamedTruncated() throws Exception {
+      final var path = "/apis/" + GROUP + "/" + VERSION + "/" + PLURAL;
+      mockServer.expect().get().withPath(path + "?limit=500")
+        .andReturn(200, new GenericKubernetesResourceListBuilder()
+          .withNewMetadata().withContinue("expired").endMetadata()
+          .addToItems(customResource("to-list-1"))
+          .build())
+        .once();
+      // Continue token expired (query parameters in either order)
+      mockServer.expect().get().withPath(path + "?limit=500&continue=expired").andReturn(410, "Expired").once();
+      mockServer.expect().get().withPath(path + "?continue=expired&limit=500").andReturn(410, "Expired").once();
+      final var response = HttpClient.newHttpClient().send(HttpRequest.newBuilder(url.toURI().resolve(BASE)).build(),
+        HttpResponse.BodyHandlers.ofInputStream());
+      final var received = new ByteArrayOutputStream();
+      try (var body = response.body()) {
+        assertThatThrownBy(() -> body.transferTo(received)).isInstanceOf(IOException.class);
+      }
+      assertThat(response.statusCode()).isEqualTo(200);
+      assertThat(received.toString(StandardCharsets.UTF_8))
+        .startsWith("[")
+        .contains("\"to-list-1\"")
+        .doesNotEndWith("]");
+    }
+  }
+
   @Nested
   @DisplayName("DELETE resolves to the correct scope")
   class Delete {
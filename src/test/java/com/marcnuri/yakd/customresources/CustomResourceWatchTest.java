@@ -0,0 +1,185 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18
+ */
+package com.marcnuri.yakd.customresources;
+
+import com.marcnuri.yakd.WatcherUtil;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResourceBuilder;
+import io.fabric8.kubernetes.api.model.apiextensions.v1.CustomResourceDefinition;
+import io.fabric8.kubernetes.api.model.apiextensions.v1.CustomResourceDefinitionBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.dsl.base.ResourceDefinitionContext;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
+import jakarta.inject.Inject;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@QuarkusTest
+@WithKubernetesTestServer
+class CustomResourceWatchTest {
+
+  private static final String GROUP = "yakd.example.com";
+  private static final String VERSION = "v1";
+  private static final String PLURAL = "gizmos";
+  private static final String KIND = "Gizmo";
+  private static final CustomResourceWatchManager.Key KEY = new CustomResourceWatchManager.Key(GROUP, VERSION, PLURAL);
+  private static final String WATCH_PATH = "/api/v1/watch?customResources=" + KEY;
+
+  @Inject
+  KubernetesClient kubernetesClient;
+  @Inject
+  CustomResourceWatchManager customResourceWatchManager;
+  @TestHTTPResource
+  URL url;
+
+  @BeforeEach
+  void setUp() {
+    kubernetesClient.resource(customResourceDefinition()).create();
+  }
+
+  @AfterEach
+  void cleanUp() {
+    kubernetesClient.genericKubernetesResources(context()).inAnyNamespace().delete();
+    kubernetesClient.apiextensions().v1().customResourceDefinitions().withName(PLURAL + "." + GROUP).delete();
+  }
+
+  @Nested
+  @DisplayName("GET /api/v1/watch?customResources=")
+  class Watch {
+
+    @Test
+    @DisplayName("should stream the events of the demanded custom resources")
+    void shouldStreamCustomResourceEvents() throws URISyntaxException {
+      try (var watch = WatcherUtil.watch(url, WATCH_PATH)) {
+        // Given
+        Awaitility.await().atMost(10, TimeUnit.SECONDS)
+          .until(() -> customResourceWatchManager.getActive().contains(KEY));
+        // When
+        kubernetesClient.genericKubernetesResources(context()).inNamespace(kubernetesClient.getNamespace())
+          .resource(gizmo("to-watch")).create();
+        // Then
+        Awaitility.await().atMost(10, TimeUnit.SECONDS)
+          .until(() -> watch.events().stream().anyMatch(watchEvent ->
+            Watcher.Action.ADDED.equals(watchEvent.type())
+              && KIND.equals(watchEvent.object().get("kind"))
+              && "to-watch".equals(((Map<String, ?>) watchEvent.object().get("metadata")).get("name"))));
+      }
+    }
+
+    @Test
+    @DisplayName("should stop the watch once no client demands it for the idle grace period")
+    void shouldStopIdleWatch() throws URISyntaxException {
+      try (var ignored = WatcherUtil.watch(url, WATCH_PATH)) {
+        Awaitility.await().atMost(10, TimeUnit.SECONDS)
+          .until(() -> customResourceWatchManager.getActive().contains(KEY));
+      }
+      Awaitility.await().atMost(10, TimeUnit.SECONDS)
+        .until(() -> !customResourceWatchManager.getActive().contains(KEY));
+    }
+
+    @Test
+    @DisplayName("should stop the watch when its CustomResourceDefinition is deleted")
+    void shouldStopWatchOnDefinitionDeletion() throws URISyntaxException {
+      try (var ignored = WatcherUtil.watch(url, WATCH_PATH)) {
+        // Given
+        Awaitility.await().atMost(10, TimeUnit.SECONDS)
+          .until(() -> customResourceWatchManager.getActive().contains(KEY));
+        // When
+        kubernetesClient.apiextensions().v1().customResourceDefinitions().withName(PLURAL + "." + GROUP).delete();
+        // Then
+        Awaitility.await().atMost(10, TimeUnit.SECONDS)
+          .until(() -> !customResourceWatchManager.getActive().contains(KEY));
+      }
+    }
+
+    @Test
+    @DisplayName("should stop the watch when its version is no longer served")
+    void shouldStopWatchOnVersionNoLongerServed() throws URISyntaxException {
+      try (var ignored = WatcherUtil.watch(url, WATCH_PATH)) {
+        // Given
+        Awaitility.await().atMost(10, TimeUnit.SECONDS)
+          .until(() -> customResourceWatchManager.getActive().contains(KEY));
+        // When
+        kubernetesClient.apiextensions().v1().customResourceDefinitions().withName(PLURAL + "." + GROUP)
+          .edit(crd -> new CustomResourceDefinitionBuilder(crd)
+            .editSpec().editFirstVersion().withServed(false).endVersion().endSpec()
+            .build());
+        // Then
+        Awaitility.await().atMost(10, TimeUnit.SECONDS)
+          .until(() -> !customResourceWatchManager.getActive().contains(KEY));
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("Key.parse()")
+  class Parse {
+
+    @Test
+    @DisplayName("should parse comma-separated group/version/plural entries ignoring invalid ones")
+    void shouldParse() {
+      assertThat(CustomResourceWatchManager.Key.parse(" yakd.example.com/v1/gizmos,invalid,a//b, ex.com/v2/things "))
+        .containsExactlyInAnyOrder(KEY, new CustomResourceWatchManager.Key("ex.com", "v2", "things"));
+    }
+
+    @Test
+    @DisplayName("should return an empty set for a missing parameter")
+    void shouldParseNull() {
+      assertThat(CustomResourceWatchManager.Key.parse(null)).isEmpty();
+    }
+  }
+
+  private static ResourceDefinitionContext context() {
+    return new ResourceDefinitionContext.Builder()
+      .withNamespaced(true).withGroup(GROUP).withVersion(VERSION).withPlural(PLURAL).withKind(KIND).build();
+  }
+
+  private static CustomResourceDefinition customResourceDefinition() {
+    return new CustomResourceDefinitionBuilder()
+      .withNewMetadata().withName(PLURAL + "." + GROUP).endMetadata()
+      .withNewSpec()
+        .withGroup(GROUP)
+        .withScope("Namespaced")
+        .withNewNames().withKind(KIND).withSingular("gizmo").withPlural(PLURAL).endNames()
+        .addNewVersion().withName(VERSION).withServed(true).withStorage(true).endVersion()
+      .endSpec()
+      .build();
+  }
+
+  private static GenericKubernetesResource gizmo(String name) {
+    return new GenericKubernetesResourceBuilder()
+      .withApiVersion(GROUP + "/" + VERSION)
+      .withKind(KIND)
+      .withNewMetadata().withName(name).endMetadata()
+      .build();
+  }
+}
@@ -33,6 +33,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -134,6 +135,37 @@ class WatchableSubscriberTest {
       assertThat(addedEvent.object()).isEqualTo("watchable-subscriber-test-mapped");
     }
 
+    @Test
+    @DisplayName("should emit existing resources as ADDED events before returning")
+    void shouldEmitInitialStateBeforeReturning() {
+      // Given
+      kubernetesClient.secrets()
+        .resource(new SecretBuilder()
+          .withNewMetadata().withName("watchable-subscriber-test-existing").endMetadata()
+          .build())
+        .create();
+      var watchable = kubernetesClient.secrets().inNamespace(kubernetesClient.getNamespace());
+      var watchableSubscriber = WatchableSubscriber.subscriber(watchable);
+      var subscriber = AssertSubscriber.<WatchEvent<Secret>>create(Long.MAX_VALUE);
+      var initialState = new AtomicReference<List<WatchEvent<Secret>>>();
+
+      // When
+      Multi.createFrom().<WatchEvent<Secret>>emitter(emitter -> {
+        try (var ignored = watchableSubscriber.subscribe(e -> {}, emitter)) {
+          initialState.set(List.copyOf(subscriber.getItems()));
+        } catch (Exception e) {
+          emitter.fail(e);
+        }
+      }).subscribe().withSubscriber(subscriber);
+
+      // Then
+      assertThat(initialState.get())
+        .filteredOn(e -> "watchable-subscriber-test-existing".equals(e.object().getMetadata().getName()))
+        .singleElement()
+        .returns(Watcher.Action.ADDED, WatchEvent::type)
+        .returns(0L, WatchEvent::received);
+    }
+
     @Test
     @DisplayName("should emit MODIFIED event when resource is updated")
     void shouldEmitModifiedEvent() {
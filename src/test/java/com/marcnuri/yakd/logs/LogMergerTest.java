@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18
+ */
+package com.marcnuri.yakd.logs;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogMergerTest {
+
+  private static final long WINDOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private LogMerger logMerger;
+
+  @BeforeEach
+  void setUp() {
+    logMerger = new LogMerger(Duration.ofNanos(WINDOW));
+  }
+
+  @Test
+  @DisplayName("should hold lines for the reorder window")
+  void shouldHoldLines() {
+    // Given
+    logMerger.add("pod-1/c", line("pod-1", "2026-10-18T10:00:00.000Z first"), 0);
+
+    // When
+    final var ready = logMerger.drain(WINDOW - 1);
+
+    // Then
+    assertThat(ready).isEmpty();
+    assertThat(logMerger.drain(WINDOW)).extracting(e -> e.line().line())
+      .containsExactly("2026-10-18T10:00:00.000Z first");
+  }
+
+  @Test
+  @DisplayName("should merge the lines of several streams by timestamp")
+  void shouldMergeByTimestamp() {
+    // Given
+    logMerger.add("pod-1/c", line("pod-1", "2026-10-18T10:00:00.200Z pod-1 second"), 0);
+    logMerger.add("pod-1/c", line("pod-1", "2026-10-18T10:00:00.300Z pod-1 third"), 0);
+    logMerger.add("pod-2/c", line("pod-2", "2026-10-18T10:00:00.100000001Z pod-2 first"), 10);
+    logMerger.add("pod-2/c", line("pod-2", "2026-10-18T10:00:00.250Z pod-2 second"), 10);
+
+    // When
+    final var ready = logMerger.drain(WINDOW + 10);
+
+    // Then
+    assertThat(ready).extracting(e -> e.line().pod())
+      .containsExactly("pod-2", "pod-1", "pod-2", "pod-1");
+  }
+
+  @Test
+  @DisplayName("should place lines without timestamp after the previous line of their stream")
+  void shouldPlaceLinesWithoutTimestamp() {
+    // Given
+    logMerger.add("pod-1/c", line("pod-1", "2026-10-18T10:00:00.300Z pod-1 first"), 0);
+    logMerger.add("pod-1/c", line("pod-1", "continuation"), 0);
+    logMerger.add("pod-2/c", line("pod-2", "2026-10-18T10:00:00.200Z pod-2 first"), 0);
+
+    // When
+    final var ready = logMerger.drain(WINDOW);
+
+    // Then
+    assertThat(ready).extracting(e -> e.line().line())
+      .containsExactly("2026-10-18T10:00:00.200Z pod-2 first", "2026-10-18T10:00:00.300Z pod-1 first", "continuation");
+  }
+
+  @Test
+  @DisplayName("should emit the pending lines of detached streams")
+  void shouldEmitDetached() {
+    // Given
+    logMerger.add("pod-1/c", line("pod-1", "2026-10-18T10:00:00.000Z first"), 0);
+
+    // When
+    logMerger.detach("pod-1/c");
+
+    // Then
+    assertThat(logMerger.drain(WINDOW)).hasSize(1);
+  }
+
+  private static LogLine line(String pod, String line) {
+    return new LogLine(pod, "c", line);
+  }
+}
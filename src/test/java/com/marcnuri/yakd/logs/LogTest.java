@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18
+ */
+package com.marcnuri.yakd.logs;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.when;
+
+@QuarkusTest
+@WithKubernetesTestServer
+class LogTest {
+
+  @Test
+  @DisplayName("GET /api/v1/logs/{namespace} - Should require a workload or label selector")
+  void logsWithoutSelector() {
+    when()
+      .get("/api/v1/logs/default")
+      .then()
+      .statusCode(400);
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/logs/{namespace}?labelSelector= - Should reject set-based label requirements")
+  void logsWithSetBasedSelector() {
+    when()
+      .get("/api/v1/logs/default?labelSelector=app in (a,b)")
+      .then()
+      .statusCode(400);
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/logs/{namespace}?labelSelector= - Should reject invalid label values")
+  void logsWithInvalidSelectorValue() {
+    when()
+      .get("/api/v1/logs/default?labelSelector=app=(a)")
+      .then()
+      .statusCode(400);
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/logs/{namespace}?deployment= - Should fail for missing deployments")
+  void logsForMissingDeployment() {
+    when()
+      .get("/api/v1/logs/default?deployment=missing")
+      .then()
+      .statusCode(404);
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18
+ */
+package com.marcnuri.yakd.pod;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import jakarta.ws.rs.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LogFilterTest {
+
+  private static final List<String> LINES = List.of(
+    "INFO starting", "DEBUG tick 1", "WARN disk almost full", "DEBUG tick 2", "DEBUG tick 3", "DEBUG tick 4",
+    "ERROR disk full", "INFO done");
+
+  @Nested
+  @DisplayName("Matching")
+  class Matching {
+
+    @Test
+    @DisplayName("should emit every line without filters")
+    void shouldEmitEverything() {
+      assertThat(LogFilter.of(null, List.of(), null, null, 0)).isSameAs(LogFilter.NONE);
+      assertThat(filter(LogFilter.NONE)).isEqualTo(LINES);
+    }
+
+    @Test
+    @DisplayName("should include lines containing any literal")
+    void shouldIncludeLiterals() {
+      assertThat(filter(LogFilter.of(List.of("WARN", "ERROR"), null, null, null, 0)))
+        .containsExactly("WARN disk almost full", "ERROR disk full");
+    }
+
+    @Test
+    @DisplayName("should exclude lines containing any literal")
+    void shouldExcludeLiterals() {
+      assertThat(filter(LogFilter.of(null, List.of("DEBUG"), null, null, 0)))
+        .containsExactly("INFO starting", "WARN disk almost full", "ERROR disk full", "INFO done");
+    }
+
+    @Test
+    @DisplayName("should include lines matching a regex unless excluded")
+    void shouldIncludeRegexUnlessExcluded() {
+      assertThat(filter(LogFilter.of(null, null, List.of("disk \\w+"), List.of("^ERROR"), 0)))
+        .containsExactly("WARN disk almost full");
+    }
+
+    @Test
+    @DisplayName("should match the message after the timestamp")
+    void shouldMatchMessageAfterTimestamp() {
+      // Given
+      final var scanner = LogFilter.of(List.of("2026"), null, List.of("^ERROR"), null, 0).scanner();
+
+      // When
+      final var error = scanner.accept("2026-10-18T10:00:00.123456789Z ERROR disk full");
+      final var info = scanner.accept("2026-10-18T10:00:01.123456789Z INFO 2026 ERROR");
+
+      // Then
+      assertThat(error).containsExactly("2026-10-18T10:00:00.123456789Z ERROR disk full");
+      assertThat(info).containsExactly("2026-10-18T10:00:01.123456789Z INFO 2026 ERROR");
+      assertThat(scanner.accept("2026-10-18T10:00:02.123456789Z INFO ERROR")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should reject invalid regular expressions")
+    void shouldRejectInvalidRegex() {
+      assertThatThrownBy(() -> LogFilter.of(null, null, List.of("disk ("), null, 0))
+        .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("should reject too long regular expressions")
+    void shouldRejectTooLongRegex() {
+      assertThatThrownBy(() -> LogFilter.of(null, null, List.of("a".repeat(LogFilter.MAX_REGEX_LENGTH + 1)), null, 0))
+        .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("should neither include nor exclude lines exceeding the match steps")
+    void shouldBoundCatastrophicBacktracking() {
+      // Given
+      final var backtracking = "a".repeat(64) + "!";
+      final var include = LogFilter.of(null, null, List.of("(.*a){20}$"), null, 0).scanner();
+      final var exclude = LogFilter.of(null, null, null, List.of("(.*a){20}$"), 0).scanner();
+
+      // When
+      final var included = include.accept(backtracking);
+      final var excluded = exclude.accept(backtracking);
+
+      // Then
+      assertThat(included).isEmpty();
+      assertThat(excluded).containsExactly(backtracking);
+      assertThat(include.accept("a".repeat(20))).containsExactly("a".repeat(20));
+    }
+  }
+
+  @Nested
+  @DisplayName("Context")
+  class Context {
+
+    @Test
+    @DisplayName("should emit the context lines around each match separating non-contiguous groups")
+    void shouldEmitContext() {
+      assertThat(filter(LogFilter.of(List.of("disk"), null, null, null, 1)))
+        .containsExactly("DEBUG tick 1", "WARN disk almost full", "DEBUG tick 2", "--", "DEBUG tick 4",
+          "ERROR disk full", "INFO done");
+    }
+
+    @Test
+    @DisplayName("should not separate contiguous groups")
+    void shouldMergeContiguousGroups() {
+      assertThat(filter(LogFilter.of(List.of("disk"), null, null, null, 2)))
+        .containsExactly("INFO starting", "DEBUG tick 1", "WARN disk almost full", "DEBUG tick 2", "DEBUG tick 3",
+          "DEBUG tick 4", "ERROR disk full", "INFO done");
+    }
+
+    @Test
+    @DisplayName("should reject out of bounds context")
+    void shouldRejectOutOfBounds() {
+      assertThatThrownBy(() -> LogFilter.of(List.of("disk"), null, null, null, LogFilter.MAX_CONTEXT + 1))
+        .isInstanceOf(BadRequestException.class);
+    }
+  }
+
+  private static List<String> filter(LogFilter filter) {
+    return filter.apply(Multi.createFrom().iterable(LINES))
+      .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+      .assertCompleted()
+      .getItems();
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18
+ */
+package com.marcnuri.yakd.pod;
+
+import io.fabric8.kubernetes.client.http.WebSocket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PodExecSession")
+class PodExecSessionTest {
+
+  // Browser sends not completed yet
+  private List<SendHandler> pendingSends;
+  private List<CloseReason> sessionCloses;
+  private List<Integer> upstreamCloses;
+  private AtomicInteger upstreamRequests;
+  private WebSocket upstream;
+  private PodExecSession execSession;
+
+  @BeforeEach
+  void setUp() {
+    pendingSends = new CopyOnWriteArrayList<>();
+    sessionCloses = new CopyOnWriteArrayList<>();
+    upstreamCloses = new CopyOnWriteArrayList<>();
+    upstreamRequests = new AtomicInteger();
+    final var remote = proxy(RemoteEndpoint.Async.class, (method, args) -> {
+      if (method.equals("sendText") || method.equals("sendBinary")) {
+        pendingSends.add((SendHandler) args[1]);
+      }
+      return null;
+    });
+    final var session = proxy(Session.class, (method, args) -> switch (method) {
+      case "getAsyncRemote" -> remote;
+      case "getId" -> "session";
+      case "close" -> sessionCloses.add(args.length == 0 ? null : (CloseReason) args[0]);
+      default -> null;
+    });
+    upstream = proxy(WebSocket.class, (method, args) -> switch (method) {
+      case "request" -> upstreamRequests.incrementAndGet();
+      case "sendClose" -> upstreamCloses.add((Integer) args[0]);
+      default -> null;
+    });
+    final var meterRegistry = new SimpleMeterRegistry();
+    execSession = new PodExecSession(session, new PodExecSession.Metrics(
+      meterRegistry.counter("stdin"), meterRegistry.counter("stdout"), meterRegistry.summary("throughput")));
+    execSession.onOpen(upstream);
+  }
+
+  @Test
+  @DisplayName("should keep a single output frame in flight while the browser send is slow")
+  void shouldKeepSingleFrameInFlight() {
+    // When
+    execSession.onMessage(upstream, ByteBuffer.wrap(new byte[]{1, 'a', 'b', 'c'}));
+
+    // Then
+    assertThat(pendingSends).hasSize(1);
+    assertThat(upstreamRequests).hasValue(1);
+    assertThat(execSession.getBufferedBytes()).isEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("should pull the next output frame once the browser send completes")
+  void shouldPullNextFrameAfterSend() {
+    // Given
+    execSession.onMessage(upstream, ByteBuffer.wrap(new byte[]{1, 'a', 'b', 'c'}));
+
+    // When
+    pendingSends.remove(0).onResult(new SendResult());
+
+    // Then
+    assertThat(upstreamRequests).hasValue(2);
+    assertThat(execSession.getBufferedBytes()).isZero();
+    execSession.onMessage(upstream, ByteBuffer.wrap(new byte[]{1, 'd'}));
+    assertThat(pendingSends).hasSize(1);
+    assertThat(execSession.getBufferedBytes()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("should close the session and the upstream when the browser send fails")
+  void shouldCloseOnSendFailure() {
+    // Given
+    execSession.onMessage(upstream, ByteBuffer.wrap(new byte[]{1, 'a', 'b', 'c'}));
+
+    // When
+    pendingSends.remove(0).onResult(new SendResult(new IOException("Broken pipe")));
+
+    // Then
+    assertThat(upstreamRequests).hasValue(1);
+    assertThat(execSession.getBufferedBytes()).isZero();
+    assertThat(sessionCloses).singleElement()
+      .extracting(CloseReason::getCloseCode)
+      .isEqualTo(CloseReason.CloseCodes.CLOSED_ABNORMALLY);
+    assertThat(upstreamCloses).containsExactly(CloseReason.CloseCodes.CLOSED_ABNORMALLY.getCode());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T proxy(Class<T> type, Handler handler) {
+    return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return type.getSimpleName();
+        default:
+          final var result = handler.invoke(method.getName(), args == null ? new Object[0] : args);
+          if (method.getReturnType() == boolean.class) {
+            return Boolean.TRUE.equals(result);
+          }
+          if (method.getReturnType() == long.class) {
+            return 0L;
+          }
+          return method.getReturnType().isInstance(result) ? result : null;
+      }
+    });
+  }
+
+  @FunctionalInterface
+  private interface Handler {
+    Object invoke(String method, Object[] args);
+  }
+}
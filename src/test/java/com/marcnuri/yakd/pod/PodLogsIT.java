@@ -91,11 +91,11 @@ public class PodLogsIT {
 
     // Mock log endpoints for both containers with different messages
     kubernetes.expect().get()
-      .withPath("/api/v1/namespaces/" + POD_NAMESPACE + "/pods/" + POD_NAME + "/log?pretty=true&container=container-1&timestamps=true&follow=true")
+      .withPath("/api/v1/namespaces/" + POD_NAMESPACE + "/pods/" + POD_NAME + "/log?pretty=true&container=container-1&tailLines=1000&timestamps=true&follow=true")
       .andReturn(200, "Hello from container 1 logs!")
       .always();
     kubernetes.expect().get()
-      .withPath("/api/v1/namespaces/" + POD_NAMESPACE + "/pods/" + POD_NAME + "/log?pretty=true&container=container-2&timestamps=true&follow=true")
+      .withPath("/api/v1/namespaces/" + POD_NAMESPACE + "/pods/" + POD_NAME + "/log?pretty=true&container=container-2&tailLines=1000&timestamps=true&follow=true")
       .andReturn(200, "Hello from container 2 logs!")
       .always();
 
@@ -40,8 +40,11 @@ import static io.restassured.RestAssured.given;
 import static io.restassured.RestAssured.when;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.matchesRegex;
+import static org.hamcrest.Matchers.not;
 
 @QuarkusTest
 @WithKubernetesTestServer
@@ -57,6 +60,49 @@ class PodTest {
     kubernetesClient.pods().inNamespace(kubernetesClient.getConfiguration().getNamespace()).delete();
   }
 
+  @Test
+  @DisplayName("GET /api/v1/pods?labelSelector= - Should list the pods with the label")
+  void listByLabel() {
+    kubernetesClient.pods().resource(new PodBuilder().withNewMetadata().withName("labeled")
+      .addToLabels("app", "the-app").endMetadata().build()).create();
+    final var last = kubernetesClient.pods().resource(new PodBuilder().withNewMetadata().withName("other")
+      .addToLabels("app", "other-app").endMetadata().build()).create();
+    // Served by the watch cache (once synced), at least as fresh as the last write
+    given()
+      .queryParam("resourceVersion", last.getMetadata().getResourceVersion())
+      .when()
+      .get("/api/v1/pods?labelSelector=app=the-app")
+      .then()
+      .statusCode(200)
+      .body("metadata.name", contains("labeled"));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/pods?ownerUid= - Should list the pods owned by the resource")
+  void listByOwnerUid() {
+    kubernetesClient.pods().resource(new PodBuilder().withNewMetadata().withName("owned")
+      .addNewOwnerReference().withUid("owner-uid").withKind("ReplicaSet").withName("owner").endOwnerReference()
+      .endMetadata().build()).create();
+    final var last = kubernetesClient.pods().resource(new PodBuilder().withNewMetadata().withName("orphan")
+      .endMetadata().build()).create();
+    given()
+      .queryParam("resourceVersion", last.getMetadata().getResourceVersion())
+      .when()
+      .get("/api/v1/pods?ownerUid=owner-uid")
+      .then()
+      .statusCode(200)
+      .body("metadata.name", contains("owned"));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/pods?labelSelector= - Should reject set-based label requirements")
+  void listByUnsupportedLabelSelector() {
+    when()
+      .get("/api/v1/pods?labelSelector=app!=the-app")
+      .then()
+      .statusCode(400);
+  }
+
   @Test
   @DisplayName("GET /api/v1/pods/{namespace}/{name} - Should get the pod")
   void get() {
@@ -69,6 +115,49 @@ class PodTest {
       .body("metadata.name", is("to-get"));
   }
 
+  @Test
+  @DisplayName("GET /api/v1/pods/{namespace}/{name} - Should get the projected pod from the watch cache")
+  void getFromCache() {
+    kubernetesClient.pods().resource(new PodBuilder().withNewMetadata().withName("to-get-cached")
+      .addToAnnotations("kubectl.kubernetes.io/last-applied-configuration", "{}").endMetadata().build())
+      .create();
+    final var path = "/api/v1/pods/" + kubernetesClient.getConfiguration().getNamespace() + "/to-get-cached";
+    // The first reads start the watch and fall back to the API server until the cache is synced
+    Awaitility.await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> when()
+      .get(path)
+      .then()
+      .statusCode(200)
+      .body("metadata.name", is("to-get-cached"))
+      .body("metadata.annotations", not(hasKey("kubectl.kubernetes.io/last-applied-configuration"))));
+    when()
+      .get(path + "?live=true")
+      .then()
+      .statusCode(200)
+      .body("metadata.annotations", hasKey("kubectl.kubernetes.io/last-applied-configuration"));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/pods/{namespace}/{name}/logs/{container}/download - Should reject invalid sinceTime")
+  void downloadLogsWithInvalidSinceTime() {
+    when()
+      .get("/api/v1/pods/" + kubernetesClient.getConfiguration().getNamespace()
+        + "/to-download/logs/container/download?sinceTime=yesterday")
+      .then()
+      .statusCode(400);
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/pods/{namespace}/{name}/logs/{container}/download - Should accept sinceTime with offset")
+  void downloadLogsWithOffsetSinceTime() {
+    given()
+      .queryParam("sinceTime", "2026-10-18T10:00:00+02:00")
+      .when()
+      .get("/api/v1/pods/" + kubernetesClient.getConfiguration().getNamespace()
+        + "/to-download/logs/container/download")
+      .then()
+      .statusCode(not(400));
+  }
+
   @Test
   @DisplayName("DELETE /api/v1/pods/{namespace}/{name} - Should delete the pod")
   void delete() {
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18
+ */
+package com.marcnuri.yakd.pod;
+
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.smallrye.mutiny.operators.multi.processors.UnicastProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SharedLogTest {
+
+  private UnicastProcessor<String> upstream;
+  private AtomicBoolean upstreamCancelled;
+  private List<SharedLog> released;
+  private SharedLog sharedLog;
+
+  @BeforeEach
+  void setUp() {
+    upstream = UnicastProcessor.create();
+    upstreamCancelled = new AtomicBoolean();
+    released = new CopyOnWriteArrayList<>();
+    sharedLog = new SharedLog(upstream.onCancellation().invoke(() -> upstreamCancelled.set(true)), 1, 3, released::add);
+  }
+
+  @Test
+  @DisplayName("should emit the buffered tail to new viewers followed by the live lines")
+  void shouldEmitTailAndLive() {
+    // Given
+    sharedLog.add(new LogViewer(sharedLog), null);
+    sharedLog.start();
+    upstream.onNext("line 1");
+    upstream.onNext("line 2");
+    final var viewer = new LogViewer(sharedLog);
+    final var subscriber = AssertSubscriber.<String>create(10);
+
+    // When
+    sharedLog.add(viewer, 1);
+    viewer.subscribe(subscriber);
+    upstream.onNext("line 3");
+
+    // Then
+    assertThat(subscriber.getItems()).containsExactly("line 2", "line 3");
+  }
+
+  @Test
+  @DisplayName("should emit only the upstream tail to the first viewer of a new log")
+  void shouldEmitUpstreamTailToFirstViewer() {
+    // Given
+    final var newLog = new SharedLog(upstream, 2, 5, released::add);
+    final var viewer = new LogViewer(newLog);
+    final var subscriber = AssertSubscriber.<String>create(10);
+
+    // When
+    newLog.add(viewer, 2);
+    newLog.start();
+    viewer.subscribe(subscriber);
+    upstream.onNext("line 9");
+    upstream.onNext("line 10");
+
+    // Then
+    assertThat(subscriber.getItems()).containsExactly("line 9", "line 10");
+  }
+
+  @Test
+  @DisplayName("should serve smaller tails only once the upstream backlog has been received")
+  void shouldServeSmallerTailsAfterBacklog() {
+    // Given
+    final var newLog = new SharedLog(upstream, 2, 5, released::add);
+    newLog.add(new LogViewer(newLog), 2);
+    newLog.start();
+    upstream.onNext("line 9");
+    assertThat(newLog.serves(1)).isFalse();
+    upstream.onNext("line 10");
+    final var viewer = new LogViewer(newLog);
+    final var subscriber = AssertSubscriber.<String>create(10);
+
+    // When
+    newLog.add(viewer, 1);
+    viewer.subscribe(subscriber);
+    upstream.onNext("line 11");
+
+    // Then
+    assertThat(newLog.serves(1)).isTrue();
+    assertThat(newLog.serves(3)).isFalse();
+    assertThat(subscriber.getItems()).containsExactly("line 10", "line 11");
+  }
+
+  @Test
+  @DisplayName("should pace the upstream by the slowest viewer without skipping lines")
+  void shouldPaceBySlowestViewer() {
+    // Given
+    final var slow = new LogViewer(sharedLog);
+    final var slowSubscriber = AssertSubscriber.<String>create(0);
+    final var fast = new LogViewer(sharedLog);
+    final var fastSubscriber = AssertSubscriber.<String>create(100);
+    sharedLog.add(slow, null);
+    sharedLog.add(fast, null);
+    sharedLog.start();
+    slow.subscribe(slowSubscriber);
+    fast.subscribe(fastSubscriber);
+
+    // When
+    for (int it = 1; it <= 10; it++) {
+      upstream.onNext("line " + it);
+    }
+
+    // Then
+    assertThat(fastSubscriber.getItems()).containsExactly("line 1", "line 2", "line 3", "line 4", "line 5", "line 6");
+    slowSubscriber.request(100);
+    assertThat(slowSubscriber.getItems()).hasSize(10).startsWith("line 1").endsWith("line 10");
+    assertThat(fastSubscriber.getItems()).hasSize(10).endsWith("line 10");
+  }
+
+  @Test
+  @DisplayName("should release the upstream once the last viewer leaves")
+  void shouldReleaseWithLastViewer() {
+    // Given
+    final var first = new LogViewer(sharedLog);
+    final var second = new LogViewer(sharedLog);
+    sharedLog.add(first, null);
+    sharedLog.add(second, null);
+    sharedLog.start();
+
+    // When
+    first.cancel();
+
+    // Then
+    assertThat(released).isEmpty();
+    assertThat(upstreamCancelled).isFalse();
+    second.cancel();
+    assertThat(released).containsExactly(sharedLog);
+    assertThat(upstreamCancelled).isTrue();
+    assertThat(sharedLog.add(new LogViewer(sharedLog), null)).isFalse();
+  }
+
+  @Test
+  @DisplayName("should complete the viewers after the last line")
+  void shouldCompleteAfterLastLine() {
+    // Given
+    final var viewer = new LogViewer(sharedLog);
+    final var subscriber = AssertSubscriber.<String>create(0);
+    sharedLog.add(viewer, null);
+    sharedLog.start();
+    viewer.subscribe(subscriber);
+    upstream.onNext("line 1");
+
+    // When
+    upstream.onComplete();
+
+    // Then
+    subscriber.assertNotTerminated();
+    subscriber.request(1);
+    subscriber.assertItems("line 1").assertCompleted();
+    assertThat(released).containsExactly(sharedLog);
+  }
+}
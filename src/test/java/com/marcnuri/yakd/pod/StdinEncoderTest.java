@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18
+ */
+package com.marcnuri.yakd.pod;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StdinEncoder")
+class StdinEncoderTest {
+
+  private StdinEncoder stdinEncoder;
+
+  @BeforeEach
+  void setUp() {
+    stdinEncoder = new StdinEncoder();
+  }
+
+  @Test
+  @DisplayName("should prepend the STDIN stream byte")
+  void shouldPrependStdinByte() {
+    assertThat(bytes(stdinEncoder.encode("ls -la\n")))
+      .containsExactly(concat((byte) 0, "ls -la\n".getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  @DisplayName("should encode multibyte characters as UTF-8")
+  void shouldEncodeUtf8() {
+    final var text = "echo ñ € 🚀";
+    assertThat(bytes(stdinEncoder.encode(text)))
+      .containsExactly(concat((byte) 0, text.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  @DisplayName("should reuse the frame buffer")
+  void shouldReuseBuffer() {
+    final var first = stdinEncoder.encode("first");
+    final var second = stdinEncoder.encode("second");
+    assertThat(second).isSameAs(first);
+    assertThat(bytes(second)).containsExactly(concat((byte) 0, "second".getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  @DisplayName("should not reuse a detached frame buffer")
+  void shouldNotReuseDetachedBuffer() {
+    final var first = stdinEncoder.encode("first");
+    stdinEncoder.detach();
+    final var second = stdinEncoder.encode("second");
+    assertThat(second).isNotSameAs(first);
+    assertThat(bytes(first)).containsExactly(concat((byte) 0, "first".getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  @DisplayName("should not retain frame buffers for large inputs")
+  void shouldNotRetainLargeBuffers() {
+    final var large = "a".repeat(StdinEncoder.MAX_RETAINED_CAPACITY);
+    final var first = stdinEncoder.encode(large);
+    final var second = stdinEncoder.encode(large);
+    assertThat(second).isNotSameAs(first);
+    assertThat(second.remaining()).isEqualTo(large.length() + 1);
+  }
+
+  private static byte[] bytes(ByteBuffer buffer) {
+    final var bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return bytes;
+  }
+
+  private static byte[] concat(byte first, byte[] rest) {
+    final var bytes = new byte[rest.length + 1];
+    bytes[0] = first;
+    System.arraycopy(rest, 0, bytes, 1, rest.length);
+    return bytes;
+  }
+}
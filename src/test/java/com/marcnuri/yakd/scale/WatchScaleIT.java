@@ -0,0 +1,303 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18
+ */
+package com.marcnuri.yakd.scale;
+
+import io.fabric8.kubernetes.api.model.EventBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.base.PatchContext;
+import io.fabric8.kubernetes.client.dsl.base.PatchType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.sse.InboundSseEvent;
+import jakarta.ws.rs.sse.SseEventSource;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Scale test harness for the watch pipeline (upstream watches, cache, SSE fan-out).
+ *
+ * <p> Seeds the mock API server with a large cluster, connects M SSE clients to {@code /api/v1/watch} and
+ * drives MODIFIED churn on the Pods at N events/s. Reports the end-to-end latency (from the Pod patch
+ * request to the SSE event reception), the heap usage and the dropped (evicted or failed) clients.
+ *
+ * <p> Excluded from the default build, run with: {@code mvn -Pscale verify [-Dyakd.scale.clients=50 ...]}.
+ * The API server, the application and the clients share the JVM, the heap usage includes all of them.
+ */
+@Tag("scale")
+@QuarkusTest
+@WithKubernetesTestServer
+class WatchScaleIT {
+
+  private static final Logger LOG = LoggerFactory.getLogger(WatchScaleIT.class);
+  private static final String NAMESPACE = "yakd-scale";
+  private static final String SENT_ANNOTATION = "yakd.marcnuri.com/scale-sent";
+  private static final String SENT_PATTERN = "\"" + SENT_ANNOTATION + "\":\"";
+  private static final int SEED_CONCURRENCY = 128;
+
+  private final int pods = Integer.getInteger("yakd.scale.pods", 50_000);
+  private final int deployments = Integer.getInteger("yakd.scale.deployments", 5_000);
+  private final int events = Integer.getInteger("yakd.scale.events", 100_000);
+  private final int clients = Integer.getInteger("yakd.scale.clients", 10);
+  private final int churnRate = Integer.getInteger("yakd.scale.churn-rate", 200);
+  private final Duration churnDuration = Duration.ofSeconds(Long.getLong("yakd.scale.churn-seconds", 60L));
+  // Optional thresholds to fail the run, 0 to only report
+  private final long maxP99Millis = Long.getLong("yakd.scale.max-p99-ms", 0L);
+
+  @Inject
+  KubernetesClient kubernetesClient;
+  @Inject
+  MeterRegistry meterRegistry;
+  @TestHTTPResource
+  URL url;
+
+  private final List<ScaleClient> scaleClients = new ArrayList<>();
+
+  @AfterEach
+  void cleanUp() {
+    scaleClients.forEach(ScaleClient::close);
+    kubernetesClient.pods().inNamespace(NAMESPACE).delete();
+    kubernetesClient.apps().deployments().inNamespace(NAMESPACE).delete();
+    kubernetesClient.v1().events().inNamespace(NAMESPACE).delete();
+  }
+
+  @Test
+  @DisplayName("should fan out the Pod churn of a large cluster to every watch client")
+  void podChurn() throws Exception {
+    // Given
+    final var heap = new HeapSampler();
+    heap.start();
+    final var latency = Timer.builder("yakd.scale.latency").publishPercentiles(0.5, 0.99)
+      .register(new SimpleMeterRegistry());
+    final var uri = UriBuilder.fromUri(url.toURI()).replacePath("/api/v1/watch").build();
+    for (int it = 0; it < clients; it++) {
+      scaleClients.add(new ScaleClient(uri, latency));
+    }
+    // The upstream watches are live once every client receives the canary
+    kubernetesClient.pods().inNamespace(NAMESPACE).resource(pod("canary")).create();
+    Awaitility.await().atMost(Duration.ofMinutes(1))
+      .until(() -> scaleClients.stream().allMatch(c -> c.received.get() > 0));
+    // Clients receive the seeded cluster as it's created (the ADDED events of a cluster that's starting up)
+    final var initial = scaleClients.stream().mapToLong(c -> c.received.get()).min().orElse(0);
+    seed();
+    Awaitility.await().atMost(Duration.ofMinutes(10)).pollInterval(Duration.ofSeconds(1))
+      .until(() -> scaleClients.stream().allMatch(c -> c.received.get() >= initial + pods + deployments + events));
+    final var evictionsBefore = evictions();
+    // When
+    final var sent = driveChurn();
+    Awaitility.await().atMost(Duration.ofMinutes(1)).pollInterval(Duration.ofMillis(500))
+      .until(() -> latency.count() >= sent * clients || scaleClients.stream().anyMatch(c -> c.failed.get()));
+    heap.stop();
+    // Then
+    final var percentiles = latency.takeSnapshot().percentileValues();
+    final var p50 = percentiles[0].value(TimeUnit.MILLISECONDS);
+    final var p99 = percentiles[1].value(TimeUnit.MILLISECONDS);
+    final var dropped = (long) (evictions() - evictionsBefore);
+    LOG.info(String.format("""
+
+        Watch scale test
+          Cluster:   %d pods, %d deployments, %d events
+          Clients:   %d, churn %d events/s for %d s (%d sent)
+          Delivered: %d of %d events
+          Latency:   p50 %.1f ms, p99 %.1f ms, max %.1f ms
+          Heap:      max used %d MiB, final used %d MiB
+          Dropped:   %d evicted subscribers, %d failed clients
+        """,
+      pods, deployments, events,
+      clients, churnRate, churnDuration.toSeconds(), sent,
+      latency.count(), sent * clients,
+      p50, p99, latency.max(TimeUnit.MILLISECONDS),
+      heap.max.get() >> 20, heap.used() >> 20,
+      dropped, scaleClients.stream().filter(c -> c.failed.get()).count()));
+    assertThat(scaleClients).allSatisfy(c -> assertThat(c.failed).isFalse());
+    if (maxP99Millis > 0) {
+      assertThat(p99).isLessThanOrEqualTo(maxP99Millis);
+    }
+  }
+
+  private void seed() {
+    final var start = System.nanoTime();
+    parallel(pods, it -> kubernetesClient.pods().inNamespace(NAMESPACE).resource(pod("pod-" + it)).create());
+    parallel(deployments, it -> kubernetesClient.apps().deployments().inNamespace(NAMESPACE).resource(new DeploymentBuilder()
+      .withNewMetadata().withName("app-" + it).endMetadata()
+      .withNewSpec().withReplicas(10).withNewSelector().addToMatchLabels("app", "app-" + it).endSelector()
+      .withNewTemplate().withNewMetadata().addToLabels("app", "app-" + it).endMetadata()
+      .withNewSpec().addNewContainer().withName("app").withImage("quay.io/example/app:1.0.0").endContainer().endSpec()
+      .endTemplate().endSpec()
+      .build()).create());
+    parallel(events, it -> kubernetesClient.v1().events().inNamespace(NAMESPACE).resource(new EventBuilder()
+      .withNewMetadata().withName("pod-" + (it % pods) + "." + it).endMetadata()
+      .withNewInvolvedObject().withKind("Pod").withName("pod-" + (it % pods)).withNamespace(NAMESPACE).endInvolvedObject()
+      .withType("Normal").withReason("Pulled").withMessage("Container image \"quay.io/example/app:1.0.0\" already present")
+      .build()).create());
+    LOG.info("Seeded the mock API server in {} s", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+  }
+
+  /**
+   * Drives the MODIFIED churn at the configured rate, each patch carries its request time.
+   *
+   * @return the number of patched Pods.
+   */
+  private long driveChurn() {
+    final var total = churnRate * churnDuration.toSeconds();
+    final var intervalNanos = TimeUnit.SECONDS.toNanos(1) / churnRate;
+    final var start = System.nanoTime();
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (long it = 0; it < total; it++) {
+        final var due = start + it * intervalNanos;
+        while (System.nanoTime() < due) {
+          LockSupport.parkNanos(due - System.nanoTime());
+        }
+        final var name = "pod-" + (it % pods);
+        executor.execute(() -> kubernetesClient.pods().inNamespace(NAMESPACE).withName(name).patch(
+          PatchContext.of(PatchType.JSON_MERGE),
+          "{\"metadata\":{\"annotations\":{\"" + SENT_ANNOTATION + "\":\"" + System.nanoTime() + "\"}}}"));
+      }
+    }
+    return total;
+  }
+
+  private Pod pod(String name) {
+    final var hash = name.hashCode();
+    return new PodBuilder()
+      .withNewMetadata().withName(name).addToLabels("app", "app-" + Math.floorMod(hash, deployments)).endMetadata()
+      .withNewSpec().addNewContainer().withName("app").withImage("quay.io/example/app:1.0.0").endContainer()
+      .withNodeName("node-" + Math.floorMod(hash, 100)).endSpec()
+      .withNewStatus().withPhase("Running").withPodIP("10.244." + (hash >> 8 & 0xFF) + "." + (hash & 0xFF)).endStatus()
+      .build();
+  }
+
+  private double evictions() {
+    return meterRegistry.get("yakd.watch.subscriber.evictions").counter().count();
+  }
+
+  private static void parallel(int count, IntConsumer task) {
+    final var permits = new Semaphore(SEED_CONCURRENCY);
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int it = 0; it < count; it++) {
+        permits.acquireUninterruptibly();
+        final var index = it;
+        executor.execute(() -> {
+          try {
+            task.accept(index);
+          } finally {
+            permits.release();
+          }
+        });
+      }
+    }
+  }
+
+  /**
+   * SSE client recording the latency of the churned (MODIFIED) Pod events.
+   */
+  private static final class ScaleClient implements AutoCloseable {
+
+    private final Client client;
+    private final SseEventSource eventSource;
+    private final Timer latency;
+    private final AtomicLong received;
+    private final AtomicBoolean failed;
+
+    private ScaleClient(URI uri, Timer latency) {
+      this.latency = latency;
+      received = new AtomicLong();
+      failed = new AtomicBoolean();
+      client = ClientBuilder.newClient();
+      eventSource = SseEventSource.target(client.target(uri)).build();
+      // Evicted clients reconnect (and are reported by the evictions counter), only errors fail the client
+      eventSource.register(this::onEvent, throwable -> failed.set(true));
+      eventSource.open();
+    }
+
+    private void onEvent(InboundSseEvent event) {
+      // Named events (subscription, resync) are control messages
+      if (event.getName() != null) {
+        return;
+      }
+      final var now = System.nanoTime();
+      received.incrementAndGet();
+      final var data = event.readData();
+      final var sent = data.indexOf(SENT_PATTERN);
+      if (sent >= 0 && data.contains("\"type\":\"MODIFIED\"")) {
+        final var from = sent + SENT_PATTERN.length();
+        latency.record(now - Long.parseLong(data, from, data.indexOf('"', from), 10), TimeUnit.NANOSECONDS);
+      }
+    }
+
+    @Override
+    public void close() {
+      eventSource.close();
+      client.close();
+    }
+  }
+
+  /**
+   * Samples the heap usage every second and keeps the max.
+   */
+  private static final class HeapSampler {
+
+    private final AtomicLong max = new AtomicLong();
+    private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().factory());
+
+    void start() {
+      scheduler.scheduleAtFixedRate(() -> max.accumulateAndGet(used(), Math::max), 0, 1, TimeUnit.SECONDS);
+    }
+
+    void stop() {
+      scheduler.shutdownNow();
+    }
+
+    long used() {
+      return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18
+ */
+package com.marcnuri.yakd.search;
+
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.NamespaceBuilder;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchIndexTest {
+
+  private SearchIndex searchIndex;
+
+  @BeforeEach
+  void setUp() {
+    searchIndex = new SearchIndex();
+    searchIndex.put(new PodBuilder()
+      .withNewMetadata().withUid("pod-1").withName("frontend-7d9f").withNamespace("shop")
+      .addToLabels("app", "frontend").endMetadata()
+      .withNewSpec().addNewContainer().withName("web").withImage("quay.io/acme/nginx:1.25").endContainer().endSpec()
+      .build());
+    searchIndex.put(new DeploymentBuilder()
+      .withNewMetadata().withUid("deployment-1").withName("frontend").withNamespace("shop").endMetadata()
+      .withNewSpec().withNewTemplate().withNewSpec()
+      .addNewContainer().withName("web").withImage("quay.io/acme/nginx:1.25").endContainer()
+      .endSpec().endTemplate().endSpec()
+      .build());
+    searchIndex.put(new ConfigMapBuilder()
+      .withNewMetadata().withUid("config-map-1").withName("backend-config").withNamespace("billing")
+      .addToAnnotations("owner", "billing-team").endMetadata()
+      .build());
+    searchIndex.put(new NamespaceBuilder()
+      .withNewMetadata().withUid("namespace-1").withName("shop").endMetadata()
+      .build());
+  }
+
+  @Nested
+  @DisplayName("Matching")
+  class Matching {
+
+    @Test
+    @DisplayName("should match names exactly")
+    void shouldMatchExact() {
+      assertThat(searchIndex.search("frontend", null, Set.of(), 0, 10).hits())
+        .first().extracting(SearchHit::uid).isEqualTo("deployment-1");
+    }
+
+    @Test
+    @DisplayName("should match by prefix")
+    void shouldMatchPrefix() {
+      assertThat(searchIndex.search("fro", null, Set.of(), 0, 10).hits())
+        .extracting(SearchHit::uid)
+        .containsExactlyInAnyOrder("pod-1", "deployment-1");
+    }
+
+    @Test
+    @DisplayName("should match by substring")
+    void shouldMatchSubstring() {
+      assertThat(searchIndex.search("end-con", null, Set.of(), 0, 10).hits())
+        .extracting(SearchHit::uid)
+        .containsExactly("config-map-1");
+    }
+
+    @Test
+    @DisplayName("should match container images")
+    void shouldMatchImages() {
+      assertThat(searchIndex.search("nginx", null, Set.of(), 0, 10).hits())
+        .extracting(SearchHit::uid)
+        .containsExactlyInAnyOrder("pod-1", "deployment-1");
+    }
+
+    @Test
+    @DisplayName("should match labels and annotations")
+    void shouldMatchLabelsAndAnnotations() {
+      assertThat(searchIndex.search("app=frontend", null, Set.of(), 0, 10).hits())
+        .extracting(SearchHit::uid).containsExactly("pod-1");
+      assertThat(searchIndex.search("billing-team", null, Set.of(), 0, 10).hits())
+        .extracting(SearchHit::uid).containsExactly("config-map-1");
+    }
+
+    @Test
+    @DisplayName("should require every word to match")
+    void shouldMatchEveryWord() {
+      assertThat(searchIndex.search("frontend pod", null, Set.of(), 0, 10).hits())
+        .extracting(SearchHit::uid).containsExactly("pod-1");
+    }
+
+    @Test
+    @DisplayName("should rank name matches before other fields")
+    void shouldRankNameMatches() {
+      assertThat(searchIndex.search("frontend", null, Set.of(), 0, 10).hits())
+        .extracting(SearchHit::uid)
+        .containsExactly("deployment-1", "pod-1");
+    }
+  }
+
+  @Nested
+  @DisplayName("Filtering and pagination")
+  class FilteringAndPagination {
+
+    @Test
+    @DisplayName("should filter by namespace including cluster-scoped resources")
+    void shouldFilterByNamespace() {
+      assertThat(searchIndex.search("shop", "shop", Set.of(), 0, 10).hits())
+        .extracting(SearchHit::uid)
+        .containsExactlyInAnyOrder("pod-1", "deployment-1", "namespace-1");
+      assertThat(searchIndex.search("billing", "billing", Set.of(), 0, 10).hits())
+        .extracting(SearchHit::uid)
+        .containsExactly("config-map-1");
+    }
+
+    @Test
+    @DisplayName("should filter by kind")
+    void shouldFilterByKind() {
+      assertThat(searchIndex.search("frontend", null, Set.of("Pod"), 0, 10).hits())
+        .extracting(SearchHit::uid).containsExactly("pod-1");
+    }
+
+    @Test
+    @DisplayName("should paginate the ranked hits")
+    void shouldPaginate() {
+      final var result = searchIndex.search("frontend", null, Set.of(), 1, 1);
+      assertThat(result.total()).isEqualTo(2);
+      assertThat(result.hits()).extracting(SearchHit::uid).containsExactly("pod-1");
+    }
+  }
+
+  @Nested
+  @DisplayName("Updates")
+  class Updates {
+
+    @Test
+    @DisplayName("should reindex modified resources")
+    void shouldReindexModified() {
+      // When
+      searchIndex.put(new ConfigMapBuilder()
+        .withNewMetadata().withUid("config-map-1").withName("renamed").withNamespace("billing").endMetadata()
+        .build());
+
+      // Then
+      assertThat(searchIndex.search("backend", null, Set.of(), 0, 10).total()).isZero();
+      assertThat(searchIndex.search("renamed", null, Set.of(), 0, 10).hits())
+        .extracting(SearchHit::uid).containsExactly("config-map-1");
+    }
+
+    @Test
+    @DisplayName("should remove deleted resources")
+    void shouldRemoveDeleted() {
+      // When
+      searchIndex.remove(new PodBuilder().withNewMetadata().withUid("pod-1").endMetadata().build());
+
+      // Then
+      assertThat(searchIndex.search("nginx", null, Set.of(), 0, 10).hits())
+        .extracting(SearchHit::uid).containsExactly("deployment-1");
+      assertThat(searchIndex.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("should remove every resource of a kind")
+    void shouldRemoveKind() {
+      // When
+      searchIndex.removeKind("Deployment");
+
+      // Then
+      assertThat(searchIndex.search("nginx", null, Set.of(), 0, 10).hits())
+        .extracting(SearchHit::uid).containsExactly("pod-1");
+    }
+  }
+}
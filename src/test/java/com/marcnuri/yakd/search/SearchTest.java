@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18
+ */
+package com.marcnuri.yakd.search;
+
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
+import jakarta.inject.Inject;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.when;
+import static org.hamcrest.Matchers.is;
+
+@QuarkusTest
+@WithKubernetesTestServer
+class SearchTest {
+
+  @Inject
+  KubernetesClient kubernetesClient;
+
+  @AfterEach
+  void cleanUp() {
+    kubernetesClient.configMaps().inNamespace(kubernetesClient.getConfiguration().getNamespace()).delete();
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/search?q= - Should return the matching resources")
+  void search() {
+    final var configMap = kubernetesClient.configMaps().resource(new ConfigMapBuilder()
+      .withNewMetadata().withName("searchable-config").endMetadata().build()).create();
+    Awaitility.await()
+      .atMost(10, TimeUnit.SECONDS)
+      .until(() -> when().get("/api/v1/search?q=searchable").then().statusCode(200)
+        .extract().jsonPath().getList("hits.uid"), uids -> uids.contains(configMap.getMetadata().getUid()));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/search?q= - Should return no hits for unknown terms")
+  void searchUnknown() {
+    when()
+      .get("/api/v1/search?q=does-not-exist")
+      .then()
+      .statusCode(200)
+      .body("total", is(0), "hits", is(List.of()));
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18
+ */
+package com.marcnuri.yakd.watch;
+
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.WatcherException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static com.marcnuri.yakd.watch.ApiAvailability.CLUSTER_SCOPE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ApiAvailabilityTest {
+
+  private AtomicInteger probes;
+  private ApiAvailability apiAvailability;
+
+  @BeforeEach
+  void setUp() {
+    probes = new AtomicInteger();
+    apiAvailability = new ApiAvailability(Duration.ofMinutes(5));
+  }
+
+  private Runnable probe(KubernetesClientException failure) {
+    return () -> {
+      probes.incrementAndGet();
+      if (failure != null) {
+        throw failure;
+      }
+    };
+  }
+
+  @Nested
+  @DisplayName("With allowed access")
+  class Allowed {
+
+    @Test
+    @DisplayName("should probe once for subsequent subscriptions")
+    void probesOnce() {
+      // When
+      apiAvailability.subscriber("Pod", CLUSTER_SCOPE, probe(null), Subscriber.empty());
+      apiAvailability.subscriber("Pod", CLUSTER_SCOPE, probe(null), Subscriber.empty());
+      // Then
+      assertThat(probes).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should probe each kind and scope")
+    void probesEachKindAndScope() {
+      // When
+      apiAvailability.subscriber("Pod", CLUSTER_SCOPE, probe(null), Subscriber.empty());
+      apiAvailability.subscriber("Pod", "default", probe(null), Subscriber.empty());
+      apiAvailability.subscriber("Secret", CLUSTER_SCOPE, probe(null), Subscriber.empty());
+      // Then
+      assertThat(probes).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("should probe again once the decision expires")
+    void probesAgainWhenExpired() {
+      // Given
+      apiAvailability = new ApiAvailability(Duration.ZERO);
+      // When
+      apiAvailability.subscriber("Pod", CLUSTER_SCOPE, probe(null), Subscriber.empty());
+      apiAvailability.subscriber("Pod", CLUSTER_SCOPE, probe(null), Subscriber.empty());
+      // Then
+      assertThat(probes).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("should probe again after clear")
+    void probesAgainAfterClear() {
+      // Given
+      apiAvailability.subscriber("Pod", CLUSTER_SCOPE, probe(null), Subscriber.empty());
+      // When
+      apiAvailability.clear();
+      apiAvailability.subscriber("Pod", CLUSTER_SCOPE, probe(null), Subscriber.empty());
+      // Then
+      assertThat(probes).hasValue(2);
+    }
+  }
+
+  @Nested
+  @DisplayName("With denied access")
+  class Denied {
+
+    @Test
+    @DisplayName("should throw the cached denial without probing again")
+    void throwsCachedDenial() {
+      // Given
+      final var forbidden = new KubernetesClientException("Forbidden", 403, null);
+      assertThatThrownBy(() -> apiAvailability.subscriber("Pod", CLUSTER_SCOPE, probe(forbidden), Subscriber.empty()))
+        .isSameAs(forbidden);
+      // When
+      final var runnable = probe(null);
+      // Then
+      assertThatThrownBy(() -> apiAvailability.subscriber("Pod", CLUSTER_SCOPE, runnable, Subscriber.empty()))
+        .isSameAs(forbidden);
+      assertThat(probes).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should not cache other failures")
+    void doesNotCacheOtherFailures() {
+      // Given
+      final var unavailable = new KubernetesClientException("Service Unavailable", 503, null);
+      assertThatThrownBy(() -> apiAvailability.subscriber("Pod", CLUSTER_SCOPE, probe(unavailable), Subscriber.empty()))
+        .isSameAs(unavailable);
+      // When
+      apiAvailability.subscriber("Pod", CLUSTER_SCOPE, probe(null), Subscriber.empty());
+      // Then
+      assertThat(probes).hasValue(2);
+    }
+  }
+
+  @Nested
+  @DisplayName("When the watch is closed")
+  class Closed {
+
+    private AtomicReference<Consumer<WatcherException>> watchClose;
+    private AtomicReference<WatcherException> closeCause;
+
+    @BeforeEach
+    void subscribe() {
+      watchClose = new AtomicReference<>();
+      closeCause = new AtomicReference<>();
+      final Subscriber<Object> subscriber = (close, emitter) -> {
+        watchClose.set(close);
+        return () -> {};
+      };
+      apiAvailability.subscriber("Pod", CLUSTER_SCOPE, probe(null), subscriber)
+        .subscribe(closeCause::set, null);
+    }
+
+    @Test
+    @DisplayName("with 403, should revoke the decision")
+    void forbiddenRevokesDecision() {
+      // Given
+      final var cause = new WatcherException("Forbidden", new KubernetesClientException("Forbidden", 403, null));
+      // When
+      watchClose.get().accept(cause);
+      apiAvailability.subscriber("Pod", CLUSTER_SCOPE, probe(null), Subscriber.empty());
+      // Then
+      assertThat(probes).hasValue(2);
+      assertThat(closeCause).hasValue(cause);
+    }
+
+    @Test
+    @DisplayName("with other errors, should keep the decision")
+    void otherErrorKeepsDecision() {
+      // Given
+      final var cause = new WatcherException("Gone", new KubernetesClientException("Gone", 410, null));
+      // When
+      watchClose.get().accept(cause);
+      apiAvailability.subscriber("Pod", CLUSTER_SCOPE, probe(null), Subscriber.empty());
+      // Then
+      assertThat(probes).hasValue(1);
+      assertThat(closeCause).hasValue(cause);
+    }
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18
+ */
+package com.marcnuri.yakd.watch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonPatchTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  @DisplayName("should return empty patch for equal documents")
+  void shouldReturnEmptyForEqual() throws Exception {
+    assertThat(JsonPatch.diff(json("{\"a\":1}"), json("{\"a\":1}"))).isEmpty();
+  }
+
+  @Test
+  @DisplayName("should replace modified nested values")
+  void shouldReplaceNested() throws Exception {
+    assertThat(JsonPatch.diff(
+      json("{\"metadata\":{\"resourceVersion\":\"1\"},\"status\":{\"phase\":\"Pending\"}}"),
+      json("{\"metadata\":{\"resourceVersion\":\"2\"},\"status\":{\"phase\":\"Running\"}}")))
+      .hasToString("[{\"op\":\"replace\",\"path\":\"/metadata/resourceVersion\",\"value\":\"2\"}," +
+        "{\"op\":\"replace\",\"path\":\"/status/phase\",\"value\":\"Running\"}]");
+  }
+
+  @Test
+  @DisplayName("should add and remove fields")
+  void shouldAddAndRemove() throws Exception {
+    assertThat(JsonPatch.diff(json("{\"a\":1,\"b\":2}"), json("{\"a\":1,\"c\":3}")))
+      .hasToString("[{\"op\":\"remove\",\"path\":\"/b\"},{\"op\":\"add\",\"path\":\"/c\",\"value\":3}]");
+  }
+
+  @Test
+  @DisplayName("should diff arrays of the same size element by element")
+  void shouldDiffSameSizeArrays() throws Exception {
+    assertThat(JsonPatch.diff(
+      json("{\"conditions\":[{\"type\":\"Ready\",\"status\":\"False\"},{\"type\":\"Scheduled\",\"status\":\"True\"}]}"),
+      json("{\"conditions\":[{\"type\":\"Ready\",\"status\":\"True\"},{\"type\":\"Scheduled\",\"status\":\"True\"}]}")))
+      .hasToString("[{\"op\":\"replace\",\"path\":\"/conditions/0/status\",\"value\":\"True\"}]");
+  }
+
+  @Test
+  @DisplayName("should replace arrays with different size")
+  void shouldReplaceResizedArrays() throws Exception {
+    assertThat(JsonPatch.diff(json("{\"a\":[1]}"), json("{\"a\":[1,2]}")))
+      .hasToString("[{\"op\":\"replace\",\"path\":\"/a\",\"value\":[1,2]}]");
+  }
+
+  @Test
+  @DisplayName("should escape field names")
+  void shouldEscapeFieldNames() throws Exception {
+    assertThat(JsonPatch.diff(
+      json("{\"labels\":{\"app.kubernetes.io/name\":\"a\",\"x~y\":\"1\"}}"),
+      json("{\"labels\":{\"app.kubernetes.io/name\":\"b\",\"x~y\":\"2\"}}")))
+      .hasToString("[{\"op\":\"replace\",\"path\":\"/labels/app.kubernetes.io~1name\",\"value\":\"b\"}," +
+        "{\"op\":\"replace\",\"path\":\"/labels/x~0y\",\"value\":\"2\"}]");
+  }
+
+  private JsonNode json(String json) throws Exception {
+    return objectMapper.readTree(json);
+  }
+}
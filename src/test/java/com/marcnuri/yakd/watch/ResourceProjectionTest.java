@@ -0,0 +1,145 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18
+ */
+package com.marcnuri.yakd.watch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntryBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.Watcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourceProjectionTest {
+
+  private static final String LAST_APPLIED = "kubectl.kubernetes.io/last-applied-configuration";
+
+  private ResourceProjection projection;
+
+  @BeforeEach
+  void setUp() {
+    projection = new ResourceProjection(
+      new ResourceProjection.Rule(true, Set.of(LAST_APPLIED)),
+      Map.of("ConfigMap", new ResourceProjection.Rule(false, Set.of("example.com/ignored")))
+    );
+  }
+
+  @Nested
+  @DisplayName("Default rule")
+  class DefaultRuleTests {
+
+    private ObjectMapper objectMapper;
+    private Pod pod;
+    private long originalBytes;
+
+    @BeforeEach
+    void setUp() throws IOException {
+      objectMapper = new ObjectMapper();
+      try (var is = ResourceProjectionTest.class.getResourceAsStream("/watch/pod.json")) {
+        pod = objectMapper.readValue(is, Pod.class);
+      }
+      originalBytes = objectMapper.writeValueAsBytes(pod).length;
+      projection.apply(new WatchEvent<>(Watcher.Action.MODIFIED, pod));
+    }
+
+    @Test
+    @DisplayName("should strip managedFields")
+    void shouldStripManagedFields() {
+      assertThat(pod.getMetadata().getManagedFields()).isNullOrEmpty();
+    }
+
+    @Test
+    @DisplayName("should strip last-applied-configuration annotation")
+    void shouldStripLastAppliedAnnotation() {
+      assertThat(pod.getMetadata().getAnnotations())
+        .doesNotContainKey(LAST_APPLIED)
+        .containsEntry("prometheus.io/scrape", "true");
+    }
+
+    @Test
+    @DisplayName("should preserve spec and status")
+    void shouldPreserveSpecAndStatus() {
+      assertThat(pod)
+        .returns("worker-2", p -> p.getSpec().getNodeName())
+        .returns("Running", p -> p.getStatus().getPhase());
+    }
+
+    @Test
+    @DisplayName("should reduce serialized size of a realistic Pod by more than 40%")
+    void shouldReduceSerializedSize() throws IOException {
+      // Fixture: 7.6 KB -> 3.5 KB
+      final long projectedBytes = objectMapper.writeValueAsBytes(pod).length;
+      assertThat(projectedBytes).isLessThan((long) (originalBytes * 0.6));
+    }
+  }
+
+  @Nested
+  @DisplayName("Kind rule")
+  class KindRuleTests {
+
+    private ConfigMap configMap;
+
+    @BeforeEach
+    void setUp() {
+      configMap = new ConfigMapBuilder()
+        .withNewMetadata()
+        .withName("cm")
+        .addToAnnotations(LAST_APPLIED, "{}")
+        .addToAnnotations("example.com/ignored", "value")
+        .addToManagedFields(new ManagedFieldsEntryBuilder().withManager("kubectl").build())
+        .endMetadata()
+        .build();
+      projection.project(configMap);
+    }
+
+    @Test
+    @DisplayName("should keep managedFields when disabled for kind")
+    void shouldKeepManagedFields() {
+      assertThat(configMap.getMetadata().getManagedFields()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("should strip kind annotations instead of default ones")
+    void shouldStripKindAnnotations() {
+      assertThat(configMap.getMetadata().getAnnotations())
+        .containsOnlyKeys(LAST_APPLIED);
+    }
+  }
+
+  @Test
+  @DisplayName("none should leave resources untouched")
+  void noneShouldLeaveResourcesUntouched() {
+    // Given
+    final var configMap = new ConfigMapBuilder()
+      .withNewMetadata().withName("cm").addToAnnotations(LAST_APPLIED, "{}").endMetadata()
+      .build();
+    // When
+    ResourceProjection.none().project(configMap);
+    // Then
+    assertThat(configMap.getMetadata().getAnnotations()).containsOnlyKeys(LAST_APPLIED);
+  }
+}
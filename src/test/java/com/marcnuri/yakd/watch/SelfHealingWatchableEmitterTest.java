@@ -19,6 +19,7 @@ package com.marcnuri.yakd.watch;
 
 import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.kubernetes.client.WatcherException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.helpers.test.AssertSubscriber;
 import org.awaitility.Awaitility;
@@ -32,6 +33,8 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -44,15 +47,20 @@ import static org.assertj.core.api.Assertions.assertThat;
 class SelfHealingWatchableEmitterTest {
 
   private ScheduledExecutorService executorService;
+  private ExecutorService subscribeExecutor;
+  private SimpleMeterRegistry meterRegistry;
 
   @BeforeEach
   void setUp() {
     executorService = Executors.newScheduledThreadPool(4);
+    subscribeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    meterRegistry = new SimpleMeterRegistry();
   }
 
   @AfterEach
   void tearDown() {
     executorService.shutdownNow();
+    subscribeExecutor.shutdownNow();
   }
 
   @Nested
@@ -65,7 +73,7 @@ class SelfHealingWatchableEmitterTest {
       // Given
       var watchable1 = new TestWatchable();
       var watchable2 = new TestWatchable();
-      var emitter = new SelfHealingWatchableEmitter(executorService, List.of(watchable1, watchable2));
+      var emitter = new SelfHealingWatchableEmitter(executorService, subscribeExecutor, List.of(watchable1, watchable2), meterRegistry);
       var subscriber = AssertSubscriber.<WatchEvent<?>>create(Long.MAX_VALUE);
 
       // When
@@ -78,12 +86,42 @@ class SelfHealingWatchableEmitterTest {
       assertThat(watchable2.subscribeCount.get()).isGreaterThanOrEqualTo(1);
     }
 
+    @Test
+    @DisplayName("should subscribe to watchables in parallel")
+    void acceptShouldSubscribeInParallel() {
+      // Given
+      var blocked = new CountDownLatch(1);
+      var slowWatchable = new TestWatchable();
+      slowWatchable.availabilityCheck = () -> {
+        try {
+          return blocked.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return false;
+        }
+      };
+      var watchable = new TestWatchable();
+      var emitter = new SelfHealingWatchableEmitter(executorService, subscribeExecutor, List.of(slowWatchable, watchable), meterRegistry);
+      var subscriber = AssertSubscriber.<WatchEvent<?>>create(Long.MAX_VALUE);
+
+      // When
+      Multi.createFrom().emitter(emitter).subscribe().withSubscriber(subscriber);
+
+      // Then
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> watchable.subscribeCount.get() > 0);
+      assertThat(slowWatchable.subscribeCount.get()).isZero();
+      blocked.countDown();
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> slowWatchable.subscribeCount.get() > 0);
+    }
+
     @Test
     @DisplayName("should emit events from watchables")
     void acceptShouldEmitEvents() {
       // Given
       var watchable = new TestWatchable();
-      var emitter = new SelfHealingWatchableEmitter(executorService, List.of(watchable));
+      var emitter = new SelfHealingWatchableEmitter(executorService, subscribeExecutor, List.of(watchable), meterRegistry);
       var subscriber = AssertSubscriber.<WatchEvent<?>>create(Long.MAX_VALUE);
 
       // When
@@ -100,6 +138,26 @@ class SelfHealingWatchableEmitterTest {
       assertThat(subscriber.getItems().get(0).type()).isEqualTo(Watcher.Action.ADDED);
       assertThat(subscriber.getItems().get(0).object()).isEqualTo("test-event");
     }
+
+    @Test
+    @DisplayName("should emit a synced marker once the watchable emitted its current state")
+    void acceptShouldEmitSyncedMarker() {
+      // Given
+      var watchable = new TestWatchable();
+      var emitter = new SelfHealingWatchableEmitter(
+        executorService, subscribeExecutor, List.of(watchable), meterRegistry, true);
+      var subscriber = AssertSubscriber.<WatchEvent<?>>create(Long.MAX_VALUE);
+
+      // When
+      Multi.createFrom().emitter(emitter).subscribe().withSubscriber(subscriber);
+
+      // Then
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> !subscriber.getItems().isEmpty());
+      assertThat(subscriber.getItems().get(0))
+        .returns(Watcher.Action.BOOKMARK, WatchEvent::type)
+        .returns(new WatchSynced("TestWatchable"), WatchEvent::object);
+    }
   }
 
   @Nested
@@ -112,7 +170,7 @@ class SelfHealingWatchableEmitterTest {
       // Given
       var watchable = new TestWatchable();
       watchable.selfHealingDelay = Duration.ofMillis(50);
-      var emitter = new SelfHealingWatchableEmitter(executorService, List.of(watchable));
+      var emitter = new SelfHealingWatchableEmitter(executorService, subscribeExecutor, List.of(watchable), meterRegistry);
       var subscriber = AssertSubscriber.<WatchEvent<?>>create(Long.MAX_VALUE);
 
       Multi.createFrom().emitter(emitter).subscribe().withSubscriber(subscriber);
@@ -134,13 +192,62 @@ class SelfHealingWatchableEmitterTest {
       assertThat(errorEvent.object()).isInstanceOf(RequestRestartError.class);
     }
 
+    @Test
+    @DisplayName("should emit a synced marker after the restart request when self healing")
+    void shouldEmitSyncedMarkerAfterSelfHealing() {
+      // Given
+      var watchable = new TestWatchable();
+      watchable.selfHealingDelay = Duration.ofMillis(50);
+      var emitter = new SelfHealingWatchableEmitter(
+        executorService, subscribeExecutor, List.of(watchable), meterRegistry, true);
+      var subscriber = AssertSubscriber.<WatchEvent<?>>create(Long.MAX_VALUE);
+
+      Multi.createFrom().emitter(emitter).subscribe().withSubscriber(subscriber);
+
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> watchable.subscribeCount.get() > 0);
+
+      // When
+      watchable.triggerClose(new WatcherException("Test exception"));
+
+      // Then
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> subscriber.getItems().size() >= 3);
+      assertThat(subscriber.getItems())
+        .extracting(WatchEvent::type)
+        .containsExactly(Watcher.Action.BOOKMARK, Watcher.Action.ERROR, Watcher.Action.BOOKMARK);
+    }
+
+    @Test
+    @DisplayName("should count subscriptions and self-heals by kind")
+    void shouldCountSelfHeals() {
+      // Given
+      var watchable = new TestWatchable();
+      watchable.selfHealingDelay = Duration.ofMillis(50);
+      var emitter = new SelfHealingWatchableEmitter(executorService, subscribeExecutor, List.of(watchable), meterRegistry);
+      Multi.createFrom().emitter(emitter).subscribe().withSubscriber(AssertSubscriber.<WatchEvent<?>>create(Long.MAX_VALUE));
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> watchable.subscribeCount.get() > 0);
+
+      // When
+      watchable.triggerClose(new WatcherException("Test exception"));
+
+      // Then
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> watchable.subscribeCount.get() > 1);
+      assertThat(meterRegistry.get("yakd.watch.upstream.self-heals").tag("kind", "TestWatchable").counter().count())
+        .isEqualTo(1.0);
+      assertThat(meterRegistry.get("yakd.watch.upstream.subscriptions").tag("kind", "TestWatchable").counter().count())
+        .isEqualTo(2.0);
+    }
+
     @Test
     @DisplayName("should resubscribe after watcher close with exception when retrySubscription is true")
     void shouldResubscribeOnError() {
       // Given
       var watchable = new TestWatchable();
       watchable.selfHealingDelay = Duration.ofMillis(50);
-      var emitter = new SelfHealingWatchableEmitter(executorService, List.of(watchable));
+      var emitter = new SelfHealingWatchableEmitter(executorService, subscribeExecutor, List.of(watchable), meterRegistry);
       var subscriber = AssertSubscriber.<WatchEvent<?>>create(Long.MAX_VALUE);
 
       Multi.createFrom().emitter(emitter).subscribe().withSubscriber(subscriber);
@@ -162,7 +269,7 @@ class SelfHealingWatchableEmitterTest {
       // Given
       var watchable = new TestWatchable();
       watchable.selfHealingDelay = Duration.ofMillis(50);
-      var emitter = new SelfHealingWatchableEmitter(executorService, List.of(watchable));
+      var emitter = new SelfHealingWatchableEmitter(executorService, subscribeExecutor, List.of(watchable), meterRegistry);
       var subscriber = AssertSubscriber.<WatchEvent<?>>create(Long.MAX_VALUE);
 
       Multi.createFrom().emitter(emitter).subscribe().withSubscriber(subscriber);
@@ -185,7 +292,7 @@ class SelfHealingWatchableEmitterTest {
       var watchable = new TestWatchable();
       watchable.retrySubscription = false;
       watchable.selfHealingDelay = Duration.ofMillis(50);
-      var emitter = new SelfHealingWatchableEmitter(executorService, List.of(watchable));
+      var emitter = new SelfHealingWatchableEmitter(executorService, subscribeExecutor, List.of(watchable), meterRegistry);
       var subscriber = AssertSubscriber.<WatchEvent<?>>create(Long.MAX_VALUE);
 
       Multi.createFrom().emitter(emitter).subscribe().withSubscriber(subscriber);
@@ -220,7 +327,7 @@ class SelfHealingWatchableEmitterTest {
       var watchable = new TestWatchable();
       watchable.availabilityCheck = () -> false;
       watchable.retrySubscriptionDelay = Duration.ofMillis(50);
-      var emitter = new SelfHealingWatchableEmitter(executorService, List.of(watchable));
+      var emitter = new SelfHealingWatchableEmitter(executorService, subscribeExecutor, List.of(watchable), meterRegistry);
       var subscriber = AssertSubscriber.<WatchEvent<?>>create(Long.MAX_VALUE);
 
       // When
@@ -239,7 +346,7 @@ class SelfHealingWatchableEmitterTest {
       var watchable = new TestWatchable();
       watchable.availabilityCheck = () -> watchable.availabilityCheckCount.get() > 1;
       watchable.retrySubscriptionDelay = Duration.ofMillis(50);
-      var emitter = new SelfHealingWatchableEmitter(executorService, List.of(watchable));
+      var emitter = new SelfHealingWatchableEmitter(executorService, subscribeExecutor, List.of(watchable), meterRegistry);
       var subscriber = AssertSubscriber.<WatchEvent<?>>create(Long.MAX_VALUE);
 
       // When
@@ -261,7 +368,7 @@ class SelfHealingWatchableEmitterTest {
       // Given
       var watchable1 = new TestWatchable();
       var watchable2 = new TestWatchable();
-      var emitter = new SelfHealingWatchableEmitter(executorService, List.of(watchable1, watchable2));
+      var emitter = new SelfHealingWatchableEmitter(executorService, subscribeExecutor, List.of(watchable1, watchable2), meterRegistry);
       var subscriber = AssertSubscriber.<WatchEvent<?>>create(Long.MAX_VALUE);
 
       Multi.createFrom().emitter(emitter).subscribe().withSubscriber(subscriber);
@@ -283,7 +390,7 @@ class SelfHealingWatchableEmitterTest {
       // Given
       var watchable = new TestWatchable();
       watchable.selfHealingDelay = Duration.ofMillis(50);
-      var emitter = new SelfHealingWatchableEmitter(executorService, List.of(watchable));
+      var emitter = new SelfHealingWatchableEmitter(executorService, subscribeExecutor, List.of(watchable), meterRegistry);
       var subscriber = AssertSubscriber.<WatchEvent<?>>create(Long.MAX_VALUE);
 
       Multi.createFrom().emitter(emitter).subscribe().withSubscriber(subscriber);
@@ -315,7 +422,7 @@ class SelfHealingWatchableEmitterTest {
       // Given
       var watchable = new TestWatchable();
       watchable.selfHealingDelay = Duration.ofMillis(50);
-      var emitter = new SelfHealingWatchableEmitter(executorService, List.of(watchable));
+      var emitter = new SelfHealingWatchableEmitter(executorService, subscribeExecutor, List.of(watchable), meterRegistry);
       var subscriber = AssertSubscriber.<WatchEvent<?>>create(Long.MAX_VALUE);
 
       Multi.createFrom().emitter(emitter).subscribe().withSubscriber(subscriber);
@@ -0,0 +1,844 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18
+ */
+package com.marcnuri.yakd.watch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.WatcherException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class WatchCacheTest {
+
+  private ScheduledExecutorService executorService;
+  private ExecutorService subscribeExecutor;
+  private SimpleMeterRegistry meterRegistry;
+  private TestWatchable watchable;
+  private ResourceIndex resourceIndex;
+  private WatchCache watchCache;
+
+  @BeforeEach
+  void setUp() {
+    executorService = Executors.newScheduledThreadPool(1);
+    subscribeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    meterRegistry = new SimpleMeterRegistry();
+    watchable = new TestWatchable();
+    resourceIndex = new ResourceIndex(Set.of("app"));
+    watchCache = new WatchCache(executorService, subscribeExecutor, List.of(watchable), 3, 10,
+      ResourceProjection.none(), resourceIndex, new ObjectMapper(), meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    watchCache.close();
+    executorService.shutdownNow();
+    subscribeExecutor.shutdownNow();
+  }
+
+  @Nested
+  @DisplayName("Shared upstream")
+  class SharedUpstreamTests {
+
+    @Test
+    @DisplayName("should subscribe upstream only once for multiple subscribers")
+    void shouldSubscribeUpstreamOnce() {
+      // Given
+      var subscriber1 = AssertSubscriber.<SequencedEvent>create(Long.MAX_VALUE);
+      var subscriber2 = AssertSubscriber.<SequencedEvent>create(Long.MAX_VALUE);
+
+      // When
+      watchCache.newWatch(null).subscribe().withSubscriber(subscriber1);
+      watchCache.newWatch(null).subscribe().withSubscriber(subscriber2);
+
+      // Then
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> watchable.subscribeCount.get() > 0);
+      assertThat(watchable.subscribeCount.get()).isEqualTo(1);
+      assertThat(watchCache.getSubscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should fan out live events to every subscriber")
+    void shouldFanOutLiveEvents() {
+      // Given
+      var subscriber1 = AssertSubscriber.<SequencedEvent>create(Long.MAX_VALUE);
+      var subscriber2 = AssertSubscriber.<SequencedEvent>create(Long.MAX_VALUE);
+      watchCache.newWatch(null).subscribe().withSubscriber(subscriber1);
+      watchCache.newWatch(null).subscribe().withSubscriber(subscriber2);
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> watchable.subscribeCount.get() > 0);
+
+      // When
+      watchable.emit(Watcher.Action.ADDED, configMap("uid-1", "cm-1"));
+
+      // Then
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> subscriber1.getItems().size() == 2 && subscriber2.getItems().size() == 2);
+      assertThat(subscriber1.getItems()).last().extracting(SequencedEvent::sequence).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("should record time to first event once per kind")
+    void shouldRecordStartupTime() {
+      // Given
+      var subscriber = AssertSubscriber.<SequencedEvent>create(Long.MAX_VALUE);
+      watchCache.newWatch(null).subscribe().withSubscriber(subscriber);
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> watchable.subscribeCount.get() > 0);
+
+      // When
+      watchable.emit(Watcher.Action.ADDED, configMap("uid-1", "cm-1"));
+      watchable.emit(Watcher.Action.ADDED, configMap("uid-2", "cm-2"));
+
+      // Then
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> subscriber.getItems().size() == 3);
+      assertThat(meterRegistry.get("yakd.watch.startup").tag("kind", "ConfigMap").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should count received events by kind and type")
+    void shouldCountEvents() {
+      // Given
+      var subscriber = AssertSubscriber.<SequencedEvent>create(Long.MAX_VALUE);
+      watchCache.newWatch(null).subscribe().withSubscriber(subscriber);
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> watchable.subscribeCount.get() > 0);
+
+      // When
+      watchable.emit(Watcher.Action.ADDED, configMap("uid-1", "cm-1"));
+      watchable.emit(Watcher.Action.ADDED, configMap("uid-2", "cm-2"));
+      watchable.emit(Watcher.Action.MODIFIED, configMap("uid-1", "cm-1-modified"));
+
+      // Then
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> subscriber.getItems().size() == 4);
+      assertThat(meterRegistry.get("yakd.watch.events").tags("kind", "ConfigMap", "type", "ADDED").counter().count())
+        .isEqualTo(2.0);
+      assertThat(meterRegistry.get("yakd.watch.events").tags("kind", "ConfigMap", "type", "MODIFIED").counter().count())
+        .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should remove subscriber on cancellation")
+    void shouldRemoveSubscriberOnCancel() {
+      // Given
+      var subscriber = AssertSubscriber.<SequencedEvent>create(Long.MAX_VALUE);
+      watchCache.newWatch(null).subscribe().withSubscriber(subscriber);
+
+      // When
+      subscriber.cancel();
+
+      // Then
+      assertThat(watchCache.getSubscriberCount()).isZero();
+    }
+  }
+
+  @Nested
+  @DisplayName("Snapshot")
+  class SnapshotTests {
+
+    @BeforeEach
+    void setUp() {
+      watchCache.newWatch(null).subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> watchable.subscribeCount.get() > 0);
+    }
+
+    @Test
+    @DisplayName("should replay current store to late subscribers as ADDED events")
+    void shouldReplaySnapshot() {
+      // Given
+      watchable.emit(Watcher.Action.ADDED, configMap("uid-1", "cm-1"));
+      watchable.emit(Watcher.Action.MODIFIED, configMap("uid-1", "cm-1-modified"));
+      watchable.emit(Watcher.Action.ADDED, configMap("uid-2", "cm-2"));
+      var subscriber = AssertSubscriber.<SequencedEvent>create(Long.MAX_VALUE);
+
+      // When
+      watchCache.newWatch(null).subscribe().withSubscriber(subscriber);
+
+      // Then
+      assertThat(subscriber.getItems()).first().returns(true, SequencedEvent::isResync);
+      assertThat(subscriber.getItems().subList(1, subscriber.getItems().size()))
+        .extracting(e -> e.event().type(), e -> ((ConfigMap) e.event().object()).getMetadata().getName())
+        .containsExactly(
+          tuple(Watcher.Action.ADDED, "cm-1-modified"),
+          tuple(Watcher.Action.ADDED, "cm-2"));
+    }
+
+    @Test
+    @DisplayName("should replay snapshot without receive time (not live events)")
+    void shouldReplaySnapshotWithoutReceiveTime() {
+      // Given
+      watchable.emit(Watcher.Action.ADDED, configMap("uid-1", "cm-1"));
+      var subscriber = AssertSubscriber.<SequencedEvent>create(Long.MAX_VALUE);
+
+      // When
+      watchCache.newWatch(null).subscribe().withSubscriber(subscriber);
+
+      // Then
+      assertThat(subscriber.getItems()).last().extracting(e -> e.event().received()).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("should not replay deleted resources")
+    void shouldNotReplayDeleted() {
+      // Given
+      watchable.emit(Watcher.Action.ADDED, configMap("uid-1", "cm-1"));
+      watchable.emit(Watcher.Action.DELETED, configMap("uid-1", "cm-1"));
+      var subscriber = AssertSubscriber.<SequencedEvent>create(Long.MAX_VALUE);
+
+      // When
+      watchCache.newWatch(null).subscribe().withSubscriber(subscriber);
+
+      // Then
+      assertThat(subscriber.getItems()).singleElement().returns(true, SequencedEvent::isResync);
+    }
+
+    @Test
+    @DisplayName("should clear kind from store when its watch requests a restart")
+    void shouldClearKindOnRestart() {
+      // Given
+      watchable.selfHealingDelay = Duration.ofSeconds(30);
+      watchable.emit(Watcher.Action.ADDED, configMap("uid-1", "cm-1"));
+
+      // When
+      watchable.triggerClose(new WatcherException("Test exception"));
+
+      // Then
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> watchCache.snapshot().isEmpty());
+    }
+  }
+
+  @Nested
+  @DisplayName("Resume")
+  class ResumeTests {
+
+    private final List<String> ids = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+      var first = AssertSubscriber.<SequencedEvent>create(Long.MAX_VALUE);
+      watchCache.newWatch(null).subscribe().withSubscriber(first);
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> watchable.subscribeCount.get() > 0);
+      watchable.emit(Watcher.Action.ADDED, configMap("uid-1", "cm-1"));
+      watchable.emit(Watcher.Action.ADDED, configMap("uid-2", "cm-2"));
+      watchable.emit(Watcher.Action.MODIFIED, configMap("uid-1", "cm-1-modified"));
+      first.getItems().forEach(e -> ids.add(e.id()));
+    }
+
+    @Test
+    @DisplayName("should replay only missed events when last event id is within the replay log")
+    void shouldReplayMissedEvents() {
+      // Given
+      var subscriber = AssertSubscriber.<SequencedEvent>create(Long.MAX_VALUE);
+
+      // When
+      watchCache.newWatch(ids.get(1)).subscribe().withSubscriber(subscriber);
+
+      // Then
+      assertThat(subscriber.getItems())
+        .extracting(e -> e.event().type(), e -> ((ConfigMap) e.event().object()).getMetadata().getName())
+        .containsExactly(
+          tuple(Watcher.Action.ADDED, "cm-2"),
+          tuple(Watcher.Action.MODIFIED, "cm-1-modified"));
+      assertThat(subscriber.getItems()).extracting(e -> e.event().received()).containsOnly(0L);
+    }
+
+    @Test
+    @DisplayName("should replay nothing when client is up to date")
+    void shouldReplayNothingWhenUpToDate() {
+      // Given
+      var subscriber = AssertSubscriber.<SequencedEvent>create(Long.MAX_VALUE);
+
+      // When
+      watchCache.newWatch(ids.get(ids.size() - 1)).subscribe().withSubscriber(subscriber);
+
+      // Then
+      assertThat(subscriber.getItems()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should resync when last event id is outside the replay log window")
+    void shouldResyncWhenOutsideWindow() {
+      // Given
+      watchable.emit(Watcher.Action.ADDED, configMap("uid-3", "cm-3"));
+      var subscriber = AssertSubscriber.<SequencedEvent>create(Long.MAX_VALUE);
+
+      // When
+      watchCache.newWatch(ids.get(0)).subscribe().withSubscriber(subscriber);
+
+      // Then
+      assertThat(subscriber.getItems()).hasSize(4).first().returns(true, SequencedEvent::isResync);
+    }
+
+    @Test
+    @DisplayName("should resync when last event id belongs to another epoch")
+    void shouldResyncWhenUnknownEpoch() {
+      // Given
+      var subscriber = AssertSubscriber.<SequencedEvent>create(Long.MAX_VALUE);
+
+      // When
+      watchCache.newWatch("unknown-2").subscribe().withSubscriber(subscriber);
+
+      // Then
+      assertThat(subscriber.getItems()).first().returns(true, SequencedEvent::isResync);
+    }
+  }
+
+  @Nested
+  @DisplayName("Scope")
+  class ScopeTests {
+
+    private AssertSubscriber<SequencedEvent> subscriber;
+
+    @BeforeEach
+    void setUp() {
+      watchCache.newWatch(null).subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> watchable.subscribeCount.get() > 0);
+      watchable.emit(Watcher.Action.ADDED, configMap("uid-1", "cm-1", "team-a"));
+      watchable.emit(Watcher.Action.ADDED, configMap("uid-2", "cm-2", "team-b"));
+      subscriber = AssertSubscriber.create(Long.MAX_VALUE);
+      watchCache.newWatch("scoped", null, WatchFilter.of("ConfigMap", "team-a"), false).subscribe().withSubscriber(subscriber);
+    }
+
+    @Test
+    @DisplayName("should only include matching resources in snapshot")
+    void shouldFilterSnapshot() {
+      assertThat(subscriber.getItems().subList(1, subscriber.getItems().size()))
+        .extracting(e -> ((ConfigMap) e.event().object()).getMetadata().getName())
+        .containsExactly("cm-1");
+    }
+
+    @Test
+    @DisplayName("should only emit matching live events")
+    void shouldFilterLiveEvents() {
+      // When
+      watchable.emit(Watcher.Action.MODIFIED, configMap("uid-2", "cm-2-modified", "team-b"));
+      watchable.emit(Watcher.Action.MODIFIED, configMap("uid-1", "cm-1-modified", "team-a"));
+
+      // Then
+      assertThat(subscriber.getItems()).last()
+        .extracting(e -> ((ConfigMap) e.event().object()).getMetadata().getName())
+        .isEqualTo("cm-1-modified");
+      assertThat(subscriber.getItems()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("should resync with new scope snapshot when scope is updated")
+    void shouldResyncOnUpdate() {
+      // When
+      final var updated = watchCache.updateWatch("scoped", WatchFilter.of(null, "team-b"));
+
+      // Then
+      assertThat(updated).isTrue();
+      assertThat(subscriber.getItems().subList(2, subscriber.getItems().size()))
+        .extracting(SequencedEvent::isResync, e -> e.isResync() ? null : ((ConfigMap) e.event().object()).getMetadata().getName())
+        .containsExactly(tuple(true, null), tuple(false, "cm-2"));
+    }
+
+    @Test
+    @DisplayName("should return false when updating unknown subscription")
+    void shouldReturnFalseForUnknownSubscription() {
+      assertThat(watchCache.updateWatch("unknown", WatchFilter.ALL)).isFalse();
+    }
+  }
+
+  @Nested
+  @DisplayName("Patch")
+  class PatchTests {
+
+    private AssertSubscriber<SequencedEvent> subscriber;
+
+    @BeforeEach
+    void setUp() {
+      subscriber = AssertSubscriber.create(Long.MAX_VALUE);
+      watchCache.newWatch("patch", null, WatchFilter.ALL, true).subscribe().withSubscriber(subscriber);
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> watchable.subscribeCount.get() > 0);
+      watchable.emit(Watcher.Action.ADDED, configMap("uid-1", "cm-1", "1", "a".repeat(256)));
+      watchable.emit(Watcher.Action.MODIFIED, configMap("uid-1", "cm-1", "2", "a".repeat(256)));
+    }
+
+    @Test
+    @DisplayName("should not include patch for ADDED events")
+    void shouldNotPatchAdded() {
+      assertThat(subscriber.getItems().get(1).patch()).isNull();
+    }
+
+    @Test
+    @DisplayName("should include patch relative to the previous version for MODIFIED events")
+    void shouldPatchModified() {
+      assertThat(subscriber.getItems()).last().extracting(SequencedEvent::patch)
+        .returns("ConfigMap", WatchPatch::kind)
+        .returns("uid-1", WatchPatch::uid)
+        .returns("1", WatchPatch::baseResourceVersion)
+        .extracting(p -> p.patch().toString())
+        .isEqualTo("[{\"op\":\"replace\",\"path\":\"/metadata/resourceVersion\",\"value\":\"2\"}]");
+    }
+
+    @Test
+    @DisplayName("should not include patch when it's larger than the object")
+    void shouldNotPatchWhenLarger() {
+      // Given
+      final var replaced = configMap("uid-1", "cm-1", "3", "b");
+      replaced.setData(IntStream.range(0, 10).boxed().collect(Collectors.toMap(i -> "k" + i, i -> "v")));
+
+      // When
+      watchable.emit(Watcher.Action.MODIFIED, replaced);
+
+      // Then
+      assertThat(subscriber.getItems()).last().extracting(SequencedEvent::patch).isNull();
+    }
+
+    @Test
+    @DisplayName("should not include patches in replayed events")
+    void shouldNotPatchReplayed() {
+      // Given
+      final var resumed = AssertSubscriber.<SequencedEvent>create(Long.MAX_VALUE);
+
+      // When
+      watchCache.newWatch("resumed", subscriber.getItems().get(1).id(), WatchFilter.ALL, true)
+        .subscribe().withSubscriber(resumed);
+
+      // Then
+      assertThat(resumed.getItems()).singleElement().extracting(SequencedEvent::patch).isNull();
+    }
+  }
+
+  @Nested
+  @DisplayName("Encoding")
+  class EncodingTests {
+
+    private AssertSubscriber<SequencedEvent> subscriber1;
+    private AssertSubscriber<SequencedEvent> subscriber2;
+
+    @BeforeEach
+    void setUp() {
+      subscriber1 = AssertSubscriber.create(Long.MAX_VALUE);
+      subscriber2 = AssertSubscriber.create(Long.MAX_VALUE);
+      watchCache.newWatch("1", null, WatchFilter.ALL, true).subscribe().withSubscriber(subscriber1);
+      watchCache.newWatch("2", null, WatchFilter.ALL, true).subscribe().withSubscriber(subscriber2);
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> watchable.subscribeCount.get() > 0);
+      watchable.emit(Watcher.Action.ADDED, configMap("uid-1", "cm-1", "1", "a".repeat(256)));
+      watchable.emit(Watcher.Action.MODIFIED, configMap("uid-1", "cm-1", "2", "a".repeat(256)));
+    }
+
+    @Test
+    @DisplayName("should serialize live events once for every subscriber")
+    void shouldShareLiveEventEncoding() {
+      final var json1 = subscriber1.getItems().getLast().payload().event();
+      final var json2 = subscriber2.getItems().getLast().payload().event();
+      assertThat(json1).isSameAs(json2).contains("\"type\":\"MODIFIED\"").doesNotContain("\"received\"");
+    }
+
+    @Test
+    @DisplayName("should serialize patches once for every subscriber")
+    void shouldSharePatchEncoding() {
+      assertThat(subscriber1.getItems().getLast().payload().patch())
+        .isSameAs(subscriber2.getItems().getLast().payload().patch())
+        .contains("\"type\":\"PATCHED\"", "\"baseResourceVersion\":\"1\"");
+    }
+
+    @Test
+    @DisplayName("should serialize snapshot events once for every new subscriber")
+    void shouldShareSnapshotEncoding() {
+      // Given
+      final var snapshot1 = AssertSubscriber.<SequencedEvent>create(Long.MAX_VALUE);
+      final var snapshot2 = AssertSubscriber.<SequencedEvent>create(Long.MAX_VALUE);
+
+      // When
+      watchCache.newWatch(null).subscribe().withSubscriber(snapshot1);
+      watchCache.newWatch(null).subscribe().withSubscriber(snapshot2);
+
+      // Then
+      assertThat(snapshot1.getItems().getLast().payload().event())
+        .isSameAs(snapshot2.getItems().getLast().payload().event())
+        .contains("\"type\":\"ADDED\"");
+    }
+  }
+
+  @Nested
+  @DisplayName("Reads")
+  class ReadTests {
+
+    @BeforeEach
+    void setUp() {
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> watchCache.list(ConfigMap.class, null, Duration.ZERO).isPresent());
+      watchable.emit(Watcher.Action.ADDED, configMap("uid-1", "cm-1", "1", "a"));
+      watchable.emit(Watcher.Action.ADDED, configMap("uid-2", "cm-2", "2", "b"));
+    }
+
+    @Test
+    @DisplayName("should list the stored resources of the kind")
+    void shouldList() {
+      assertThat(watchCache.list(ConfigMap.class, null, Duration.ZERO))
+        .hasValueSatisfying(list -> assertThat(list)
+          .extracting("metadata.name")
+          .containsExactly("cm-1", "cm-2"));
+    }
+
+    @Test
+    @DisplayName("should get a stored resource by name")
+    void shouldGet() {
+      assertThat(watchCache.get(ConfigMap.class, null, "cm-2", null, Duration.ZERO))
+        .hasValueSatisfying(cm -> assertThat(cm.getData()).containsEntry("key", "b"));
+    }
+
+    @Test
+    @DisplayName("should not get a resource that isn't stored")
+    void shouldNotGetMissing() {
+      assertThat(watchCache.get(ConfigMap.class, "other", "cm-2", null, Duration.ZERO)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should get the latest version of a modified resource")
+    void shouldGetModified() {
+      // When
+      watchable.emit(Watcher.Action.MODIFIED, configMap("uid-2", "cm-2", "3", "c"));
+
+      // Then
+      assertThat(watchCache.get(ConfigMap.class, null, "cm-2", "3", Duration.ofSeconds(2)))
+        .hasValueSatisfying(cm -> assertThat(cm.getData()).containsEntry("key", "c"));
+    }
+
+    @Test
+    @DisplayName("should not get a deleted resource")
+    void shouldNotGetDeleted() {
+      // When
+      watchable.emit(Watcher.Action.DELETED, configMap("uid-2", "cm-2", "3", "b"));
+
+      // Then
+      assertThat(watchCache.get(ConfigMap.class, null, "cm-2", "3", Duration.ofSeconds(2))).isEmpty();
+      assertThat(watchCache.get(ConfigMap.class, null, "cm-1", null, Duration.ZERO)).isPresent();
+    }
+
+    @Test
+    @DisplayName("should not serve reads for a kind whose watch is restarting")
+    void shouldNotListWhenNotSynced() {
+      // Given
+      watchable.selfHealingDelay = Duration.ofSeconds(30);
+
+      // When
+      watchable.triggerClose(new WatcherException("Test exception"));
+
+      // Then
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> watchCache.list(ConfigMap.class, null, Duration.ZERO).isEmpty());
+    }
+
+    @Test
+    @DisplayName("should wait for the requested resourceVersion to be observed")
+    void shouldWaitForResourceVersion() {
+      // Given
+      final var read = CompletableFuture.supplyAsync(() -> watchCache.list(ConfigMap.class, "3", Duration.ofSeconds(5)));
+
+      // When
+      watchable.emit(Watcher.Action.MODIFIED, configMap("uid-1", "cm-1", "3", "c"));
+
+      // Then
+      assertThat(read).succeedsWithin(Duration.ofSeconds(5))
+        .satisfies(list -> assertThat(list).hasValueSatisfying(l -> assertThat(l)
+          .extracting(cm -> cm.getData().get("key"))
+          .containsExactly("c", "b")));
+    }
+
+    @Test
+    @DisplayName("should not serve reads when the requested resourceVersion isn't observed in time")
+    void shouldNotListWhenResourceVersionTimesOut() {
+      assertThat(watchCache.list(ConfigMap.class, "10", Duration.ofMillis(50))).isEmpty();
+    }
+  }
+
+  @Nested
+  @DisplayName("Indexes")
+  class IndexTests {
+
+    @BeforeEach
+    void setUp() {
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> watchCache.list(ConfigMap.class, null, Duration.ZERO).isPresent());
+      watchable.emit(Watcher.Action.ADDED, indexed("uid-1", "ns-1", "owner-1", "app-1"));
+      watchable.emit(Watcher.Action.ADDED, indexed("uid-2", "ns-1", "owner-2", "app-2"));
+      watchable.emit(Watcher.Action.ADDED, indexed("uid-3", "ns-2", "owner-1", "app-1"));
+    }
+
+    private List<String> uids(IndexQuery query) {
+      return watchCache.list(ConfigMap.class, query, null, Duration.ZERO).orElseThrow().stream()
+        .map(cm -> cm.getMetadata().getUid()).toList();
+    }
+
+    @Test
+    @DisplayName("should list by namespace")
+    void shouldListByNamespace() {
+      assertThat(uids(IndexQuery.of("ns-1", null, null, null))).containsExactlyInAnyOrder("uid-1", "uid-2");
+    }
+
+    @Test
+    @DisplayName("should list by owner uid")
+    void shouldListByOwnerUid() {
+      assertThat(uids(IndexQuery.of(null, "owner-1", null, null))).containsExactlyInAnyOrder("uid-1", "uid-3");
+    }
+
+    @Test
+    @DisplayName("should list by every term")
+    void shouldListByEveryTerm() {
+      assertThat(uids(IndexQuery.of("ns-1", "owner-1", null, "app=app-1"))).containsExactly("uid-1");
+    }
+
+    @Test
+    @DisplayName("should list by non-indexed labels")
+    void shouldListByNonIndexedLabel() {
+      assertThat(uids(IndexQuery.of(null, null, null, "tier=uid-2"))).containsExactly("uid-2");
+    }
+
+    @Test
+    @DisplayName("should reindex modified resources")
+    void shouldReindexModified() {
+      // When
+      watchable.emit(Watcher.Action.MODIFIED, indexed("uid-1", "ns-1", "owner-2", "app-2"));
+
+      // Then
+      assertThat(uids(IndexQuery.of(null, "owner-1", null, null))).containsExactly("uid-3");
+      assertThat(uids(IndexQuery.of(null, null, null, "app=app-2"))).containsExactlyInAnyOrder("uid-1", "uid-2");
+    }
+
+    @Test
+    @DisplayName("should unindex deleted resources")
+    void shouldUnindexDeleted() {
+      // When
+      watchable.emit(Watcher.Action.DELETED, indexed("uid-3", "ns-2", "owner-1", "app-1"));
+
+      // Then
+      assertThat(uids(IndexQuery.of(null, "owner-1", null, null))).containsExactly("uid-1");
+      assertThat(uids(IndexQuery.of("ns-2", null, null, null))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should not keep index entries for values that are no longer used")
+    void shouldRemoveEmptyEntries() {
+      // Given
+      final var initialSize = resourceIndex.size();
+
+      // When
+      IntStream.range(0, 10).forEach(i ->
+        watchable.emit(Watcher.Action.MODIFIED, indexed("uid-1", "ns-1", "owner-" + i, "app-" + i)));
+      watchable.emit(Watcher.Action.MODIFIED, indexed("uid-1", "ns-1", "owner-1", "app-1"));
+
+      // Then
+      assertThat(resourceIndex.size()).isEqualTo(initialSize);
+    }
+
+    @Test
+    @DisplayName("should remove the kind index when its last resource is deleted")
+    void shouldRemoveEmptyKind() {
+      // When
+      watchable.emit(Watcher.Action.DELETED, indexed("uid-1", "ns-1", "owner-1", "app-1"));
+      watchable.emit(Watcher.Action.DELETED, indexed("uid-2", "ns-1", "owner-2", "app-2"));
+      watchable.emit(Watcher.Action.DELETED, indexed("uid-3", "ns-2", "owner-1", "app-1"));
+
+      // Then
+      assertThat(resourceIndex.size()).isZero();
+    }
+
+    private ConfigMap indexed(String uid, String namespace, String ownerUid, String app) {
+      return new ConfigMapBuilder()
+        .withNewMetadata().withUid(uid).withName(uid).withNamespace(namespace)
+        .addToLabels("app", app).addToLabels("tier", uid)
+        .addNewOwnerReference().withUid(ownerUid).endOwnerReference()
+        .endMetadata()
+        .build();
+    }
+  }
+
+  @Nested
+  @DisplayName("Runtime watchables")
+  class RuntimeWatchableTests {
+
+    private TestWatchable added;
+    private AssertSubscriber<SequencedEvent> subscriber;
+
+    @BeforeEach
+    void setUp() {
+      added = new TestWatchable() {
+        @Override
+        public String getType() {
+          return "OnDemand";
+        }
+      };
+      subscriber = AssertSubscriber.create(Long.MAX_VALUE);
+      watchCache.newWatch(null).subscribe().withSubscriber(subscriber);
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> watchable.subscribeCount.get() > 0);
+    }
+
+    @Test
+    @DisplayName("should refuse a watchable whose type is already watched")
+    void shouldRefuseSameType() {
+      assertThat(watchCache.addWatchable(new TestWatchable())).isFalse();
+    }
+
+    @Test
+    @DisplayName("should subscribe an added watchable and fan out its events")
+    void shouldFanOutAddedWatchable() {
+      // When
+      assertThat(watchCache.addWatchable(added)).isTrue();
+
+      // Then
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> added.subscribeCount.get() > 0);
+      added.emit(Watcher.Action.ADDED, configMap("uid-1", "on-demand"));
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> subscriber.getItems().stream().anyMatch(e -> !e.isResync()
+          && e.event().object() instanceof ConfigMap cm && cm.getMetadata().getName().equals("on-demand")));
+    }
+
+    @Test
+    @DisplayName("should evict the resources of a removed watchable")
+    void shouldEvictRemovedWatchable() {
+      // Given
+      watchCache.addWatchable(added);
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> added.subscribeCount.get() > 0);
+      added.emit(Watcher.Action.ADDED, onDemand("uid-1", "on-demand"));
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> watchCache.snapshot().size() == 1);
+
+      // When
+      watchCache.removeWatchable(added);
+
+      // Then
+      assertThat(watchCache.snapshot()).isEmpty();
+      assertThat(watchCache.addWatchable(added)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should publish a single kind eviction for the resources of a removed watchable")
+    void shouldEvictRemovedWatchableResources() {
+      // Given
+      watchCache.addWatchable(added);
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> added.subscribeCount.get() > 0);
+      added.emit(Watcher.Action.ADDED, onDemand("uid-1", "on-demand"));
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> watchCache.snapshot().size() == 1);
+
+      // When
+      watchCache.removeWatchable(added);
+
+      // Then
+      Awaitility.await().atMost(2, TimeUnit.SECONDS)
+        .until(() -> subscriber.getItems().stream().anyMatch(e -> !e.isResync()
+          && e.event().type() == Watcher.Action.ERROR
+          && e.event().object() instanceof RequestRestartError error && error.getType().equals("OnDemand")));
+      assertThat(subscriber.getItems())
+        .noneMatch(e -> !e.isResync() && e.event().type() == Watcher.Action.DELETED);
+      assertThat(watchCache.snapshot()).isEmpty();
+    }
+
+    private ConfigMap onDemand(String uid, String name) {
+      final var resource = configMap(uid, name);
+      // Stored with the kind of the added watchable
+      resource.setKind("OnDemand");
+      return resource;
+    }
+  }
+
+  private static ConfigMap configMap(String uid, String name, String resourceVersion, String data) {
+    return new ConfigMapBuilder()
+      .withNewMetadata().withUid(uid).withName(name).withResourceVersion(resourceVersion).endMetadata()
+      .addToData("key", data)
+      .build();
+  }
+
+  private static ConfigMap configMap(String uid, String name) {
+    return configMap(uid, name, null);
+  }
+
+  private static ConfigMap configMap(String uid, String name, String namespace) {
+    return new ConfigMapBuilder()
+      .withNewMetadata().withUid(uid).withName(name).withNamespace(namespace).endMetadata()
+      .build();
+  }
+
+  static class TestWatchable implements Watchable<ConfigMap> {
+    final AtomicInteger subscribeCount = new AtomicInteger(0);
+    final List<Consumer<WatcherException>> closeHandlers = new CopyOnWriteArrayList<>();
+    final List<MultiEmitter<? super WatchEvent<ConfigMap>>> emitters = new CopyOnWriteArrayList<>();
+    Duration selfHealingDelay = Duration.ofSeconds(5);
+
+    @Override
+    public Subscriber<ConfigMap> watch() {
+      return (close, emitter) -> {
+        subscribeCount.incrementAndGet();
+        closeHandlers.add(close);
+        emitters.add(emitter);
+        return () -> {};
+      };
+    }
+
+    @Override
+    public String getType() {
+      return "ConfigMap";
+    }
+
+    @Override
+    public Duration getSelfHealingDelay() {
+      return selfHealingDelay;
+    }
+
+    void emit(Watcher.Action action, ConfigMap configMap) {
+      emitters.forEach(e -> e.emit(new WatchEvent<>(action, configMap, System.nanoTime())));
+    }
+
+    void triggerClose(WatcherException exception) {
+      closeHandlers.forEach(h -> h.accept(exception));
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18
+ */
+package com.marcnuri.yakd.watch;
+
+import io.fabric8.kubernetes.api.model.NodeBuilder;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.Watcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WatchFilterTest {
+
+  private final WatchFilter filter = WatchFilter.of("Pod, Node", "team-a,team-b");
+
+  @Test
+  @DisplayName("of should parse comma-separated values")
+  void ofShouldParseValues() {
+    assertThat(filter)
+      .returns(Set.of("Pod", "Node"), WatchFilter::kinds)
+      .returns(Set.of("team-a", "team-b"), WatchFilter::namespaces);
+  }
+
+  @Test
+  @DisplayName("of with null values should match everything")
+  void ofNullShouldMatchAll() {
+    assertThat(WatchFilter.of(null, "")).isEqualTo(WatchFilter.ALL);
+  }
+
+  @Test
+  @DisplayName("should match resource with matching kind and namespace")
+  void shouldMatchResource() {
+    assertThat(filter.test(new WatchEvent<>(Watcher.Action.ADDED,
+      new PodBuilder().withNewMetadata().withNamespace("team-a").endMetadata().build()))).isTrue();
+  }
+
+  @Test
+  @DisplayName("should not match resource in another namespace")
+  void shouldNotMatchOtherNamespace() {
+    assertThat(filter.test(new WatchEvent<>(Watcher.Action.ADDED,
+      new PodBuilder().withNewMetadata().withNamespace("team-c").endMetadata().build()))).isFalse();
+  }
+
+  @Test
+  @DisplayName("should match cluster-scoped resource regardless of namespaces")
+  void shouldMatchClusterScoped() {
+    assertThat(filter.test(new WatchEvent<>(Watcher.Action.ADDED,
+      new NodeBuilder().withNewMetadata().withName("node").endMetadata().build()))).isTrue();
+  }
+
+  @Test
+  @DisplayName("should not match resource of another kind")
+  void shouldNotMatchOtherKind() {
+    assertThat(WatchFilter.of("Node", null).test(new WatchEvent<>(Watcher.Action.ADDED,
+      new PodBuilder().withNewMetadata().withNamespace("team-a").endMetadata().build()))).isFalse();
+  }
+
+  @Test
+  @DisplayName("should match resync markers")
+  void shouldMatchResync() {
+    assertThat(filter.test(null)).isTrue();
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2020 Marc Nuri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Created on 2026-10-18
+ */
+package com.marcnuri.yakd.watch;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.client.Watcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class WatchSubscriptionTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private AtomicInteger terminations;
+  private WatchSubscription watchSubscription;
+  private AssertSubscriber<SequencedEvent> subscriber;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    terminations = new AtomicInteger(0);
+    watchSubscription = new WatchSubscription("id", WatchFilter.ALL, true, 3, s -> {}, s -> terminations.incrementAndGet(),
+      new WatchSubscription.Metrics(
+        meterRegistry.counter("replaced"), meterRegistry.counter("cancelled"), meterRegistry.counter("evictions")));
+    subscriber = AssertSubscriber.create(0);
+    Multi.createFrom().publisher(watchSubscription).subscribe().withSubscriber(subscriber);
+  }
+
+  @Nested
+  @DisplayName("Demand")
+  class DemandTests {
+
+    @Test
+    @DisplayName("should emit nothing until requested")
+    void shouldEmitNothingUntilRequested() {
+      // When
+      watchSubscription.offer(event(1, Watcher.Action.ADDED, "uid-1", "cm-1"));
+      watchSubscription.drain();
+
+      // Then
+      assertThat(subscriber.getItems()).isEmpty();
+      assertThat(watchSubscription.getQueueDepth()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should emit only requested events")
+    void shouldEmitOnlyRequested() {
+      // Given
+      watchSubscription.offer(event(1, Watcher.Action.ADDED, "uid-1", "cm-1"));
+      watchSubscription.offer(event(2, Watcher.Action.ADDED, "uid-2", "cm-2"));
+
+      // When
+      subscriber.request(1);
+
+      // Then
+      assertThat(subscriber.getItems()).singleElement().returns(1L, SequencedEvent::sequence);
+      assertThat(watchSubscription.getQueueDepth()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should emit backlog before live events")
+    void shouldEmitBacklogFirst() {
+      // Given
+      watchSubscription.backlog(List.of(SequencedEvent.resync("epoch", 0)));
+      watchSubscription.offer(event(1, Watcher.Action.ADDED, "uid-1", "cm-1"));
+
+      // When
+      subscriber.request(2);
+
+      // Then
+      assertThat(subscriber.getItems())
+        .extracting(SequencedEvent::isResync, SequencedEvent::sequence)
+        .containsExactly(tuple(true, 0L), tuple(false, 1L));
+    }
+  }
+
+  @Nested
+  @DisplayName("Coalescing")
+  class CoalescingTests {
+
+    @Test
+    @DisplayName("should replace queued event with latest and keep sequence order")
+    void shouldReplaceWithLatest() {
+      // Given
+      watchSubscription.offer(event(1, Watcher.Action.MODIFIED, "uid-1", "cm-1"));
+      watchSubscription.offer(event(2, Watcher.Action.MODIFIED, "uid-2", "cm-2"));
+      watchSubscription.offer(event(3, Watcher.Action.MODIFIED, "uid-1", "cm-1-latest"));
+
+      // When
+      subscriber.request(10);
+
+      // Then
+      assertThat(subscriber.getItems())
+        .extracting(SequencedEvent::sequence, e -> ((ConfigMap) e.event().object()).getMetadata().getName())
+        .containsExactly(tuple(2L, "cm-2"), tuple(3L, "cm-1-latest"));
+      assertThat(meterRegistry.counter("replaced").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should drop patch of coalesced event")
+    void shouldDropPatchOfCoalesced() {
+      // Given
+      watchSubscription.offer(event(1, Watcher.Action.MODIFIED, "uid-1", "cm-1"));
+      final var modified = event(2, Watcher.Action.MODIFIED, "uid-1", "cm-1-latest");
+      watchSubscription.offer(new SequencedEvent("epoch", 2, modified.event(),
+        new WatchPatch("ConfigMap", "uid-1", "1", JsonNodeFactory.instance.arrayNode())));
+
+      // When
+      subscriber.request(10);
+
+      // Then
+      assertThat(subscriber.getItems()).singleElement()
+        .returns(2L, SequencedEvent::sequence)
+        .returns(null, SequencedEvent::patch);
+    }
+
+    @Test
+    @DisplayName("should keep ADDED type when queued addition is modified")
+    void shouldKeepAdded() {
+      // Given
+      watchSubscription.offer(event(1, Watcher.Action.ADDED, "uid-1", "cm-1"));
+      watchSubscription.offer(event(2, Watcher.Action.MODIFIED, "uid-1", "cm-1-modified"));
+
+      // When
+      subscriber.request(10);
+
+      // Then
+      assertThat(subscriber.getItems())
+        .extracting(e -> e.event().type(), e -> ((ConfigMap) e.event().object()).getMetadata().getName())
+        .containsExactly(tuple(Watcher.Action.ADDED, "cm-1-modified"));
+    }
+
+    @Test
+    @DisplayName("should cancel queued addition when resource is deleted")
+    void shouldCancelAddedAndDeleted() {
+      // Given
+      watchSubscription.offer(event(1, Watcher.Action.ADDED, "uid-1", "cm-1"));
+      watchSubscription.offer(event(2, Watcher.Action.DELETED, "uid-1", "cm-1"));
+
+      // When
+      subscriber.request(10);
+
+      // Then
+      assertThat(subscriber.getItems()).isEmpty();
+      assertThat(meterRegistry.counter("cancelled").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should not coalesce events without uid")
+    void shouldNotCoalesceErrors() {
+      // Given
+      watchSubscription.offer(new SequencedEvent("epoch", 1, new WatchEvent<>(Watcher.Action.ERROR, null)));
+      watchSubscription.offer(new SequencedEvent("epoch", 2, new WatchEvent<>(Watcher.Action.ERROR, null)));
+
+      // When
+      subscriber.request(10);
+
+      // Then
+      assertThat(subscriber.getItems()).hasSize(2);
+    }
+  }
+
+  @Nested
+  @DisplayName("Eviction")
+  class EvictionTests {
+
+    @BeforeEach
+    void setUp() {
+      for (int it = 1; it <= 4; it++) {
+        watchSubscription.offer(event(it, Watcher.Action.ADDED, "uid-" + it, "cm-" + it));
+      }
+      watchSubscription.drain();
+    }
+
+    @Test
+    @DisplayName("should fail subscriber that exceeds the queue size")
+    void shouldFailSubscriber() {
+      subscriber.assertFailedWith(IllegalStateException.class, "too slow");
+    }
+
+    @Test
+    @DisplayName("should terminate subscription")
+    void shouldTerminate() {
+      assertThat(terminations.get()).isEqualTo(1);
+      assertThat(watchSubscription.getQueueDepth()).isZero();
+    }
+
+    @Test
+    @DisplayName("should count eviction")
+    void shouldCountEviction() {
+      assertThat(meterRegistry.counter("evictions").count()).isEqualTo(1);
+    }
+  }
+
+  private static SequencedEvent event(long sequence, Watcher.Action action, String uid, String name) {
+    final ConfigMap configMap = new ConfigMapBuilder().withNewMetadata().withUid(uid).withName(name).endMetadata().build();
+    return new SequencedEvent("epoch", sequence, new WatchEvent<>(action, configMap));
+  }
+}